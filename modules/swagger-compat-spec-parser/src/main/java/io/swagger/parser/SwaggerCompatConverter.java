@@ -71,7 +71,7 @@ import java.util.Map;
 
 // legacy models
 
-public class SwaggerCompatConverter implements SwaggerParserExtension {
+public class SwaggerCompatConverter implements SwaggerDocumentExtension {
     static Logger LOGGER = LoggerFactory.getLogger(SwaggerCompatConverter.class);
 
     @Override
@@ -103,17 +103,50 @@ public class SwaggerCompatConverter implements SwaggerParserExtension {
         return null;
     }
 
+    @Override
+    public boolean supports(String specVersion) {
+        return specVersion != null && specVersion.startsWith("1.");
+    }
+
+    @Override
+    public SwaggerDeserializationResult readWithInfo(JsonNode root, String location, List<AuthorizationValue> auths) {
+        SwaggerDeserializationResult result = new SwaggerDeserializationResult();
+        Swagger swagger = read(root, location, auths);
+        if(swagger != null) {
+            result.setSwagger(swagger);
+            JsonNode jsonNode = Json.mapper().convertValue(swagger, JsonNode.class);
+            return new Swagger20Parser().readWithInfo(jsonNode);
+        }
+        return result;
+    }
+
     public Swagger read(String input) throws IOException {
         return read(input, null);
     }
 
     @Override
     public Swagger read(String input, List<AuthorizationValue> auths) throws IOException {
+        JsonNode root;
+        try {
+            root = readTree(input, auths);
+        } catch (java.lang.IllegalArgumentException e) {
+            return null;
+        } catch (Exception e) {
+            LOGGER.error("failed to read resource listing", e);
+            return null;
+        }
+        return read(root, input, auths);
+    }
+
+    /**
+     * Converts the resource listing read from the input, or the single-file definition, fetching the api
+     * declarations it refers to. The listing itself is not modified.
+     */
+    @Override
+    public Swagger read(JsonNode root, String input, List<AuthorizationValue> auths) {
         Swagger output = null;
         MessageBuilder migrationMessages = new MessageBuilder();
-        SwaggerLegacyParser swaggerParser = new SwaggerLegacyParser();
-        ResourceListing resourceListing = null;
-        resourceListing = readResourceListing(input, migrationMessages, auths);
+        ResourceListing resourceListing = readResourceListing(root, migrationMessages);
 
         List<ApiDeclaration> apis = new ArrayList<ApiDeclaration>();
 
@@ -128,7 +161,7 @@ public class SwaggerCompatConverter implements SwaggerParserExtension {
                     if (operations != null) {
                         if (!readAsSingleFile) {
                             // this is a single-file swagger definition
-                            apiDeclaration = readDeclaration(input, migrationMessages, auths);
+                            apiDeclaration = readDeclaration(root, migrationMessages);
                             readAsSingleFile = true; // avoid doing this again
                         }
                     } else {
@@ -179,20 +212,24 @@ public class SwaggerCompatConverter implements SwaggerParserExtension {
     }
 
     public ResourceListing readResourceListing(String input, MessageBuilder messages, List<AuthorizationValue> auths) {
+        try {
+            return readResourceListing(readTree(input, auths), messages);
+        } catch (java.lang.IllegalArgumentException e) {
+            return null;
+        } catch (Exception e) {
+            LOGGER.error("failed to read resource listing", e);
+        }
+        return null;
+    }
+
+    public ResourceListing readResourceListing(JsonNode jsonNode, MessageBuilder messages) {
         ResourceListing output = null;
-        JsonNode jsonNode = null;
         try {
-            if (input.startsWith("http")) {
-                String json = RemoteUrl.urlToString(input, auths);
-                jsonNode = Json.mapper().readTree(json);
-            } else {
-                jsonNode = Json.mapper().readTree(new File(input));
-            }
             if (jsonNode.get("swaggerVersion") == null) {
                 return null;
             }
             ResourceListingMigrator migrator = new ResourceListingMigrator();
-            JsonNode transformed = migrator.migrate(messages, jsonNode);
+            JsonNode transformed = migrator.migrate(messages, jsonNode.deepCopy());
             output = Json.mapper().convertValue(transformed, ResourceListing.class);
         } catch (java.lang.IllegalArgumentException e) {
             return null;
@@ -479,16 +516,34 @@ public class SwaggerCompatConverter implements SwaggerParserExtension {
         return output;
     }
 
+    private JsonNode readTree(String input, List<AuthorizationValue> auths) throws Exception {
+        if (input.startsWith("http")) {
+            String json = RemoteUrl.urlToString(input, auths);
+            return Json.mapper().readTree(json);
+        }
+        return Json.mapper().readTree(new File(input));
+    }
+
     public ApiDeclaration readDeclaration(String input, MessageBuilder messages, List<AuthorizationValue> auths) {
+        try {
+            return readDeclaration(readTree(input, auths), messages);
+        } catch (java.lang.IllegalArgumentException e) {
+            return null;
+        } catch (Exception e) {
+            LOGGER.error("failed to read api declaration", e);
+        }
+        return null;
+    }
+
+    /**
+     * @param declaration the api declaration, which is not modified
+     * @param messages collects what is wrong with the declaration
+     * @return the migrated declaration, or null if it could not be read
+     */
+    public ApiDeclaration readDeclaration(JsonNode declaration, MessageBuilder messages) {
         ApiDeclaration output = null;
         try {
-            JsonNode jsonNode = null;
-            if (input.startsWith("http")) {
-                String json = RemoteUrl.urlToString(input, auths);
-                jsonNode = Json.mapper().readTree(json);
-            } else {
-                jsonNode = Json.mapper().readTree(new java.io.File(input));
-            }
+            JsonNode jsonNode = declaration.deepCopy();
 
             // this should be moved to a json patch
             if (jsonNode.isObject()) {
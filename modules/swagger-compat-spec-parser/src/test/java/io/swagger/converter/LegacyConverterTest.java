@@ -22,20 +22,24 @@ import io.swagger.models.properties.Property;
 import io.swagger.models.properties.StringProperty;
 import io.swagger.parser.SwaggerCompatConverter;
 import io.swagger.parser.SwaggerParser;
+import io.swagger.parser.util.RemoteFetcher;
 import io.swagger.parser.util.RemoteUrl;
 import io.swagger.parser.util.SwaggerDeserializationResult;
 import io.swagger.util.Json;
-import mockit.Expectations;
-import mockit.Mocked;
 import org.junit.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -51,9 +55,6 @@ public class LegacyConverterTest {
 
     private static String resources_json, pet_json, store_json, user_json, marvel_json, public_json;
 
-    @Mocked
-    public RemoteUrl remoteUrl = new RemoteUrl();
-
     static {
         try {
             resources_json = readFile("src/test/resources/specs/v1_2/petstore/api-docs");
@@ -69,34 +70,18 @@ public class LegacyConverterTest {
         }
     }
 
+    @AfterMethod
+    public void resetFetcher() {
+        RemoteUrl.setFetcher(null);
+    }
+
     @Test
     public void testIssueFun() throws Exception {
-        new Expectations() {{
-            remoteUrl.urlToString("http://localhost:8080/api-docs", new ArrayList<AuthorizationValue>());
-            result = resources_json;
-
-            remoteUrl.urlToString("http://localhost:8080/api-docs/pet", new ArrayList<AuthorizationValue>());
-            result = pet_json;
-
-            remoteUrl.urlToString("http://localhost:8080/api-docs/store", new ArrayList<AuthorizationValue>());
-            result = store_json;
-
-            remoteUrl.urlToString("http://localhost:8080/api-docs/user", new ArrayList<AuthorizationValue>());
-            result = user_json;
-
-            remoteUrl.urlToString("http://localhost:8080/api-docs", null);
-            result = resources_json;
-
-            remoteUrl.urlToString("http://localhost:8080/api-docs/pet", null);
-            result = pet_json;
-
-            remoteUrl.urlToString("http://localhost:8080/api-docs/store", null);
-            result = store_json;
-
-            remoteUrl.urlToString("http://localhost:8080/api-docs/user", null);
-            result = user_json;
-
-        }};
+        RemoteUrl.setFetcher(new Documents()
+                .serve("http://localhost:8080/api-docs", resources_json)
+                .serve("http://localhost:8080/api-docs/pet", pet_json)
+                .serve("http://localhost:8080/api-docs/store", store_json)
+                .serve("http://localhost:8080/api-docs/user", user_json));
 
         SwaggerParser parser = new SwaggerParser();
         SwaggerDeserializationResult result = parser.readWithInfo("http://localhost:8080/api-docs", null, true);
@@ -108,13 +93,9 @@ public class LegacyConverterTest {
 
     @Test
     public void testIssue43() throws Exception {
-        new Expectations() {{
-            remoteUrl.urlToString("http://gateway.marvel.com/docs", new ArrayList<AuthorizationValue>());
-            result = marvel_json;
-
-            remoteUrl.urlToString("http://gateway.marvel.com/docs/public", new ArrayList<AuthorizationValue>());
-            result = public_json;
-        }};
+        RemoteUrl.setFetcher(new Documents()
+                .serve("http://gateway.marvel.com/docs", marvel_json)
+                .serve("http://gateway.marvel.com/docs/public", public_json));
 
         SwaggerParser parser = new SwaggerParser();
         SwaggerDeserializationResult result = parser.readWithInfo("http://gateway.marvel.com/docs", null, true);
@@ -122,6 +103,26 @@ public class LegacyConverterTest {
         Assert.assertNotNull(result.getSwagger());
     }
 
+    @Test
+    public void testFetchesEachDocumentOnce() throws Exception {
+        final Documents documents = new Documents()
+                .serve("http://localhost:8080/api-docs", resources_json)
+                .serve("http://localhost:8080/api-docs/pet", pet_json)
+                .serve("http://localhost:8080/api-docs/store", store_json)
+                .serve("http://localhost:8080/api-docs/user", user_json);
+        RemoteUrl.setFetcher(documents);
+
+        Swagger swagger = new SwaggerParser().read("http://localhost:8080/api-docs");
+
+        assertNotNull(swagger);
+        assertEquals(swagger.getSwagger(), "2.0");
+        final List<String> fetched = new ArrayList<>(documents.fetched);
+        Collections.sort(fetched);
+        assertEquals(fetched, Arrays.asList("http://localhost:8080/api-docs",
+                "http://localhost:8080/api-docs/pet", "http://localhost:8080/api-docs/store",
+                "http://localhost:8080/api-docs/user"));
+    }
+
     /**
      * reads a single-file swagger definition
      **/
@@ -258,4 +259,27 @@ public class LegacyConverterTest {
 
         assertEquals(actual, expected);
     }
+
+    /**
+     * Serves the documents from memory instead of the network, and records the urls fetched.
+     */
+    private static class Documents implements RemoteFetcher {
+        private final Map<String, String> documents = new HashMap<>();
+        final List<String> fetched = Collections.synchronizedList(new ArrayList<String>());
+
+        Documents serve(String url, String document) {
+            documents.put(url, document);
+            return this;
+        }
+
+        @Override
+        public byte[] fetch(String url, List<AuthorizationValue> auths) throws Exception {
+            fetched.add(url);
+            final String document = documents.get(url);
+            if (document == null) {
+                throw new FileNotFoundException(url);
+            }
+            return document.getBytes(StandardCharsets.UTF_8);
+        }
+    }
 }
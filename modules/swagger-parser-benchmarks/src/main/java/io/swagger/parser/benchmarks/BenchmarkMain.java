@@ -0,0 +1,24 @@
+package io.swagger.parser.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks like the standard JMH main, accepting the same arguments, with the allocation profiler
+ * (-prof gc) always enabled.
+ *
+ * java -jar target/benchmarks.jar [jmh options] [benchmark regexp]
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
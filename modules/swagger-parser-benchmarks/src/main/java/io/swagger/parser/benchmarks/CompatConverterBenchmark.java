@@ -0,0 +1,71 @@
+package io.swagger.parser.benchmarks;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerCompatConverter;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts the 1.x samples of the compat module, copied into the benchmark jar by the build, to 2.0 with
+ * {@link SwaggerCompatConverter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompatConverterBenchmark {
+    private static final String[] SAMPLES = {
+            "petstore/api-docs", "petstore/pet", "petstore/store", "petstore/user", "public.json", "singleFile.json"
+    };
+
+    /**
+     * A resource listing with its api declarations, a large single declaration and a small single-file spec.
+     */
+    @Param({"petstore/api-docs", "public.json", "singleFile.json"})
+    public String sample;
+
+    private File directory;
+    private String location;
+
+    @Setup
+    public void setUp() throws Exception {
+        // the converter reads the api declarations of a resource listing from the file system; marvel.json is left
+        // out because its listing points to the remote server
+        directory = Files.createTempDirectory("compat-benchmark").toFile();
+        for (String name : SAMPLES) {
+            final File file = new File(directory, name);
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream("specs/v1_2/" + name)) {
+                FileUtils.copyInputStreamToFile(in, file);
+            }
+        }
+        location = new File(directory, sample).getAbsolutePath();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public Swagger convert() throws Exception {
+        return new SwaggerCompatConverter().read(location);
+    }
+}
@@ -0,0 +1,92 @@
+package io.swagger.parser.benchmarks;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.ResolverCache;
+import io.swagger.parser.Swagger20Parser;
+import io.swagger.parser.generator.SpecGenerator;
+import io.swagger.parser.processors.DefinitionsProcessor;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processes root definitions which refer to chains of definitions in external files, so that all of the others
+ * get pulled in while {@link DefinitionsProcessor} runs. The time per pulled-in definition should not depend on
+ * their number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefinitionsProcessorBenchmark {
+    private static final int CHAIN = 5;
+
+    @Param({"1000", "2000", "4000", "8000"})
+    public int definitions;
+
+    private File directory;
+    private String location;
+    private Swagger swagger;
+    private ResolverCache cache;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("definitions-benchmark").toFile();
+        final SpecGenerator generator = new SpecGenerator()
+                .seed(1)
+                .paths(0)
+                .definitions(definitions)
+                .externalFiles(10)
+                .refChainDepth(CHAIN)
+                .composedDepth(1);
+        final File root = generator.write(directory);
+
+        // one root definition per chain, the rest is only reachable from the external files
+        final ObjectNode spec = generator.generateRoot();
+        final ObjectNode rootDefinitions = spec.putObject("definitions");
+        for (int i = 0; i < definitions; i += CHAIN) {
+            rootDefinitions.putObject("Root" + i)
+                    .put("$ref", "./definitions-" + (i % 10) + ".json#/definitions/Model" + i);
+        }
+        Json.mapper().writeValue(root, spec);
+        location = root.getAbsolutePath();
+    }
+
+    @Setup(Level.Invocation)
+    public void parse() throws Exception {
+        swagger = new Swagger20Parser().read(location, null);
+        cache = new ResolverCache(swagger, new ArrayList<AuthorizationValue>(), location);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public Swagger processDefinitions() {
+        new DefinitionsProcessor(cache, swagger).processDefinitions();
+        return swagger;
+    }
+}
@@ -0,0 +1,45 @@
+package io.swagger.parser.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+import io.swagger.parser.util.SwaggerDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns a tree built beforehand into the model with {@link SwaggerDeserializer}, isolating it from reading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializeBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public SpecSize size;
+
+    private JsonNode tree;
+
+    @Setup
+    public void setUp() {
+        tree = size.generator().generateRoot();
+    }
+
+    @Benchmark
+    public SwaggerDeserializationResult deserialize() {
+        return new SwaggerDeserializer().deserialize(tree);
+    }
+}
@@ -0,0 +1,60 @@
+package io.swagger.parser.benchmarks;
+
+import io.swagger.parser.Swagger20Parser;
+import io.swagger.parser.generator.SpecGenerator.Format;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a spec file with {@link Swagger20Parser}, which covers reading the file, building the tree and
+ * deserializing it, without resolving.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public SpecSize size;
+
+    @Param({"json", "yaml"})
+    public String format;
+
+    private File directory;
+    private String location;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("parse-benchmark").toFile();
+        location = size.generator().format(Format.valueOf(format.toUpperCase())).write(directory).getAbsolutePath();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public SwaggerDeserializationResult parse() throws Exception {
+        return new Swagger20Parser().readWithInfo(location, null);
+    }
+}
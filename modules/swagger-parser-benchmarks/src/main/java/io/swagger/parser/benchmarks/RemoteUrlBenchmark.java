@@ -0,0 +1,92 @@
+package io.swagger.parser.benchmarks;
+
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.generator.SpecGenerator.Format;
+import io.swagger.parser.util.RemoteFetcher;
+import io.swagger.parser.util.RemoteUrl;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a fetched document into a String through {@link RemoteUrl#urlToString(String, List)} with the
+ * char by char loop RemoteUrl used to have. The network is left out, the document is served from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RemoteUrlBenchmark {
+    private static final String URL = "http://example.com/swagger.yaml";
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public SpecSize size;
+
+    private byte[] document;
+
+    @Setup
+    public void setUp() throws Exception {
+        final File directory = Files.createTempDirectory("remote-url-benchmark").toFile();
+        try {
+            document = Files.readAllBytes(size.generator().format(Format.YAML).write(directory).toPath());
+        } finally {
+            FileUtils.deleteDirectory(directory);
+        }
+        RemoteUrl.setFetcher(new RemoteFetcher() {
+            @Override
+            public byte[] fetch(String url, List<AuthorizationValue> auths) {
+                // RemoteUrl removes the control characters in place
+                return document.clone();
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        RemoteUrl.setFetcher(null);
+    }
+
+    @Benchmark
+    public String urlToString() throws Exception {
+        return RemoteUrl.urlToString(URL, null);
+    }
+
+    @Benchmark
+    public String charByChar() throws IOException {
+        final StringBuilder contents = new StringBuilder();
+        final BufferedReader input = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(document.clone()), StandardCharsets.UTF_8));
+        for (int i = 0; i != -1; i = input.read()) {
+            char c = (char) i;
+            if (!Character.isISOControl(c)) {
+                contents.append((char) i);
+            }
+            if (c == '\n') {
+                contents.append('\n');
+            }
+        }
+        return contents.toString();
+    }
+}
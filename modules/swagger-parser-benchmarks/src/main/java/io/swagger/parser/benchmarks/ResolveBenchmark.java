@@ -0,0 +1,129 @@
+package io.swagger.parser.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.parser.LazySwaggerResolver;
+import io.swagger.parser.ResolvedOperation;
+import io.swagger.parser.Swagger20Parser;
+import io.swagger.parser.SwaggerResolver;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves a spec whose definitions are spread over several files, read either from the file system or from a
+ * local http server, so that the network does not skew the results. {@link #resolveOperation()} resolves only the
+ * operation of the first path, lazily, for the cost of the first request to an endpoint.
+ *
+ * The resolver modifies the spec, so a fresh one is parsed before every invocation; use a single shot or a long
+ * enough iteration time for the huge size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolveBenchmark {
+    private static final int FILES = 10;
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public SpecSize size;
+
+    @Param({"file", "url"})
+    public String refs;
+
+    private File directory;
+    private HttpServer server;
+    private String location;
+    private Swagger swagger;
+    private String path;
+    private HttpMethod method;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("resolve-benchmark").toFile();
+        final File root = size.generator().externalFiles(FILES).write(directory);
+        location = root.getAbsolutePath();
+        if ("url".equals(refs)) {
+            // the relative refs are then resolved against the url of the root document
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", new FileHandler(directory));
+            server.start();
+            location = "http://127.0.0.1:" + server.getAddress().getPort() + "/" + root.getName();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void parse() throws Exception {
+        swagger = new Swagger20Parser().read(location, null);
+        final Map.Entry<String, Path> first = swagger.getPaths().entrySet().iterator().next();
+        path = first.getKey();
+        method = first.getValue().getOperationMap().keySet().iterator().next();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (server != null) {
+            server.stop(0);
+        }
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public Swagger resolve() {
+        return new SwaggerResolver(swagger, null, location).resolve();
+    }
+
+    @Benchmark
+    public ResolvedOperation resolveOperation() {
+        return new LazySwaggerResolver(swagger, null, location).resolveOperation(path, method);
+    }
+
+    private static class FileHandler implements HttpHandler {
+        private final File directory;
+
+        private FileHandler(File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            final File file = new File(directory, exchange.getRequestURI().getPath().substring(1));
+            if (!file.isFile()) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            final byte[] body = Files.readAllBytes(file.toPath());
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.swagger.parser.benchmarks;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.parser.SwaggerSnapshot;
+import io.swagger.parser.generator.SpecGenerator.Format;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a resolved definition from its json file, parsing and resolving it, with reading it from a
+ * {@link SwaggerSnapshot} of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public SpecSize size;
+
+    private File directory;
+    private String location;
+    private Path snapshot;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("snapshot-benchmark").toFile();
+        location = size.generator().format(Format.JSON).write(directory).getAbsolutePath();
+        snapshot = directory.toPath().resolve("swagger.snapshot");
+        SwaggerSnapshot.write(new SwaggerParser().read(location), snapshot);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public Swagger json() throws Exception {
+        return new SwaggerParser().read(location);
+    }
+
+    @Benchmark
+    public Swagger snapshot() throws Exception {
+        return new SwaggerParser().readSnapshot(snapshot);
+    }
+}
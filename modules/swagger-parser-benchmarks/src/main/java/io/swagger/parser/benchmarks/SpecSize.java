@@ -0,0 +1,36 @@
+package io.swagger.parser.benchmarks;
+
+import io.swagger.parser.generator.SpecGenerator;
+
+/**
+ * The sizes of the generated specs the benchmarks are parameterized with.
+ */
+public enum SpecSize {
+    SMALL(20, 20),
+    MEDIUM(500, 250),
+    HUGE(5000, 2500);
+
+    private final int paths;
+    private final int definitions;
+
+    SpecSize(int paths, int definitions) {
+        this.paths = paths;
+        this.definitions = definitions;
+    }
+
+    /**
+     * A generator for a spec of this size, whose definitions are in chains of 5, the first link being an allOf,
+     * and a fifth of whose schemas are inline.
+     *
+     * @return a new generator
+     */
+    public SpecGenerator generator() {
+        return new SpecGenerator()
+                .seed(1)
+                .paths(paths)
+                .definitions(definitions)
+                .inlineRatio(0.2)
+                .refChainDepth(5)
+                .composedDepth(1);
+    }
+}
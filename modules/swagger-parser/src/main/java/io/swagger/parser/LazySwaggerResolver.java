@@ -0,0 +1,297 @@
+package io.swagger.parser;
+
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.RefPath;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.refs.RefFormat;
+import io.swagger.parser.processors.DefinitionsProcessor;
+import io.swagger.parser.processors.OperationProcessor;
+import io.swagger.parser.processors.ParameterProcessor;
+import io.swagger.parser.processors.PathsProcessor;
+import io.swagger.parser.util.ParserMetrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves the operations of a definition one at a time, when they are asked for, instead of all of them up front
+ * like {@link SwaggerResolver}. Resolving an operation loads its parameters and responses and processes only the
+ * definitions they reach; each operation and definition is resolved once, and the operation is then returned as is.
+ * <p>
+ * The definition is resolved in place, bit by bit, and must not be used directly once handed to the resolver. A
+ * resolver can be used by any number of threads at once: the operations already resolved are returned without
+ * locking, while the first requests for the others are resolved one at a time.
+ */
+public class LazySwaggerResolver {
+    private final Swagger swagger;
+    private final String parentFileLocation;
+    private final PathsProcessor pathsProcessor;
+    private final ParameterProcessor parameterProcessor;
+    private final OperationProcessor operationProcessor;
+    private final DefinitionsProcessor definitionsProcessor;
+
+    private final ConcurrentMap<String, ResolvedOperation> operations = new ConcurrentHashMap<>();
+    private volatile Map<String, OperationKey> operationIds;
+
+    /*
+    guards the definition while it is being resolved, and the sets below
+     */
+    private final Object lock = new Object();
+    private final Set<String> processedPaths = new HashSet<>();
+    private final Set<String> processedDefinitions = new HashSet<>();
+
+    public LazySwaggerResolver(Swagger swagger, List<AuthorizationValue> auths, String parentFileLocation) {
+        this.swagger = swagger;
+        this.parentFileLocation = parentFileLocation;
+        final ResolverCache cache = new ResolverCache(swagger, auths, parentFileLocation);
+        pathsProcessor = new PathsProcessor(cache, swagger);
+        parameterProcessor = new ParameterProcessor(cache, swagger);
+        operationProcessor = new OperationProcessor(cache, swagger);
+        definitionsProcessor = new DefinitionsProcessor(cache, swagger);
+    }
+
+    public LazySwaggerResolver(Swagger swagger, List<AuthorizationValue> auths) {
+        this(swagger, auths, null);
+    }
+
+    /**
+     * @param path the path, e.g. /pets/{id}
+     * @param method the method of the operation
+     * @return the operation, resolved, or null if the definition has no such operation
+     */
+    public ResolvedOperation resolveOperation(String path, HttpMethod method) {
+        final String key = method + " " + path;
+        ResolvedOperation resolved = operations.get(key);
+        if (resolved != null) {
+            return resolved;
+        }
+        synchronized (lock) {
+            resolved = operations.get(key);
+            if (resolved == null) {
+                final long start = System.nanoTime();
+                resolved = resolve(path, method);
+                ParserMetrics.get().phaseCompleted(ParserMetrics.Phase.RESOLVE, parentFileLocation,
+                        System.nanoTime() - start);
+                if (resolved != null) {
+                    operations.put(key, resolved);
+                }
+            }
+            return resolved;
+        }
+    }
+
+    /**
+     * Looks the operation up by its id. The first call goes over all the paths, loading those which are refs.
+     *
+     * @param operationId the operationId
+     * @return the operation, resolved, or null if no operation has the id
+     */
+    public ResolvedOperation resolveOperationId(String operationId) {
+        Map<String, OperationKey> ids = operationIds;
+        if (ids == null) {
+            synchronized (lock) {
+                ids = operationIds;
+                if (ids == null) {
+                    ids = indexOperationIds();
+                    operationIds = ids;
+                }
+            }
+        }
+        final OperationKey key = ids.get(operationId);
+        return key == null ? null : resolveOperation(key.path, key.method);
+    }
+
+    private Map<String, OperationKey> indexOperationIds() {
+        final Map<String, OperationKey> ids = new HashMap<>();
+        if (swagger.getPaths() == null) {
+            return ids;
+        }
+        for (String pathName : new ArrayList<>(swagger.getPaths().keySet())) {
+            final Path path = loadPath(pathName);
+            if (path == null) {
+                continue;
+            }
+            for (Map.Entry<HttpMethod, Operation> entry : path.getOperationMap().entrySet()) {
+                final String operationId = entry.getValue().getOperationId();
+                if (operationId != null && !ids.containsKey(operationId)) {
+                    ids.put(operationId, new OperationKey(pathName, entry.getKey()));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private ResolvedOperation resolve(String pathName, HttpMethod method) {
+        final Path path = loadPath(pathName);
+        if (path == null) {
+            return null;
+        }
+        final Operation operation = path.getOperationMap().get(method);
+        if (operation == null) {
+            return null;
+        }
+
+        if (processedPaths.add(pathName)) {
+            path.setParameters(parameterProcessor.processParameters(path.getParameters()));
+        }
+        operationProcessor.processOperation(operation);
+        addPathParameters(path, operation);
+
+        return new ResolvedOperation(pathName, method, operation, reachableDefinitions(operation));
+    }
+
+    private Path loadPath(String pathName) {
+        final Path path = swagger.getPaths() != null ? swagger.getPaths().get(pathName) : null;
+        if (path instanceof RefPath) {
+            return pathsProcessor.loadRefPath(pathName, (RefPath) path);
+        }
+        return path;
+    }
+
+    /*
+    unlike the eager resolver, the parameters are left on the path, for its other operations
+     */
+    private void addPathParameters(Path path, Operation operation) {
+        if (path.getParameters() == null) {
+            return;
+        }
+        final List<Parameter> parametersToAdd = new ArrayList<>();
+        for (Parameter parameter : path.getParameters()) {
+            if (!overrides(operation.getParameters(), parameter)) {
+                parametersToAdd.add(parameter);
+            }
+        }
+        if (parametersToAdd.size() > 0) {
+            final List<Parameter> parameters = new ArrayList<>(parametersToAdd);
+            if (operation.getParameters() != null) {
+                parameters.addAll(operation.getParameters());
+            }
+            operation.setParameters(parameters);
+        }
+    }
+
+    private static boolean overrides(List<Parameter> parameters, Parameter pathParameter) {
+        if (parameters == null || pathParameter.getIn() == null) {
+            return false;
+        }
+        for (Parameter parameter : parameters) {
+            if (pathParameter.getIn().equals(parameter.getIn()) && pathParameter.getName().equals(parameter.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, Model> reachableDefinitions(Operation operation) {
+        final Deque<String> names = new ArrayDeque<>();
+        if (operation.getParameters() != null) {
+            for (Parameter parameter : operation.getParameters()) {
+                if (parameter instanceof BodyParameter) {
+                    collectRefs(((BodyParameter) parameter).getSchema(), names);
+                }
+            }
+        }
+        if (operation.getResponses() != null) {
+            for (Response response : operation.getResponses().values()) {
+                if (response != null) {
+                    collectRefs(response.getSchema(), names);
+                }
+            }
+        }
+
+        final Map<String, Model> reached = new LinkedHashMap<>();
+        String name;
+        while ((name = names.poll()) != null) {
+            if (reached.containsKey(name)) {
+                continue;
+            }
+            if (processedDefinitions.add(name)) {
+                definitionsProcessor.processDefinition(name);
+            }
+            final Model model = swagger.getDefinitions() != null ? swagger.getDefinitions().get(name) : null;
+            if (model != null) {
+                reached.put(name, model);
+                collectRefs(model, names);
+            }
+        }
+        return Collections.unmodifiableMap(reached);
+    }
+
+    private static void collectRefs(Model model, Deque<String> names) {
+        if (model instanceof RefModel) {
+            final RefModel refModel = (RefModel) model;
+            if (refModel.getRefFormat() == RefFormat.INTERNAL) {
+                names.add(refModel.getSimpleRef());
+            }
+        } else if (model instanceof ArrayModel) {
+            collectRefs(((ArrayModel) model).getItems(), names);
+        } else if (model instanceof ComposedModel) {
+            final List<Model> allOf = ((ComposedModel) model).getAllOf();
+            if (allOf != null) {
+                for (Model part : allOf) {
+                    collectRefs(part, names);
+                }
+            }
+        } else if (model instanceof ModelImpl) {
+            collectRefs(((ModelImpl) model).getAdditionalProperties(), names);
+        }
+        if (model != null && model.getProperties() != null) {
+            for (Property property : model.getProperties().values()) {
+                collectRefs(property, names);
+            }
+        }
+    }
+
+    private static void collectRefs(Property property, Deque<String> names) {
+        if (property instanceof RefProperty) {
+            final RefProperty refProperty = (RefProperty) property;
+            if (refProperty.getRefFormat() == RefFormat.INTERNAL) {
+                names.add(refProperty.getSimpleRef());
+            }
+        } else if (property instanceof ArrayProperty) {
+            collectRefs(((ArrayProperty) property).getItems(), names);
+        } else if (property instanceof MapProperty) {
+            collectRefs(((MapProperty) property).getAdditionalProperties(), names);
+        } else if (property instanceof ObjectProperty && ((ObjectProperty) property).getProperties() != null) {
+            for (Property subProperty : ((ObjectProperty) property).getProperties().values()) {
+                collectRefs(subProperty, names);
+            }
+        }
+    }
+
+    private static class OperationKey {
+        private final String path;
+        private final HttpMethod method;
+
+        private OperationKey(String path, HttpMethod method) {
+            this.path = path;
+            this.method = method;
+        }
+    }
+}
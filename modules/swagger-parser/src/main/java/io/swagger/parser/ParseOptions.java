@@ -0,0 +1,24 @@
+package io.swagger.parser;
+
+import io.swagger.parser.util.OperationFilter;
+
+public class ParseOptions {
+
+    /*
+    the operations to keep, null keeps them all
+     */
+    private OperationFilter operationFilter;
+
+    public OperationFilter getOperationFilter() {
+        return operationFilter;
+    }
+
+    public void setOperationFilter(OperationFilter operationFilter) {
+        this.operationFilter = operationFilter;
+    }
+
+    public ParseOptions operationFilter(OperationFilter operationFilter) {
+        setOperationFilter(operationFilter);
+        return this;
+    }
+}
@@ -0,0 +1,51 @@
+package io.swagger.parser;
+
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+
+import java.util.Map;
+
+/**
+ * An operation resolved by {@link LazySwaggerResolver}, along with the definitions its parameters and responses
+ * reach, directly or through other definitions.
+ */
+public final class ResolvedOperation {
+    private final String path;
+    private final HttpMethod method;
+    private final Operation operation;
+    private final Map<String, Model> definitions;
+
+    ResolvedOperation(String path, HttpMethod method, Operation operation, Map<String, Model> definitions) {
+        this.path = path;
+        this.method = method;
+        this.operation = operation;
+        this.definitions = definitions;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the operation, with the parameters of its path added to its own and its refs resolved
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the definitions reachable from the operation by name, which must not be modified
+     */
+    public Map<String, Model> getDefinitions() {
+        return definitions;
+    }
+
+    public Model getDefinition(String name) {
+        return definitions.get(name);
+    }
+}
@@ -8,6 +8,8 @@ import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.models.refs.RefFormat;
 import io.swagger.models.refs.RefType;
 import io.swagger.parser.util.DeserializationUtils;
+import io.swagger.parser.util.FlightRecorderEvents;
+import io.swagger.parser.util.ParserMetrics;
 import io.swagger.parser.util.PathUtils;
 import io.swagger.parser.util.RefUtils;
 import io.swagger.parser.util.SwaggerDeserializer;
@@ -15,6 +17,7 @@ import io.swagger.parser.util.SwaggerDeserializer;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,8 +26,11 @@ import java.util.regex.Pattern;
  * expensive operations like:
  * 1) reading a remote URL with authorization (e.g. using RemoteURL.java)
  * 2) reading the contents of a file into memory
- * 3) extracting a sub object from a json/yaml tree
- * 4) de-serializing json strings into objects
+ * 3) parsing the contents of a file into a json/yaml tree
+ * 4) extracting a sub object from a json/yaml tree
+ * 5) de-serializing json strings into objects
+ *
+ * It is safe for use by several threads; concurrent loads of the same ref or file are done only once.
  */
 public class ResolverCache {
 
@@ -36,14 +42,30 @@ public class ResolverCache {
     private final List<AuthorizationValue> auths;
     private final Path parentDirectory;
     private final String rootPath;
-    private Map<String, Object> resolutionCache = new HashMap<>();
-    private Map<String, String> externalFileCache = new HashMap<>();
-    private Set<String> referencedModelKeys = new HashSet<>();
+    private Map<String, Object> resolutionCache = Collections.synchronizedMap(new HashMap<String, Object>());
+    private Map<String, String> externalFileCache = Collections.synchronizedMap(new HashMap<String, String>());
+    private Map<String, RefFormat> externalFileFormats = Collections.synchronizedMap(new HashMap<String, RefFormat>());
+    private Map<String, JsonNode> externalTreeCache = Collections.synchronizedMap(new HashMap<String, JsonNode>());
+    private Set<String> referencedModelKeys = Collections.synchronizedSet(new HashSet<String>());
+
+    /*
+    the definitions imported from external files, in order, until the definitions processor takes them
+     */
+    private Queue<String> importedModelKeys = new ConcurrentLinkedQueue<>();
 
     /*
     a map that stores original external references, and their associated renamed references
      */
-    private Map<String, String> renameCache = new HashMap<>();
+    private Map<String, String> renameCache = Collections.synchronizedMap(new HashMap<String, String>());
+
+    /*
+    monitors striped by key, so that threads loading the same ref, file or tree wait for the first instead of
+    fetching and parsing it again; a thread holds at most one of each kind, always taken in the order ref, file, tree
+     */
+    private static final int LOAD_LOCK_STRIPES = 64;
+    private final Object[] refLocks = newLoadLocks();
+    private final Object[] fileLocks = newLoadLocks();
+    private final Object[] treeLocks = newLoadLocks();
 
     public ResolverCache(Swagger swagger, List<AuthorizationValue> auths, String parentFileLocation) {
         this.swagger = swagger;
@@ -64,6 +86,8 @@ public class ResolverCache {
     }
 
     public <T> T loadRef(String ref, RefFormat refFormat, Class<T> expectedType) {
+        final ParserMetrics metrics = ParserMetrics.get();
+        metrics.refResolved(refFormat, ref);
         if (refFormat == RefFormat.INTERNAL) {
             //we don't need to go get anything for internal refs
             return expectedType.cast(loadInternalRef(ref));
@@ -78,26 +102,39 @@ public class ResolverCache {
         final String file = refParts[0];
         final String definitionPath = refParts.length == 2 ? refParts[1] : null;
 
-        //we might have already resolved this ref, so check the resolutionCache
-        Object previouslyResolvedEntity = resolutionCache.get(ref);
-
-        if (previouslyResolvedEntity != null) {
-            return expectedType.cast(previouslyResolvedEntity);
-        }
+        final FlightRecorderEvents.Event event = FlightRecorderEvents.REF_LOAD.begin();
+        boolean cacheHit = true;
+        try {
+            //we might have already resolved this ref, so check the resolutionCache
+            Object previouslyResolvedEntity = resolutionCache.get(ref);
 
-        //we have not resolved this particular ref
-        //but we may have already loaded the file or url in question
-        String contents = externalFileCache.get(file);
+            if (previouslyResolvedEntity != null) {
+                metrics.cacheHit(ParserMetrics.Cache.REF, ref);
+                return expectedType.cast(previouslyResolvedEntity);
+            }
 
-        if (contents == null) {
-            if(parentDirectory != null) {
-                contents = RefUtils.readExternalRef(file, refFormat, auths, parentDirectory);
+            synchronized (loadLock(refLocks, ref)) {
+                previouslyResolvedEntity = resolutionCache.get(ref);
+                if (previouslyResolvedEntity != null) {
+                    metrics.cacheHit(ParserMetrics.Cache.REF, ref);
+                    return expectedType.cast(previouslyResolvedEntity);
+                }
+                cacheHit = false;
+                metrics.cacheMiss(ParserMetrics.Cache.REF, ref);
+                return loadExternalRef(ref, refFormat, expectedType, file, definitionPath);
             }
-            else if(rootPath != null) {
-                contents = RefUtils.readExternalUrlRef(file, refFormat, auths, rootPath);
+        } finally {
+            if (event != null) {
+                event.commit(ref, String.valueOf(refFormat), cacheHit);
             }
-            externalFileCache.put(file, contents);
         }
+    }
+
+    private <T> T loadExternalRef(String ref, RefFormat refFormat, Class<T> expectedType, String file,
+                                  String definitionPath) {
+        //we have not resolved this particular ref
+        //but we may have already loaded the file or url in question
+        final String contents = loadExternalFile(file, refFormat);
 
         if (definitionPath == null) {
             T result = DeserializationUtils.deserialize(contents, file, expectedType);
@@ -106,7 +143,7 @@ public class ResolverCache {
         }
 
         //a definition path is defined, meaning we need to "dig down" through the JSON tree and get the desired entity
-        JsonNode tree = DeserializationUtils.deserializeIntoTree(contents, file);
+        JsonNode tree = loadExternalTree(file, contents);
 
         String[] jsonPathElements = definitionPath.split("/");
         for (String jsonPathElement : jsonPathElements) {
@@ -129,6 +166,95 @@ public class ResolverCache {
         return result;
     }
 
+    private String loadExternalFile(String file, RefFormat refFormat) {
+        String contents = externalFileCache.get(file);
+        if (contents != null) {
+            ParserMetrics.get().cacheHit(ParserMetrics.Cache.FILE, file);
+            return contents;
+        }
+        synchronized (loadLock(fileLocks, file)) {
+            contents = externalFileCache.get(file);
+            if (contents == null) {
+                ParserMetrics.get().cacheMiss(ParserMetrics.Cache.FILE, file);
+                contents = readExternalFile(file, refFormat);
+                externalFileFormats.put(file, refFormat);
+                externalFileCache.put(file, contents);
+            } else {
+                ParserMetrics.get().cacheHit(ParserMetrics.Cache.FILE, file);
+            }
+            return contents;
+        }
+    }
+
+    private JsonNode loadExternalTree(String file, String contents) {
+        //the file may already have been parsed for another ref into it, so check the externalTreeCache
+        JsonNode tree = externalTreeCache.get(file);
+        if (tree != null) {
+            ParserMetrics.get().cacheHit(ParserMetrics.Cache.TREE, file);
+            return tree;
+        }
+        synchronized (loadLock(treeLocks, file)) {
+            tree = externalTreeCache.get(file);
+            if (tree == null) {
+                ParserMetrics.get().cacheMiss(ParserMetrics.Cache.TREE, file);
+                tree = DeserializationUtils.deserializeIntoTree(contents, file);
+                externalTreeCache.put(file, tree);
+            } else {
+                ParserMetrics.get().cacheHit(ParserMetrics.Cache.TREE, file);
+            }
+            return tree;
+        }
+    }
+
+    private static Object[] newLoadLocks() {
+        final Object[] locks = new Object[LOAD_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private static Object loadLock(Object[] locks, String key) {
+        return locks[(key.hashCode() & Integer.MAX_VALUE) % locks.length];
+    }
+
+    /**
+     * Reads an external file relative to the root document without caching it.
+     *
+     * @param file the file part of a ref
+     * @param refFormat the format of the ref
+     * @return the contents, or null if there is no root document to resolve the file against
+     */
+    public String readExternalFile(String file, RefFormat refFormat) {
+        if(parentDirectory != null) {
+            return RefUtils.readExternalRef(file, refFormat, auths, parentDirectory);
+        }
+        else if(rootPath != null) {
+            return RefUtils.readExternalUrlRef(file, refFormat, auths, rootPath);
+        }
+        return null;
+    }
+
+    public boolean hasExternalFile(String file) {
+        return externalFileCache.containsKey(file);
+    }
+
+    /**
+     * Stores an external file read ahead of resolution, along with its parsed tree if there is one.
+     *
+     * @param file the file part of a ref
+     * @param refFormat the format of the ref
+     * @param contents the contents of the file
+     * @param tree the contents parsed, or null
+     */
+    public void putExternalFile(String file, RefFormat refFormat, String contents, JsonNode tree) {
+        externalFileFormats.put(file, refFormat);
+        externalFileCache.put(file, contents);
+        if (tree != null) {
+            externalTreeCache.put(file, tree);
+        }
+    }
+
     private String unescapePointer(String jsonPathElement) {
         // Unescape the JSON Pointer segment using the algorithm described in RFC 6901, section 4:
         // https://tools.ietf.org/html/rfc6901#section-4
@@ -178,8 +304,26 @@ public class ResolverCache {
         return referencedModelKeys.contains(modelKey);
     }
 
+    /**
+     * Records the name under which a definition of an external file was added to the swagger.
+     *
+     * @param modelKey the name of the definition
+     */
     public void addReferencedKey(String modelKey) {
         referencedModelKeys.add(modelKey);
+        importedModelKeys.add(modelKey);
+    }
+
+    /**
+     * Takes the oldest of the definition names recorded by {@link #addReferencedKey(String)} and not taken yet.
+     *
+     * @return the name, or null if there is none left
+     */
+    public String pollImportedKey() {
+        if(importedModelKeys == null) {
+            return null;
+        }
+        return importedModelKeys.poll();
     }
 
     public String getRenamedRef(String originalRef) {
@@ -198,6 +342,18 @@ public class ResolverCache {
         return Collections.unmodifiableMap(externalFileCache);
     }
 
+    /**
+     * @return the format each of the external files was read with, to read it again with
+     * {@link #readExternalFile(String, RefFormat)}
+     */
+    public Map<String, RefFormat> getExternalFileFormats() {
+        return Collections.unmodifiableMap(externalFileFormats);
+    }
+
+    public Map<String, JsonNode> getExternalTreeCache() {
+        return Collections.unmodifiableMap(externalTreeCache);
+    }
+
     public Map<String, String> getRenameCache() {
         return Collections.unmodifiableMap(renameCache);
     }
@@ -1,5 +1,41 @@
 package io.swagger.parser;
 
 public class ResolverOptions {
+    public static final int DEFAULT_PREFETCH_THREADS = 0;
 
-}
\ No newline at end of file
+    /*
+    number of threads used to fetch external documents before resolution, 0 (the default) disables the prefetch
+     */
+    private int prefetchThreads = DEFAULT_PREFETCH_THREADS;
+
+    /*
+    number of threads used to load the refs of the paths in parallel, 0 or 1 resolves on the calling thread only
+     */
+    private int parallelism;
+
+    public int getPrefetchThreads() {
+        return prefetchThreads;
+    }
+
+    public void setPrefetchThreads(int prefetchThreads) {
+        this.prefetchThreads = prefetchThreads;
+    }
+
+    public ResolverOptions prefetchThreads(int prefetchThreads) {
+        setPrefetchThreads(prefetchThreads);
+        return this;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public ResolverOptions parallelism(int parallelism) {
+        setParallelism(parallelism);
+        return this;
+    }
+}
@@ -1,125 +1,183 @@
 package io.swagger.parser;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
-import io.swagger.parser.util.ClasspathHelper;
 import io.swagger.parser.util.DeserializationUtils;
-import io.swagger.parser.util.RemoteUrl;
+import io.swagger.parser.util.FlightRecorderEvents;
+import io.swagger.parser.util.ParserMetrics;
 import io.swagger.parser.util.SwaggerDeserializationResult;
 import io.swagger.parser.util.SwaggerDeserializer;
+import io.swagger.parser.util.SwaggerStreamingDeserializer;
 import io.swagger.util.Json;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.ssl.SSLHandshakeException;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.net.URI;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.Reader;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 
-public class Swagger20Parser implements SwaggerParserExtension {
+public class Swagger20Parser implements SwaggerDocumentExtension {
     private static final Logger LOGGER = LoggerFactory.getLogger(Swagger20Parser.class);
 
+    private final ParseOptions options;
+    // loads the documents, sharing the options of this parser
+    private final SwaggerPipeline pipeline;
+
+    public Swagger20Parser() {
+        this(new ParseOptions());
+    }
+
+    public Swagger20Parser(ParseOptions options) {
+        this.options = options;
+        this.pipeline = new SwaggerPipeline(this, options, new ResolverOptions());
+    }
+
     @Override
     public SwaggerDeserializationResult readWithInfo(JsonNode node) {
-        SwaggerDeserializer ser = new SwaggerDeserializer();
-        return ser.deserialize(node);
+        final long start = System.nanoTime();
+        SwaggerDeserializer ser = new SwaggerDeserializer().operationFilter(options.getOperationFilter());
+        final SwaggerDeserializationResult result = ser.deserialize(node);
+        ParserMetrics.get().phaseCompleted(ParserMetrics.Phase.DESERIALIZE, null, System.nanoTime() - start);
+        return result;
     }
 
     @Override
     public SwaggerDeserializationResult readWithInfo(String location, List<AuthorizationValue> auths) {
-        String data;
+        final SwaggerSource source;
+        try {
+            source = pipeline.load(location, auths);
+        } catch (IOException e) {
+            return new SwaggerDeserializationResult().message(e.getMessage());
+        }
+        return deserialize(source);
+    }
+
+    @Override
+    public boolean supports(String specVersion) {
+        return "2.0".equals(specVersion);
+    }
+
+    @Override
+    public SwaggerDeserializationResult readWithInfo(JsonNode root, String location, List<AuthorizationValue> auths) {
+        return readWithInfo(root);
+    }
 
+    @Override
+    public Swagger read(JsonNode root, String location, List<AuthorizationValue> auths) {
+        final Swagger swagger = readWithInfo(root).getSwagger();
+        // must have swagger node set
+        return swagger != null && swagger.getSwagger() != null ? swagger : null;
+    }
+
+    /**
+     * Reads a json or yaml document from the stream without loading it into a String first. The stream is not
+     * closed.
+     *
+     * @param in the document
+     * @return the unresolved definition, along with the messages about what is wrong with it
+     */
+    public SwaggerDeserializationResult readWithInfo(InputStream in) {
         try {
-            location = location.replaceAll("\\\\","/");
-            if (location.toLowerCase().startsWith("http")) {
-                data = RemoteUrl.urlToString(location, auths);
-            } else {
-                final String fileScheme = "file:";
-                Path path;
-                if (location.toLowerCase().startsWith(fileScheme)) {
-                    path = Paths.get(URI.create(location));
-                } else {
-                    path = Paths.get(location);
-                }
-                if (Files.exists(path)) {
-                    data = FileUtils.readFileToString(path.toFile(), "UTF-8");
-                } else {
-                    data = ClasspathHelper.loadFileFromClasspath(location);
-                }
-            }
-            JsonNode rootNode;
-            if (data.trim().startsWith("{")) {
-                ObjectMapper mapper = Json.mapper();
-                rootNode = mapper.readTree(data);
-            } else {
-                rootNode = DeserializationUtils.readYamlTree(data);
-            }
-            return readWithInfo(rootNode);
+            return deserialize(in, null);
+        } catch (Exception e) {
+            return new SwaggerDeserializationResult().message("malformed or unreadable swagger supplied");
         }
-        catch (SSLHandshakeException e) {
-            SwaggerDeserializationResult output = new SwaggerDeserializationResult();
-            output.message("unable to read location `" + location + "` due to a SSL configuration error.  " +
-                    "It is possible that the server SSL certificate is invalid, self-signed, or has an untrusted " +
-                    "Certificate Authority.");
-            return output;
+    }
+
+    /**
+     * Reads a json or yaml document from the reader without loading it into a String first. The reader is not
+     * closed.
+     *
+     * @param reader the document
+     * @return the unresolved definition, along with the messages about what is wrong with it
+     */
+    public SwaggerDeserializationResult readWithInfo(Reader reader) {
+        try {
+            return deserialize(reader);
+        } catch (Exception e) {
+            return new SwaggerDeserializationResult().message("malformed or unreadable swagger supplied");
         }
-        catch (Exception e) {
-            SwaggerDeserializationResult output = new SwaggerDeserializationResult();
-            output.message("unable to read location `" + location + "`");
-            return output;
+    }
+
+    public SwaggerDeserializationResult readWithInfo(Path path) {
+        final SwaggerSource source;
+        try {
+            source = pipeline.load(path);
+        } catch (IOException e) {
+            return new SwaggerDeserializationResult().message(e.getMessage());
         }
+        return deserialize(source);
     }
 
-    @Override
-    public Swagger read(String location, List<AuthorizationValue> auths) throws IOException {
-        LOGGER.info("reading from " + location);
+    private SwaggerDeserializationResult deserialize(SwaggerSource source) {
         try {
-            String data;
-            location = location.replaceAll("\\\\","/");
-            if (location.toLowerCase().startsWith("http")) {
-                data = RemoteUrl.urlToString(location, auths);
-            } else {
-                final String fileScheme = "file:";
-                Path path;
-                if (location.toLowerCase().startsWith(fileScheme)) {
-                    path = Paths.get(URI.create(location));
-                } else {
-                    path = Paths.get(location);
-                }
-                if(Files.exists(path)) {
-                    data = FileUtils.readFileToString(path.toFile(), "UTF-8");
-                } else {
-                    data = ClasspathHelper.loadFileFromClasspath(location);
-                }
+            return deserialize(source.openStream(), source.getLocation());
+        } catch (Exception e) {
+            return new SwaggerDeserializationResult().message("unable to read location `" + source.getLocation() + "`");
+        }
+    }
+
+    SwaggerDeserializationResult deserialize(InputStream in, String location) throws IOException {
+        final InputStream input = in.markSupported() ? in : new BufferedInputStream(in);
+        if (DeserializationUtils.isJson(input)) {
+            // parsed and deserialized in one go
+            final FlightRecorderEvents.Event event = FlightRecorderEvents.PARSE.begin();
+            final long start = System.nanoTime();
+            final SwaggerDeserializationResult result = new SwaggerStreamingDeserializer()
+                    .operationFilter(options.getOperationFilter())
+                    .deserialize(input);
+            ParserMetrics.get().phaseCompleted(ParserMetrics.Phase.DESERIALIZE, location, System.nanoTime() - start);
+            if (event != null) {
+                event.commit(location, "json", -1L);
             }
+            return result;
+        }
+        return deserialize(DeserializationUtils.readYamlTree(input));
+    }
 
-            return convertToSwagger(data);
-        } catch (Exception e) {
-            if (System.getProperty("debugParser") != null) {
-                e.printStackTrace();
+    SwaggerDeserializationResult deserialize(Reader reader) throws IOException {
+        final Reader input = reader.markSupported() ? reader : new BufferedReader(reader);
+        if (DeserializationUtils.isJson(input)) {
+            final FlightRecorderEvents.Event event = FlightRecorderEvents.PARSE.begin();
+            final long start = System.nanoTime();
+            final SwaggerDeserializationResult result = new SwaggerStreamingDeserializer()
+                    .operationFilter(options.getOperationFilter())
+                    .deserialize(input);
+            ParserMetrics.get().phaseCompleted(ParserMetrics.Phase.DESERIALIZE, null, System.nanoTime() - start);
+            if (event != null) {
+                event.commit(null, "json", -1L);
             }
-            return null;
+            return result;
+        }
+        return deserialize(DeserializationUtils.readYamlTree(input));
+    }
+
+    private SwaggerDeserializationResult deserialize(JsonNode rootNode) {
+        if (rootNode == null) {
+            return new SwaggerDeserializationResult().message("empty or null swagger supplied");
         }
+        return readWithInfo(rootNode);
     }
 
-    private Swagger convertToSwagger(String data) throws IOException {
+    @Override
+    public Swagger read(String location, List<AuthorizationValue> auths) throws IOException {
+        LOGGER.info("reading from " + location);
+        final Swagger swagger = readWithInfo(location, auths).getSwagger();
+        // must have swagger node set
+        return swagger != null && swagger.getSwagger() != null ? swagger : null;
+    }
+
+    Swagger convertToSwagger(String data, String location) throws IOException {
         if (data != null) {
-            JsonNode rootNode;
-            if (data.trim().startsWith("{")) {
-                ObjectMapper mapper = Json.mapper();
-                rootNode = mapper.readTree(data);
-            } else {
-                rootNode = DeserializationUtils.readYamlTree(data);
-            }
+            JsonNode rootNode = DeserializationUtils.readTree(data, location);
 
             if (System.getProperty("debugParser") != null) {
                 LOGGER.info("\n\nSwagger Tree: \n"
@@ -133,7 +191,7 @@ public class Swagger20Parser implements SwaggerParserExtension {
             if (swaggerNode == null) {
                 return null;
             } else {
-                SwaggerDeserializationResult result = new SwaggerDeserializer().deserialize(rootNode);
+                SwaggerDeserializationResult result = readWithInfo(rootNode);
 
                 Swagger convertValue = result.getSwagger();
                 if (System.getProperty("debugParser") != null) {
@@ -149,7 +207,7 @@ public class Swagger20Parser implements SwaggerParserExtension {
 
     public Swagger parse(String data) throws IOException {
         Validate.notEmpty(data, "data must not be null!");
-        return convertToSwagger(data);
+        return convertToSwagger(data, null);
     }
 
     @Override
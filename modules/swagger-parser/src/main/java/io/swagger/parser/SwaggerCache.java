@@ -0,0 +1,188 @@
+package io.swagger.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.models.refs.RefFormat;
+import io.swagger.parser.util.Hashes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache of resolved swagger definitions, used by {@link SwaggerParser#read(String, List, boolean)} once installed
+ * with {@link SwaggerParser#setSwaggerCache(SwaggerCache)}, and bounded by number of entries, evicting the least
+ * recently used first.
+ *
+ * Each definition is cached with the SHA-256 of its document and of every document its refs loaded, directly or
+ * not. A read still reads all these documents, but only parses and resolves the definition again when one of them
+ * changed: a changed file invalidates the definitions which depend on it, and only them.
+ *
+ * The cache keeps each definition as the json tokens it serializes to, and every reader gets its own copy
+ * deserialized from them, which it is free to modify. A hit thus still costs a deserialization, though neither a
+ * parse nor a resolution.
+ */
+public class SwaggerCache {
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+    private static final Logger LOGGER = LoggerFactory.getLogger(SwaggerCache.class);
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hitCount;
+    private long missCount;
+
+    public SwaggerCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public SwaggerCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the resolved definition at the location, or null if it could not be read or is not a swagger 2.0
+     * definition
+     */
+    Swagger read(String location, List<AuthorizationValue> auths, SwaggerPipeline pipeline) throws IOException {
+        final SwaggerSource source;
+        try {
+            source = pipeline.load(location, auths);
+        } catch (IOException e) {
+            LOGGER.debug("unable to read " + location, e);
+            return null;
+        }
+        final String contents = source.asString();
+        final String key = key(location, auths);
+        final String hash = Hashes.sha256(contents);
+
+        final Entry cached = get(key);
+        if (cached != null && cached.hash.equals(hash) && isCurrent(cached, location, auths)) {
+            count(true);
+            return SwaggerSnapshot.read(cached.tokens);
+        }
+        count(false);
+
+        final JsonNode tree = pipeline.parse(source);
+        // must have swagger node set
+        if (tree == null || tree.get("swagger") == null) {
+            return null;
+        }
+        final Swagger swagger = pipeline.deserialize(tree).getSwagger();
+        if (swagger == null) {
+            return null;
+        }
+        final SwaggerResolver resolver = new SwaggerResolver(swagger, auths, location, pipeline.getResolverOptions());
+        final Swagger resolved = resolver.resolve();
+        final ResolverCache files = resolver.getCache();
+        final List<Dependency> dependencies = new ArrayList<>();
+        for (Map.Entry<String, String> file : files.getExternalFileCache().entrySet()) {
+            if (file.getValue() != null) {
+                dependencies.add(new Dependency(file.getKey(), files.getExternalFileFormats().get(file.getKey()),
+                        Hashes.sha256(file.getValue())));
+            }
+        }
+        put(key, new Entry(hash, dependencies, SwaggerSnapshot.tokens(resolved)));
+        return resolved;
+    }
+
+    /**
+     * @return whether the documents the refs of the definition loaded are still the same
+     */
+    private boolean isCurrent(Entry entry, String location, List<AuthorizationValue> auths) {
+        final ResolverCache reader = new ResolverCache(null, auths, location);
+        for (Dependency dependency : entry.dependencies) {
+            try {
+                final String contents = reader.readExternalFile(dependency.file, dependency.refFormat);
+                if (contents == null || !dependency.hash.equals(Hashes.sha256(contents))) {
+                    return false;
+                }
+            } catch (RuntimeException e) {
+                LOGGER.debug("unable to read " + dependency.file + ", a dependency of " + location, e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        entries.put(key, entry);
+        final Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private synchronized void count(boolean hit) {
+        if (hit) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Identifies the location and the auth values it is read with. The values are only kept hashed.
+     */
+    private static String key(String location, List<AuthorizationValue> auths) {
+        final String fingerprint = Hashes.authFingerprint(location, auths);
+        return fingerprint != null ? location + " " + fingerprint : location;
+    }
+
+    private static class Entry {
+        private final String hash;
+        private final List<Dependency> dependencies;
+        private final TokenBuffer tokens;
+
+        Entry(String hash, List<Dependency> dependencies, TokenBuffer tokens) {
+            this.hash = hash;
+            this.dependencies = dependencies;
+            this.tokens = tokens;
+        }
+    }
+
+    /**
+     * A document the refs of a definition loaded, read again with the same format to check it did not change.
+     */
+    private static class Dependency {
+        private final String file;
+        private final RefFormat refFormat;
+        private final String hash;
+
+        Dependency(String file, RefFormat refFormat, String hash) {
+            this.file = file;
+            this.refFormat = refFormat;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.swagger.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+
+import java.io.IOException;
+
+/**
+ * A document read once by {@link SwaggerParser}, along with the spec version it declares, for the parser to route
+ * it to the extension of that version. Swagger 2.0 json files are deserialized while reading them, as a stream, and
+ * only keep the result; the other documents keep their tree.
+ */
+final class SwaggerDocument {
+    static final String LEGACY_VERSION = "1.0";
+
+    private final String version;
+    private final JsonNode tree;
+    private SwaggerDeserializationResult result;
+
+    private SwaggerDocument(String version, JsonNode tree, SwaggerDeserializationResult result) {
+        this.version = version;
+        this.tree = tree;
+        this.result = result;
+    }
+
+    static SwaggerDocument of(JsonNode tree) {
+        return new SwaggerDocument(detectVersion(tree), tree, null);
+    }
+
+    static SwaggerDocument deserialized(String version, SwaggerDeserializationResult result) {
+        return new SwaggerDocument(version, null, result);
+    }
+
+    /**
+     * @param result telling why the location could not be read
+     */
+    static SwaggerDocument unreadable(SwaggerDeserializationResult result) {
+        return new SwaggerDocument(null, null, result);
+    }
+
+    /**
+     * @return the spec version the document declares, null if none or if it could not be read
+     */
+    String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return whether the document is meant for the {@link SwaggerPipeline}: a 2.0 document, or one that does not say
+     * what it is
+     */
+    boolean isSwagger20() {
+        return version == null || "2.0".equals(version);
+    }
+
+    /**
+     * @return the document, or null if it was deserialized while being read or could not be read
+     */
+    JsonNode getTree() {
+        return tree;
+    }
+
+    /**
+     * @return the document deserialized by the pipeline, which reports what is wrong with it if it is not a valid
+     * 2.0 one, or why it could not be read
+     */
+    SwaggerDeserializationResult deserialize(SwaggerPipeline pipeline) {
+        if (result == null) {
+            result = pipeline.deserialize(tree);
+        }
+        return result;
+    }
+
+    /**
+     * @return the value of the `swagger` key of the root, else of its `swaggerVersion` key, else
+     * {@link #LEGACY_VERSION} if it lists `apis`, else null
+     */
+    static String detectVersion(JsonNode root) {
+        if (root == null || !root.isObject()) {
+            return null;
+        }
+        JsonNode version = root.get("swagger");
+        if (version == null) {
+            version = root.get("swaggerVersion");
+        }
+        if (version != null) {
+            return version.isValueNode() ? version.asText() : null;
+        }
+        return root.has("apis") ? LEGACY_VERSION : null;
+    }
+
+    /**
+     * Looks for the same keys as {@link #detectVersion(JsonNode)} among the fields of the root object of the json
+     * document, skipping their values, and stops at the `swagger` key, which usually comes first.
+     */
+    static String detectVersion(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        String swaggerVersion = null;
+        boolean apis = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            final JsonToken value = parser.nextToken();
+            if ("swagger".equals(name)) {
+                return value.isScalarValue() ? parser.getText() : null;
+            } else if ("swaggerVersion".equals(name)) {
+                swaggerVersion = value.isScalarValue() ? parser.getText() : "";
+            } else if ("apis".equals(name)) {
+                apis = true;
+            }
+            parser.skipChildren();
+        }
+        if (swaggerVersion != null) {
+            return swaggerVersion.isEmpty() ? null : swaggerVersion;
+        }
+        return apis ? LEGACY_VERSION : null;
+    }
+}
@@ -0,0 +1,42 @@
+package io.swagger.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A {@link SwaggerParserExtension} for the documents of given spec versions. {@link SwaggerParser} reads each
+ * location once, detects the version its document declares, and hands the parsed document to the first of these
+ * extensions supporting that version, instead of having every extension read the location again. Extensions which
+ * do not implement this interface are still given the location.
+ */
+public interface SwaggerDocumentExtension extends SwaggerParserExtension {
+
+    /**
+     * @param specVersion the version the document declares with its `swagger` or `swaggerVersion` key, e.g. "2.0"
+     * or "1.2", or "1.0" for an api listing declaring none
+     * @return whether the extension reads documents of that version
+     */
+    boolean supports(String specVersion);
+
+    /**
+     * @param root the document read from the location, which must not be modified
+     * @param location where the document was read from, to resolve the locations of the others it refers to
+     * @param auths the auth values to send to the urls the document refers to, or null
+     * @return the definition, along with the messages about what is wrong with it, or null if the extension cannot read the document
+     */
+    SwaggerDeserializationResult readWithInfo(JsonNode root, String location, List<AuthorizationValue> auths);
+
+    /**
+     * @param root the document read from the location, which must not be modified
+     * @param location where the document was read from, to resolve the locations of the others it refers to
+     * @param auths the auth values to send to the urls the document refers to, or null
+     * @return the definition, or null if the extension cannot read the document
+     * @throws IOException if a document it refers to could not be read
+     */
+    Swagger read(JsonNode root, String location, List<AuthorizationValue> auths) throws IOException;
+}
@@ -1,48 +1,132 @@
 package io.swagger.parser;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
-import io.swagger.parser.util.DeserializationUtils;
 import io.swagger.parser.util.SwaggerDeserializationResult;
-import io.swagger.util.Json;
+import io.swagger.parser.util.SwaggerScanner;
+import io.swagger.parser.util.SwaggerSummary;
+import org.apache.commons.lang3.Validate;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
 
+/**
+ * Reads swagger definitions, handing anything that is not a swagger 2.0 document to the
+ * {@link SwaggerParserExtension}s. The extensions are discovered once, when the parser is created, and the parser
+ * holds no other state: a single instance can be kept and used by any number of threads at once.
+ */
 public class SwaggerParser {
+    private static volatile SwaggerCache swaggerCache;
+
+    private final Swagger20Parser swagger20Parser;
+    private final SwaggerPipeline pipeline;
+    private final List<SwaggerParserExtension> extensions;
+
+    public SwaggerParser() {
+        this(loadExtensions());
+    }
+
+    /**
+     * @param options how to deserialize swagger 2.0 documents; the extensions read the others as they always do
+     */
+    public SwaggerParser(ParseOptions options) {
+        this(loadExtensions(), options);
+    }
+
+    /**
+     * @param extensions the extensions to try, in order, instead of the ones registered with {@link ServiceLoader}
+     */
+    public SwaggerParser(List<SwaggerParserExtension> extensions) {
+        this(extensions, new ParseOptions());
+    }
+
+    public SwaggerParser(List<SwaggerParserExtension> extensions, ParseOptions options) {
+        this.extensions = Collections.unmodifiableList(new ArrayList<SwaggerParserExtension>(extensions));
+        this.swagger20Parser = new Swagger20Parser(options);
+        this.pipeline = new SwaggerPipeline(options, new ResolverOptions());
+    }
+
+    public static SwaggerCache getSwaggerCache() {
+        return swaggerCache;
+    }
+
+    /**
+     * Installs a cache of the definitions resolved by {@link #read(String, List, boolean)}, shared by all parsers,
+     * or disables it when null (the default).
+     *
+     * @param cache the cache, or null
+     */
+    public static void setSwaggerCache(SwaggerCache cache) {
+        swaggerCache = cache;
+    }
 
     public SwaggerDeserializationResult readWithInfo(String location, List<AuthorizationValue> auths, boolean resolve) {
         if (location == null) {
             return null;
         }
         location = location.replaceAll("\\\\","/");
-        List<SwaggerParserExtension> parserExtensions = getExtensions();
-        SwaggerDeserializationResult output;
 
         if(auths == null) {
             auths = new ArrayList<AuthorizationValue>();
         }
 
-        output = new Swagger20Parser().readWithInfo(location, auths);
-        if (output != null) {
+        return readWithInfo(document(location, auths), location, auths, resolve);
+    }
+
+    /**
+     * Loads the document at the location once through the pipeline, for its version to be detected.
+     */
+    private SwaggerDocument document(String location, List<AuthorizationValue> auths) {
+        try {
+            return pipeline.document(pipeline.load(location, auths));
+        } catch (IOException e) {
+            return SwaggerDocument.unreadable(new SwaggerDeserializationResult().message(e.getMessage()));
+        }
+    }
+
+    /**
+     * Deserializes a 2.0 document, or hands the document to the {@link SwaggerDocumentExtension} of its version, then
+     * the location to the other extensions, until one of them reads a 2.0 definition.
+     */
+    private SwaggerDeserializationResult readWithInfo(SwaggerDocument document, String location,
+                                                      List<AuthorizationValue> auths, boolean resolve) {
+        SwaggerDeserializationResult output = null;
+        if (document.isSwagger20()) {
+            output = document.deserialize(pipeline);
             if(output.getSwagger() != null && "2.0".equals(output.getSwagger().getSwagger())) {
-                if(resolve) {
-                    output.setSwagger(new SwaggerResolver(output.getSwagger(), auths, location).resolve());
+                return resolve ? resolve(output, auths, location) : output;
+            }
+        } else {
+            final SwaggerDocumentExtension extension = documentExtension(document.getVersion());
+            if (extension != null) {
+                output = extension.readWithInfo(document.getTree(), location, auths);
+                if (output != null && output.getSwagger() != null && "2.0".equals(output.getSwagger().getSwagger())) {
+                    return output;
                 }
-                return output;
             }
         }
-        for (SwaggerParserExtension extension : parserExtensions) {
+        for (SwaggerParserExtension extension : extensions) {
+            if (extension instanceof SwaggerDocumentExtension) {
+                // already given the document, or not meant for it
+                continue;
+            }
             output = extension.readWithInfo(location, auths);
             if (output != null && output.getSwagger() != null && "2.0".equals(output.getSwagger().getSwagger())) {
                 return output;
             }
         }
+        if (output == null) {
+            // what is wrong with it as a 2.0 document, or why it could not be read
+            output = document.deserialize(pipeline);
+        }
         if(output == null) {
             output = new SwaggerDeserializationResult()
                 .message("The swagger definition could not be read");
@@ -50,6 +134,15 @@ public class SwaggerParser {
         return output;
     }
 
+    private SwaggerDocumentExtension documentExtension(String specVersion) {
+        for (SwaggerParserExtension extension : extensions) {
+            if (extension instanceof SwaggerDocumentExtension && ((SwaggerDocumentExtension) extension).supports(specVersion)) {
+                return (SwaggerDocumentExtension) extension;
+            }
+        }
+        return null;
+    }
+
     public Swagger read(String location) {
         return read(location, null, true);
     }
@@ -59,17 +152,54 @@ public class SwaggerParser {
             return null;
         }
         location = location.replaceAll("\\\\","/");
-        List<SwaggerParserExtension> parserExtensions = getExtensions();
         Swagger output;
 
+        // the cache keeps whole definitions
+        final SwaggerCache cache = pipeline.getParseOptions().getOperationFilter() == null ? swaggerCache : null;
+        if (cache == null) {
+            return read(document(location, auths), location, auths);
+        }
         try {
-            output = new Swagger20Parser().read(location, auths);
+            output = cache.read(location, auths, pipeline);
             if (output != null) {
-                return new SwaggerResolver(output, auths, location).resolve();
+                return output;
             }
         } catch (IOException e) {
+            if (System.getProperty("debugParser") != null) {
+                e.printStackTrace();
+            }
+        }
+        // not a 2.0 definition the cache could keep, or it failed to read it
+        return read(document(location, auths), location, auths);
+    }
+
+    private Swagger read(SwaggerDocument document, String location, List<AuthorizationValue> auths) {
+        Swagger output;
+        if (document.isSwagger20()) {
+            output = document.deserialize(pipeline).getSwagger();
+            // must have swagger node set
+            if (output != null && output.getSwagger() != null) {
+                return resolve(output, auths, location);
+            }
+        } else {
+            final SwaggerDocumentExtension extension = documentExtension(document.getVersion());
+            if (extension != null) {
+                try {
+                    output = extension.read(document.getTree(), location, auths);
+                    if (output != null) {
+                        return output;
+                    }
+                } catch (IOException e) {
+                    if (System.getProperty("debugParser") != null) {
+                        e.printStackTrace();
+                    }
+                }
+            }
         }
-        for (SwaggerParserExtension extension : parserExtensions) {
+        for (SwaggerParserExtension extension : extensions) {
+            if (extension instanceof SwaggerDocumentExtension) {
+                continue;
+            }
             try {
                 output = extension.read(location, auths);
                 if (output != null) {
@@ -90,35 +220,137 @@ public class SwaggerParser {
             return new SwaggerDeserializationResult().message("empty or null swagger supplied");
         }
         try {
-            JsonNode node;
-            if (swaggerAsString.trim().startsWith("{")) {
-                ObjectMapper mapper = Json.mapper();
-                node = mapper.readTree(swaggerAsString);
-            } else {
-                node = DeserializationUtils.readYamlTree(swaggerAsString);
-            }
-
-            SwaggerDeserializationResult result = new Swagger20Parser().readWithInfo(node);
-            if (result != null) {
-                result.setSwagger(new SwaggerResolver(result.getSwagger(), new ArrayList<AuthorizationValue>(), null).resolve());
-            }
-            return new Swagger20Parser().readWithInfo(node);
+            JsonNode node = pipeline.parse(SwaggerSource.of(null, swaggerAsString));
+            return pipeline.resolve(pipeline.deserialize(node), null, new ArrayList<AuthorizationValue>());
         }
         catch (Exception e) {
             return new SwaggerDeserializationResult().message("malformed or unreadable swagger supplied");
         }
     }
 
+    /**
+     * Reads a swagger 2.0 document in json or yaml from the stream, which is not closed. Relative refs are
+     * resolved against the working directory.
+     *
+     * @param in the document
+     * @return the resolved definition, along with the messages about what is wrong with it
+     */
+    public SwaggerDeserializationResult readWithInfo(InputStream in) {
+        if (in == null) {
+            return new SwaggerDeserializationResult().message("empty or null swagger supplied");
+        }
+        SwaggerDeserializationResult result;
+        try {
+            result = pipeline.deserialize(in);
+        } catch (Exception e) {
+            result = new SwaggerDeserializationResult().message("malformed or unreadable swagger supplied");
+        }
+        return resolve(result, new ArrayList<AuthorizationValue>(), null);
+    }
+
+    /**
+     * Reads a swagger 2.0 document in json or yaml from the reader, which is not closed. Relative refs are
+     * resolved against the working directory.
+     *
+     * @param reader the document
+     * @return the resolved definition, along with the messages about what is wrong with it
+     */
+    public SwaggerDeserializationResult readWithInfo(Reader reader) {
+        if (reader == null) {
+            return new SwaggerDeserializationResult().message("empty or null swagger supplied");
+        }
+        SwaggerDeserializationResult result;
+        try {
+            result = pipeline.deserialize(reader);
+        } catch (Exception e) {
+            result = new SwaggerDeserializationResult().message("malformed or unreadable swagger supplied");
+        }
+        return resolve(result, new ArrayList<AuthorizationValue>(), null);
+    }
+
+    public SwaggerDeserializationResult readWithInfo(Path path) {
+        return readWithInfo(path, null, true);
+    }
+
+    public SwaggerDeserializationResult readWithInfo(Path path, List<AuthorizationValue> auths, boolean resolve) {
+        if (path == null) {
+            return null;
+        }
+        if (auths == null) {
+            auths = new ArrayList<AuthorizationValue>();
+        }
+        final String location = path.toString().replaceAll("\\\\","/");
+        SwaggerDocument document;
+        try {
+            document = pipeline.document(pipeline.load(path));
+        } catch (IOException e) {
+            document = SwaggerDocument.unreadable(new SwaggerDeserializationResult().message(e.getMessage()));
+        }
+        return readWithInfo(document, location, auths, resolve);
+    }
+
+    /**
+     * Reads a resolved definition written with {@link SwaggerSnapshot}, without parsing nor resolving it again.
+     *
+     * @param path the snapshot file
+     * @return the definition
+     * @throws IOException if the file could not be read or is not a snapshot
+     */
+    public Swagger readSnapshot(Path path) throws IOException {
+        return SwaggerSnapshot.read(path);
+    }
+
+    /**
+     * Reads only the top-level metadata of the json or yaml definition at the location and counts its paths,
+     * operations and definitions, without deserializing nor resolving it.
+     *
+     * @param location the url, file or resource
+     * @param auths the auth values to send to a url, or null
+     * @return the metadata and counts
+     * @throws IOException if the location could not be read or the definition is malformed
+     */
+    public SwaggerSummary scan(String location, List<AuthorizationValue> auths) throws IOException {
+        try (InputStream in = pipeline.open(location, auths)) {
+            return new SwaggerScanner().scan(in);
+        }
+    }
+
+    /**
+     * @param in the definition, which is not closed
+     * @return the metadata and counts
+     * @throws IOException if the stream could not be read or the definition is malformed
+     * @see #scan(String, List)
+     */
+    public SwaggerSummary scan(InputStream in) throws IOException {
+        return new SwaggerScanner().scan(in);
+    }
+
+    private SwaggerDeserializationResult resolve(SwaggerDeserializationResult result, List<AuthorizationValue> auths,
+                                                 String location) {
+        return pipeline.resolve(result, location, auths);
+    }
+
+    private Swagger resolve(Swagger swagger, List<AuthorizationValue> auths, String location) {
+        final SwaggerDeserializationResult result = new SwaggerDeserializationResult();
+        result.setSwagger(swagger);
+        return pipeline.resolve(result, location, auths).getSwagger();
+    }
+
     public Swagger parse(String swaggerAsString) {
         return parse(swaggerAsString, null);
     }
 
     public Swagger parse(String swaggerAsString, List<AuthorizationValue> auths) {
-        Swagger output;
+        Validate.notEmpty(swaggerAsString, "data must not be null!");
         try {
-            output = new Swagger20Parser().parse(swaggerAsString);
+            final JsonNode tree = pipeline.parse(SwaggerSource.of(null, swaggerAsString));
+            // must have swagger node set
+            if (tree == null || tree.get("swagger") == null) {
+                return null;
+            }
+            final Swagger output = pipeline.deserialize(tree).getSwagger();
             if (output != null) {
-                return new SwaggerResolver(output, auths, null).resolve();
+                return resolve(output, auths, null);
             }
         } catch (IOException e) {
         }
@@ -138,14 +370,13 @@ public class SwaggerParser {
             return null;
         }
 
-        List<SwaggerParserExtension> parserExtensions = getExtensions();
         Swagger output = null;
 
         try {
-            output = new Swagger20Parser().read(node);
+            output = swagger20Parser.read(node);
             if (output != null) {
                 if(resolve) {
-                    return new SwaggerResolver(output, authorizationValues).resolve();
+                    return resolve(output, authorizationValues, null);
                 }
                 else {
                     return output;
@@ -153,7 +384,7 @@ public class SwaggerParser {
             }
         } catch (IOException e) {
         }
-        for (SwaggerParserExtension extension : parserExtensions) {
+        for (SwaggerParserExtension extension : extensions) {
             try {
                 output = extension.read(node);
                 if (output != null) {
@@ -170,6 +401,10 @@ public class SwaggerParser {
     }
 
     public List<SwaggerParserExtension> getExtensions() {
+        return extensions;
+    }
+
+    private static List<SwaggerParserExtension> loadExtensions() {
         ServiceLoader<SwaggerParserExtension> loader = ServiceLoader.load(SwaggerParserExtension.class);
         List<SwaggerParserExtension> output = new ArrayList<SwaggerParserExtension>();
         Iterator<SwaggerParserExtension> itr = loader.iterator();
@@ -178,4 +413,4 @@ public class SwaggerParser {
         }
         return output;
     }
-}
\ No newline at end of file
+}
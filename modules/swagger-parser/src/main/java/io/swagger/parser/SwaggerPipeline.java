@@ -0,0 +1,239 @@
+package io.swagger.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.util.ClasspathHelper;
+import io.swagger.parser.util.DeserializationUtils;
+import io.swagger.parser.util.RemoteUrl;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+import io.swagger.util.Json;
+
+import javax.net.ssl.SSLHandshakeException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * The stages {@link SwaggerParser} reads a swagger 2.0 definition in, for callers who want to keep, reuse, time or
+ * skip some of them:
+ * <ol>
+ * <li>{@link #load(String, List)} the raw contents of a location, as a {@link SwaggerSource}</li>
+ * <li>{@link #parse(SwaggerSource)} them into a tree</li>
+ * <li>{@link #deserialize(JsonNode)} the tree into an unresolved {@link io.swagger.models.Swagger} and the messages
+ * about what is wrong with it</li>
+ * <li>{@link #resolve(SwaggerDeserializationResult, String, List)} its refs</li>
+ * </ol>
+ * {@link #deserialize(SwaggerSource)} parses and deserializes json contents in one go, without building the tree,
+ * and so do the stream and reader overloads.
+ * Each stage reports its time to the {@link io.swagger.parser.util.ParserMetrics}. A pipeline holds no state but
+ * its options and can be used by any number of threads at once.
+ */
+public class SwaggerPipeline {
+    private final Swagger20Parser swagger20Parser;
+    private final ParseOptions parseOptions;
+    private final ResolverOptions resolverOptions;
+
+    public SwaggerPipeline() {
+        this(new ParseOptions(), new ResolverOptions());
+    }
+
+    public SwaggerPipeline(ResolverOptions resolverOptions) {
+        this(new ParseOptions(), resolverOptions);
+    }
+
+    public SwaggerPipeline(ParseOptions parseOptions, ResolverOptions resolverOptions) {
+        this(new Swagger20Parser(parseOptions), parseOptions, resolverOptions);
+    }
+
+    SwaggerPipeline(Swagger20Parser swagger20Parser, ParseOptions parseOptions, ResolverOptions resolverOptions) {
+        this.swagger20Parser = swagger20Parser;
+        this.parseOptions = parseOptions;
+        this.resolverOptions = resolverOptions;
+    }
+
+    public ParseOptions getParseOptions() {
+        return parseOptions;
+    }
+
+    public ResolverOptions getResolverOptions() {
+        return resolverOptions;
+    }
+
+    /**
+     * Reads the contents of an http(s) url, a file, or else a classpath resource.
+     *
+     * @param location the url, file or resource
+     * @param auths the auth values to send to a url, or null
+     * @return the contents
+     * @throws IOException whose message tells why the location could not be read
+     */
+    public SwaggerSource load(String location, List<AuthorizationValue> auths) throws IOException {
+        location = location.replaceAll("\\\\","/");
+        try {
+            if (location.toLowerCase().startsWith("http")) {
+                return new SwaggerSource(location, RemoteUrl.urlToStream(location, auths).toByteArray());
+            }
+            final Path path = localPath(location);
+            if (Files.exists(path)) {
+                return new SwaggerSource(location, Files.readAllBytes(path));
+            }
+            return SwaggerSource.of(location, ClasspathHelper.loadFileFromClasspath(location));
+        } catch (SSLHandshakeException e) {
+            throw new IOException("unable to read location `" + location + "` due to a SSL configuration error.  " +
+                    "It is possible that the server SSL certificate is invalid, self-signed, or has an untrusted " +
+                    "Certificate Authority.", e);
+        } catch (Exception e) {
+            throw new IOException("unable to read location `" + location + "`", e);
+        }
+    }
+
+    /**
+     * Opens the same contents as {@link #load(String, List)}, reading files as a stream instead of all at once.
+     * The caller closes the stream.
+     *
+     * @param location the url, file or resource
+     * @param auths the auth values to send to a url, or null
+     * @return the contents
+     * @throws IOException if the location could not be read
+     */
+    public InputStream open(String location, List<AuthorizationValue> auths) throws IOException {
+        final String normalized = location.replaceAll("\\\\","/");
+        if (!normalized.toLowerCase().startsWith("http")) {
+            final Path path = localPath(normalized);
+            if (Files.exists(path)) {
+                return Files.newInputStream(path);
+            }
+        }
+        return load(normalized, auths).openStream();
+    }
+
+    private static Path localPath(String location) {
+        final String fileScheme = "file:";
+        if (location.toLowerCase().startsWith(fileScheme)) {
+            return Paths.get(URI.create(location));
+        }
+        return Paths.get(location);
+    }
+
+    public SwaggerSource load(Path path) throws IOException {
+        final String location = path.toString().replaceAll("\\\\","/");
+        try {
+            return new SwaggerSource(location, Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new IOException("unable to read location `" + location + "`", e);
+        }
+    }
+
+    /**
+     * @param source json or yaml contents
+     * @return the contents as a tree, null if they are empty
+     * @throws IOException if the contents are malformed
+     */
+    public JsonNode parse(SwaggerSource source) throws IOException {
+        return DeserializationUtils.readTree(source.asString(), source.getLocation());
+    }
+
+    /**
+     * @param tree the document, or null
+     * @return the unresolved definition, along with the messages about what is wrong with it
+     */
+    public SwaggerDeserializationResult deserialize(JsonNode tree) {
+        if (tree == null) {
+            return new SwaggerDeserializationResult().message("empty or null swagger supplied");
+        }
+        return swagger20Parser.readWithInfo(tree);
+    }
+
+    /**
+     * Parses and deserializes the contents, streaming them if they are json.
+     *
+     * @param source json or yaml contents
+     * @return the unresolved definition, along with the messages about what is wrong with it
+     * @throws IOException if the contents are malformed
+     */
+    public SwaggerDeserializationResult deserialize(SwaggerSource source) throws IOException {
+        return swagger20Parser.deserialize(source.openStream(), source.getLocation());
+    }
+
+    /**
+     * Parses and deserializes a json or yaml document from the stream, streaming it if it is json. The stream is not
+     * closed.
+     *
+     * @param in the document
+     * @return the unresolved definition, along with the messages about what is wrong with it
+     * @throws IOException if the stream could not be read or the document is malformed
+     */
+    public SwaggerDeserializationResult deserialize(InputStream in) throws IOException {
+        return swagger20Parser.deserialize(in, null);
+    }
+
+    /**
+     * @param reader the document, which is not closed
+     * @return the unresolved definition, along with the messages about what is wrong with it
+     * @throws IOException if the reader could not be read or the document is malformed
+     * @see #deserialize(InputStream)
+     */
+    public SwaggerDeserializationResult deserialize(Reader reader) throws IOException {
+        return swagger20Parser.deserialize(reader);
+    }
+
+    /**
+     * Detects the version of json contents from their first keys, then deserializes 2.0 ones from the same bytes as
+     * a stream; the other contents are parsed into a tree, for {@link SwaggerParser} to hand them to the extension
+     * of their version.
+     */
+    SwaggerDocument document(SwaggerSource source) {
+        try {
+            if (DeserializationUtils.isJson(source.openStream())) {
+                final String version;
+                try (JsonParser parser = Json.mapper().getFactory().createParser(source.getContents())) {
+                    version = SwaggerDocument.detectVersion(parser);
+                }
+                if (version == null || swagger20Parser.supports(version)) {
+                    return SwaggerDocument.deserialized(version, deserialize(source));
+                }
+            }
+            return SwaggerDocument.of(parse(source));
+        } catch (Exception e) {
+            return SwaggerDocument.unreadable(new SwaggerDeserializationResult()
+                    .message("unable to read location `" + source.getLocation() + "`"));
+        }
+    }
+
+    /**
+     * Resolves the refs of the definition in place, reading the documents they point to with the auths.
+     *
+     * @param unresolved the result of one of the deserialize methods
+     * @param location where the definition was read from, against which relative refs are resolved, or null for
+     * the working directory
+     * @param auths the auth values to send to the urls refs point to, or null
+     * @return the same result, with the definition resolved
+     */
+    public SwaggerDeserializationResult resolve(SwaggerDeserializationResult unresolved, String location,
+                                                List<AuthorizationValue> auths) {
+        if (unresolved.getSwagger() != null) {
+            unresolved.setSwagger(new SwaggerResolver(unresolved.getSwagger(), auths, location, resolverOptions)
+                    .resolve());
+        }
+        return unresolved;
+    }
+
+    /**
+     * Runs all the stages: loads, deserializes and resolves the definition at the location.
+     *
+     * @param location the url, file or resource
+     * @param auths the auth values to send to the urls, or null
+     * @return the resolved definition, along with the messages about what is wrong with it
+     * @throws IOException if the location could not be read
+     */
+    public SwaggerDeserializationResult read(String location, List<AuthorizationValue> auths) throws IOException {
+        final SwaggerSource source = load(location, auths);
+        return resolve(deserialize(source), source.getLocation(), auths);
+    }
+}
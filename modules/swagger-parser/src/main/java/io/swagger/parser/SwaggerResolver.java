@@ -5,8 +5,12 @@ import io.swagger.models.Path;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.parser.processors.DefinitionsProcessor;
+import io.swagger.parser.processors.ExternalRefPrefetcher;
 import io.swagger.parser.processors.OperationProcessor;
+import io.swagger.parser.processors.ParallelRefLoader;
 import io.swagger.parser.processors.PathsProcessor;
+import io.swagger.parser.util.FlightRecorderEvents;
+import io.swagger.parser.util.ParserMetrics;
 
 import java.util.List;
 
@@ -19,9 +23,17 @@ public class SwaggerResolver {
     private final PathsProcessor pathProcessor;
     private final DefinitionsProcessor definitionsProcessor;
     private final OperationProcessor operationsProcessor;
+    private final ResolverOptions options;
+    private final String parentFileLocation;
 
     public SwaggerResolver(Swagger swagger, List<AuthorizationValue> auths, String parentFileLocation) {
+        this(swagger, auths, parentFileLocation, new ResolverOptions());
+    }
+
+    public SwaggerResolver(Swagger swagger, List<AuthorizationValue> auths, String parentFileLocation, ResolverOptions options) {
         this.swagger = swagger;
+        this.options = options;
+        this.parentFileLocation = parentFileLocation;
         this.cache = new ResolverCache(swagger, auths, parentFileLocation);
         definitionsProcessor = new DefinitionsProcessor(cache, swagger);
         pathProcessor = new PathsProcessor(cache, swagger);
@@ -32,11 +44,24 @@ public class SwaggerResolver {
         this(swagger, auths, null);
     }
 
+    ResolverCache getCache() {
+        return cache;
+    }
+
     public Swagger resolve() {
         if (swagger == null) {
             return null;
         }
 
+        final FlightRecorderEvents.Event event = FlightRecorderEvents.RESOLVE.begin();
+        final long start = System.nanoTime();
+        if (options.getPrefetchThreads() > 0) {
+            new ExternalRefPrefetcher(cache, swagger, options.getPrefetchThreads()).prefetch();
+        }
+        if (options.getParallelism() > 1) {
+            new ParallelRefLoader(cache, swagger, options.getParallelism()).load();
+        }
+
         pathProcessor.processPaths();
         definitionsProcessor.processDefinitions();
 
@@ -51,6 +76,11 @@ public class SwaggerResolver {
             }
         }
 
+        ParserMetrics.get().phaseCompleted(ParserMetrics.Phase.RESOLVE, parentFileLocation, System.nanoTime() - start);
+        if (event != null) {
+            event.commit(parentFileLocation, swagger.getPaths() != null ? swagger.getPaths().size() : 0,
+                    swagger.getDefinitions() != null ? swagger.getDefinitions().size() : 0);
+        }
         return swagger;
     }
 }
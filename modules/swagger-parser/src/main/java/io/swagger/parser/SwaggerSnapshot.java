@@ -0,0 +1,142 @@
+package io.swagger.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.swagger.models.Swagger;
+import io.swagger.parser.util.FlightRecorderEvents;
+import io.swagger.parser.util.ParserMetrics;
+import io.swagger.parser.util.SwaggerStreamingDeserializer;
+import io.swagger.util.Json;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Resolved swagger definitions written once, e.g. at build time, and read at startup instead of parsing and
+ * resolving their json or yaml documents again:
+ *
+ * <pre>
+ * SwaggerSnapshot.write(new SwaggerParser().read("api/swagger.yaml"), Paths.get("target/swagger.snapshot"));
+ *
+ * Swagger swagger = new SwaggerParser().readSnapshot(Paths.get("swagger.snapshot"));
+ * </pre>
+ *
+ * A snapshot is the json {@link Json#mapper()} serializes the resolved definition to, read back as a stream by the
+ * {@link SwaggerStreamingDeserializer} json documents go through, without resolving refs. SnapshotBenchmark, in the
+ * benchmarks module, compares reading one with reading and resolving the documents.
+ */
+public final class SwaggerSnapshot {
+    // keeps decimals as they are, e.g. a maximum of 5.0 rather than 5
+    private static final ObjectMapper MAPPER = Json.mapper().copy()
+            .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+
+    private SwaggerSnapshot() {
+    }
+
+    /**
+     * @param swagger the resolved definition
+     * @param path the snapshot file, whose parent directories are created if needed
+     * @throws IOException if the file could not be written
+     */
+    public static void write(Swagger swagger, Path path) throws IOException {
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(swagger, out);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the definition to the stream, which is not closed.
+     *
+     * @param swagger the resolved definition
+     * @param out where to write it
+     * @throws IOException if the stream could not be written to
+     */
+    public static void write(Swagger swagger, OutputStream out) throws IOException {
+        out.write(MAPPER.writeValueAsBytes(swagger));
+    }
+
+    /**
+     * @param path the snapshot file
+     * @return the definition it holds
+     * @throws IOException if the file could not be read or is not a snapshot
+     */
+    public static Swagger read(Path path) throws IOException {
+        return read(Files.readAllBytes(path), path.toString());
+    }
+
+    /**
+     * Reads a snapshot from the stream, which is not closed.
+     *
+     * @param in the snapshot
+     * @return the definition it holds
+     * @throws IOException if the stream could not be read or is not a snapshot
+     */
+    public static Swagger read(InputStream in) throws IOException {
+        return read(IOUtils.toByteArray(in), null);
+    }
+
+    private static Swagger read(byte[] snapshot, String location) throws IOException {
+        final FlightRecorderEvents.Event event = FlightRecorderEvents.PARSE.begin();
+        final Swagger swagger;
+        try (JsonParser parser = MAPPER.getFactory().createParser(snapshot)) {
+            swagger = deserialize(parser, location);
+        }
+        if (event != null) {
+            event.commit(location, "snapshot", (long) snapshot.length);
+        }
+        return swagger;
+    }
+
+    /**
+     * Records the tokens of a snapshot of the definition, which {@link #read(TokenBuffer)} deserializes copies of
+     * without parsing text again. Numbers are recorded as parsed from the snapshot, e.g. a decimal maximum of 10 as
+     * the integer a parser reads.
+     */
+    static TokenBuffer tokens(Swagger swagger) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(MAPPER.writeValueAsBytes(swagger))) {
+            parser.nextToken();
+            final TokenBuffer tokens = new TokenBuffer(parser);
+            tokens.copyCurrentStructure(parser);
+            return tokens;
+        }
+    }
+
+    /**
+     * @return a new copy of the definition recorded by {@link #tokens(Swagger)}; any number of threads can read
+     * the same tokens at once
+     */
+    static Swagger read(TokenBuffer tokens) throws IOException {
+        try (JsonParser parser = tokens.asParser(MAPPER)) {
+            return deserialize(parser, null);
+        }
+    }
+
+    private static Swagger deserialize(JsonParser parser, String location) throws IOException {
+        final long start = System.nanoTime();
+        final Swagger swagger = new SwaggerStreamingDeserializer().deserialize(parser, MAPPER).getSwagger();
+        if (parser.nextToken() != null) {
+            throw new IOException("Unexpected data at the end of the swagger snapshot");
+        }
+        ParserMetrics.get().phaseCompleted(ParserMetrics.Phase.DESERIALIZE, location, System.nanoTime() - start);
+        if (swagger != null && swagger.getPaths() != null) {
+            // the resolver moves the parameters of the paths into their operations, and empty lists are not
+            // written: leave none rather than the empty list the deserializer defaults to
+            for (io.swagger.models.Path path : swagger.getPaths().values()) {
+                if (path.getParameters() != null && path.getParameters().isEmpty()) {
+                    path.setParameters(null);
+                }
+            }
+        }
+        return swagger;
+    }
+}
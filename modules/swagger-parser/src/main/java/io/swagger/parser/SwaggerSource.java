@@ -0,0 +1,51 @@
+package io.swagger.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The raw UTF-8 contents of a document, as loaded by {@link SwaggerPipeline#load(String, java.util.List)}, along
+ * with the location they were loaded from.
+ */
+public final class SwaggerSource {
+    private final String location;
+    private final byte[] contents;
+
+    public SwaggerSource(String location, byte[] contents) {
+        this.location = location;
+        this.contents = contents;
+    }
+
+    /**
+     * @param location where the contents come from, null if they were not read from anywhere
+     * @param contents the contents, encoded in UTF-8
+     * @return the source
+     */
+    public static SwaggerSource of(String location, String contents) {
+        return new SwaggerSource(location, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the url or file the contents were loaded from, against which relative refs are resolved; null for
+     * contents which were not read from anywhere
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * @return the contents, which must not be modified
+     */
+    public byte[] getContents() {
+        return contents;
+    }
+
+    public InputStream openStream() {
+        return new ByteArrayInputStream(contents);
+    }
+
+    public String asString() {
+        return new String(contents, StandardCharsets.UTF_8);
+    }
+}
@@ -5,6 +5,8 @@ import io.swagger.models.RefModel;
 import io.swagger.models.Swagger;
 import io.swagger.parser.ResolverCache;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -29,11 +31,21 @@ public class DefinitionsProcessor {
             return;
         }
 
-        Set<String> keySet = new HashSet<>();
-
-        // the definitions can grow as we resolve references
-        while(definitions.keySet().size() > keySet.size()) {
-            processDefinitions(keySet, definitions);
+        // the definitions can grow as we resolve references: the ones imported from external files are queued by
+        // the cache, so that each definition is processed once however many get pulled in
+        final Set<String> processed = new HashSet<>();
+        final Deque<String> worklist = new ArrayDeque<>(definitions.keySet());
+        while (true) {
+            String modelName = worklist.poll();
+            if (modelName == null) {
+                modelName = cache.pollImportedKey();
+                if (modelName == null) {
+                    break;
+                }
+            }
+            if (processed.add(modelName) && definitions.containsKey(modelName)) {
+                processDefinition(modelName, definitions);
+            }
         }
     }
 
@@ -41,29 +53,46 @@ public class DefinitionsProcessor {
         modelKeys.addAll(definitions.keySet());
 
         for (String modelName : modelKeys) {
-            final Model model = definitions.get(modelName);
+            processDefinition(modelName, definitions);
+        }
+    }
 
-            String originalRef = model instanceof RefModel ? ((RefModel) model).get$ref() : null;
+    /**
+     * Processes a single definition, as {@link #processDefinitions()} does each of them.
+     *
+     * @param modelName the name of the definition
+     */
+    public void processDefinition(String modelName) {
+        final Map<String, Model> definitions = swagger.getDefinitions();
+
+        if (definitions != null && definitions.containsKey(modelName)) {
+            processDefinition(modelName, definitions);
+        }
+    }
+
+    private void processDefinition(String modelName, Map<String, Model> definitions) {
+        final Model model = definitions.get(modelName);
 
-            modelProcessor.processModel(model);
+        String originalRef = model instanceof RefModel ? ((RefModel) model).get$ref() : null;
 
-            //if we process a RefModel here, in the #/definitions table, we want to overwrite it with the referenced value
-            if (model instanceof RefModel) {
-                final String renamedRef = cache.getRenamedRef(originalRef);
+        modelProcessor.processModel(model);
 
-                if (renamedRef != null) {
-                    //we definitely resolved the referenced and shoved it in the definitions map
-                    // because the referenced model may be in the definitions map, we need to remove old instances
-                    final Model resolvedModel = definitions.get(renamedRef);
+        //if we process a RefModel here, in the #/definitions table, we want to overwrite it with the referenced value
+        if (model instanceof RefModel) {
+            final String renamedRef = cache.getRenamedRef(originalRef);
 
-                    // ensure the reference isn't still in use
-                    if(!cache.hasReferencedKey(renamedRef)) {
-                        definitions.remove(renamedRef);
-                    }
+            if (renamedRef != null) {
+                //we definitely resolved the referenced and shoved it in the definitions map
+                // because the referenced model may be in the definitions map, we need to remove old instances
+                final Model resolvedModel = definitions.get(renamedRef);
 
-                    // add the new key
-                    definitions.put(modelName, resolvedModel);
+                // ensure the reference isn't still in use
+                if(!cache.hasReferencedKey(renamedRef)) {
+                    definitions.remove(renamedRef);
                 }
+
+                // add the new key
+                definitions.put(modelName, resolvedModel);
             }
         }
     }
@@ -0,0 +1,282 @@
+package io.swagger.parser.processors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.RefPath;
+import io.swagger.models.RefResponse;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.RefParameter;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.refs.RefFormat;
+import io.swagger.parser.ResolverCache;
+import io.swagger.parser.util.DeserializationUtils;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.swagger.parser.util.RefUtils.computeRefFormat;
+import static io.swagger.parser.util.RefUtils.isAnExternalRefFormat;
+
+/**
+ * Reads the external documents referenced by a swagger definition concurrently and puts them in the
+ * {@link ResolverCache}, so that the processors find them there instead of fetching them one at a time.
+ *
+ * Only the parts of the fetched documents the refs point to are looked at: the documents they refer to in turn are
+ * fetched as soon as their parent arrives. Failures are ignored here: the processors will try the document again
+ * and report the error as usual.
+ */
+public class ExternalRefPrefetcher {
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(ExternalRefPrefetcher.class);
+
+    private final ResolverCache cache;
+    private final Swagger swagger;
+    private final int threads;
+
+    public ExternalRefPrefetcher(ResolverCache cache, Swagger swagger, int threads) {
+        this.cache = cache;
+        this.swagger = swagger;
+        this.threads = threads;
+    }
+
+    public void prefetch() {
+        final Deque<Ref> refs = new ArrayDeque<>();
+        collectRefs(refs);
+
+        if (refs.isEmpty()) {
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new PrefetchThreadFactory());
+        try {
+            final CompletionService<Document> completionService = new ExecutorCompletionService<>(executor);
+            // the pointers followed in each document, or to follow once it arrives
+            final Map<String, Set<String>> pointers = new HashMap<>();
+            final Map<String, Document> documents = new HashMap<>();
+            int pending = 0;
+
+            while (true) {
+                while (!refs.isEmpty()) {
+                    final Ref ref = refs.poll();
+                    Set<String> followed = pointers.get(ref.file);
+                    if (followed == null) {
+                        followed = new HashSet<>();
+                        pointers.put(ref.file, followed);
+                        if (!cache.hasExternalFile(ref.file)) {
+                            completionService.submit(new Fetch(ref.file, ref.refFormat));
+                            pending++;
+                        }
+                    }
+                    if (followed.add(ref.pointer) && documents.containsKey(ref.file)) {
+                        follow(documents.get(ref.file), ref.pointer, refs);
+                    }
+                }
+                if (pending == 0) {
+                    break;
+                }
+                final Document document = completionService.take().get();
+                pending--;
+                documents.put(document.file, document);
+
+                if (document.contents == null) {
+                    continue;
+                }
+                cache.putExternalFile(document.file, document.refFormat, document.contents, document.tree);
+                for (String pointer : pointers.get(document.file)) {
+                    follow(document, pointer, refs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.debug("prefetch of external refs failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Adds the refs found under the pointer of the document, local ones included, as they are resolved in it too.
+     */
+    private void follow(Document document, String pointer, Deque<Ref> refs) {
+        if (document.tree == null) {
+            return;
+        }
+        final JsonNode node;
+        try {
+            node = document.tree.at(pointer);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        for (JsonNode ref : node.findValues("$ref")) {
+            if (!ref.isTextual()) {
+                continue;
+            }
+            if (ref.textValue().startsWith("#")) {
+                refs.add(new Ref(document.file, ref.textValue().substring(1), document.refFormat));
+            } else {
+                // refs in the fetched document are relative to it, as in ExternalRefProcessor
+                final String[] parts = ref.textValue().split("#/");
+                final String file = ExternalRefProcessor.join(document.file, parts[0]);
+                refs.add(new Ref(parts.length > 1 ? file + "#/" + parts[1] : file, computeRefFormat(file)));
+            }
+        }
+    }
+
+    private void collectRefs(final Deque<Ref> refs) {
+        final RefVisitor models = new RefVisitor() {
+            @Override
+            void visit(RefModel ref) {
+                addRef(ref.get$ref(), ref.getRefFormat(), refs);
+            }
+
+            @Override
+            void visit(RefProperty ref) {
+                addRef(ref.get$ref(), ref.getRefFormat(), refs);
+            }
+        };
+        if (swagger.getPaths() != null) {
+            for (Path path : swagger.getPaths().values()) {
+                if (path instanceof RefPath) {
+                    addRef(((RefPath) path).get$ref(), ((RefPath) path).getRefFormat(), refs);
+                }
+                collectParameters(path.getParameters(), models, refs);
+                for (Operation operation : path.getOperations()) {
+                    collectParameters(operation.getParameters(), models, refs);
+                    if (operation.getResponses() != null) {
+                        collectResponses(operation.getResponses().values(), models, refs);
+                    }
+                }
+            }
+        }
+        if (swagger.getDefinitions() != null) {
+            for (Model model : swagger.getDefinitions().values()) {
+                models.walk(model);
+            }
+        }
+        if (swagger.getParameters() != null) {
+            collectParameters(new ArrayList<>(swagger.getParameters().values()), models, refs);
+        }
+        if (swagger.getResponses() != null) {
+            collectResponses(swagger.getResponses().values(), models, refs);
+        }
+    }
+
+    private void collectParameters(List<Parameter> parameters, RefVisitor models, Deque<Ref> refs) {
+        if (parameters == null) {
+            return;
+        }
+        for (Parameter parameter : parameters) {
+            if (parameter instanceof RefParameter) {
+                addRef(((RefParameter) parameter).get$ref(), ((RefParameter) parameter).getRefFormat(), refs);
+            } else if (parameter instanceof BodyParameter) {
+                models.walk(((BodyParameter) parameter).getSchema());
+            }
+        }
+    }
+
+    private void collectResponses(Iterable<Response> responses, RefVisitor models, Deque<Ref> refs) {
+        for (Response response : responses) {
+            if (response instanceof RefResponse) {
+                addRef(((RefResponse) response).get$ref(), ((RefResponse) response).getRefFormat(), refs);
+            } else if (response != null) {
+                models.walk(response.getSchema());
+            }
+        }
+    }
+
+    private void addRef(String ref, RefFormat refFormat, Deque<Ref> refs) {
+        if (ref != null && isAnExternalRefFormat(refFormat)) {
+            refs.add(new Ref(ref, refFormat));
+        }
+    }
+
+    /**
+     * A document and the json pointer to the part of it a ref points to, empty for the whole document.
+     */
+    private static class Ref {
+        private final String file;
+        private final String pointer;
+        private final RefFormat refFormat;
+
+        private Ref(String ref, RefFormat refFormat) {
+            final String[] parts = ref.split("#/");
+            this.file = parts[0];
+            this.pointer = parts.length > 1 ? "/" + parts[1] : "";
+            this.refFormat = refFormat;
+        }
+
+        private Ref(String file, String pointer, RefFormat refFormat) {
+            this.file = file;
+            this.pointer = pointer;
+            this.refFormat = refFormat;
+        }
+    }
+
+    private static class Document {
+        private final String file;
+        private final RefFormat refFormat;
+        private String contents;
+        private JsonNode tree;
+
+        private Document(String file, RefFormat refFormat) {
+            this.file = file;
+            this.refFormat = refFormat;
+        }
+    }
+
+    private class Fetch implements Callable<Document> {
+        private final String file;
+        private final RefFormat refFormat;
+
+        private Fetch(String file, RefFormat refFormat) {
+            this.file = file;
+            this.refFormat = refFormat;
+        }
+
+        @Override
+        public Document call() {
+            final Document document = new Document(file, refFormat);
+            try {
+                document.contents = cache.readExternalFile(file, refFormat);
+                if (document.contents != null) {
+                    document.tree = DeserializationUtils.deserializeIntoTree(document.contents, file);
+                }
+            } catch (Exception e) {
+                LOGGER.debug("unable to prefetch " + file, e);
+            }
+            return document;
+        }
+    }
+
+    private static class PrefetchThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "swagger-ref-prefetch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
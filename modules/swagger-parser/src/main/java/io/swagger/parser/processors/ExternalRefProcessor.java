@@ -1,15 +1,12 @@
 package io.swagger.parser.processors;
 
-import io.swagger.models.ArrayModel;
 import io.swagger.models.Model;
 import io.swagger.models.RefModel;
 import io.swagger.models.Swagger;
-import io.swagger.models.properties.ArrayProperty;
-import io.swagger.models.properties.MapProperty;
-import io.swagger.models.properties.Property;
 import io.swagger.models.properties.RefProperty;
 import io.swagger.models.refs.RefFormat;
 import io.swagger.parser.ResolverCache;
+import io.swagger.parser.util.ParserMetrics;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
@@ -17,6 +14,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static io.swagger.parser.util.RefUtils.computeDefinitionName;
+import static io.swagger.parser.util.RefUtils.computeRefFormat;
 import static io.swagger.parser.util.RefUtils.isAnExternalRefFormat;
 
 public final class ExternalRefProcessor {
@@ -59,56 +57,38 @@ public final class ExternalRefProcessor {
             // don't overwrite existing model reference
             swagger.addDefinition(newRef, model);
             cache.addReferencedKey(newRef);
+            ParserMetrics.get().definitionAdded(newRef, $ref);
 
             String file = $ref.split("#/")[0];
-            if (model instanceof RefModel) {
-                RefModel refModel = (RefModel) model;
+            processModel(model, file);
+        }
+
+        return newRef;
+    }
+
+    private void processModel(Model model, final String file) {
+        new RefVisitor() {
+            @Override
+            void visit(RefModel refModel) {
                 if (isAnExternalRefFormat(refModel.getRefFormat())) {
                     refModel.set$ref(processRefToExternalDefinition(refModel.get$ref(), refModel.getRefFormat()));
                 } else {
                     processRefToExternalDefinition(file + refModel.get$ref(), RefFormat.RELATIVE);
                 }
             }
-            //Loop the properties and recursively call this method;
-            Map<String, Property> subProps = model.getProperties();
-            if (subProps != null) {
-                for (Map.Entry<String, Property> prop : subProps.entrySet()) {
-                    if (prop.getValue() instanceof RefProperty) {
-                        processRefProperty((RefProperty) prop.getValue(), file);
-                    } else if (prop.getValue() instanceof ArrayProperty) {
-                        ArrayProperty arrayProp = (ArrayProperty) prop.getValue();
-                        if (arrayProp.getItems() instanceof RefProperty) {
-                            processRefProperty((RefProperty) arrayProp.getItems(), file);
-                        }
-                    } else if (prop.getValue() instanceof MapProperty) {
-                        MapProperty mapProp = (MapProperty) prop.getValue();
-                        if (mapProp.getAdditionalProperties() instanceof RefProperty) {
-                            processRefProperty((RefProperty) mapProp.getAdditionalProperties(), file);
-                        } else if (mapProp.getAdditionalProperties() instanceof ArrayProperty &&
-                                ((ArrayProperty) mapProp.getAdditionalProperties()).getItems() instanceof RefProperty) {
-                            processRefProperty((RefProperty) ((ArrayProperty) mapProp.getAdditionalProperties()).getItems(), file);
-                        }
-                    }
-                }
-            }
-            if (model instanceof ArrayModel && ((ArrayModel) model).getItems() instanceof RefProperty) {
-                processRefProperty((RefProperty) ((ArrayModel) model).getItems(), file);
-            }
-        }
 
-        return newRef;
+            @Override
+            void visit(RefProperty refProperty) {
+                processRefProperty(refProperty, file);
+            }
+        }.walk(model);
     }
 
     private void processRefProperty(RefProperty subRef, String externalFile) {
         if (isAnExternalRefFormat(subRef.getRefFormat())) {
             String $ref = constructRef(subRef, externalFile);
             subRef.set$ref($ref);
-            if($ref.startsWith("."))
-                processRefToExternalDefinition($ref, RefFormat.RELATIVE);
-            else {
-                processRefToExternalDefinition($ref, RefFormat.URL);
-            }
-
+            processRefToExternalDefinition($ref, computeRefFormat($ref));
         } else {
             processRefToExternalDefinition(externalFile + subRef.get$ref(), RefFormat.RELATIVE);
         }
@@ -0,0 +1,209 @@
+package io.swagger.parser.processors;
+
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.RefPath;
+import io.swagger.models.RefResponse;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.RefParameter;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.refs.RefFormat;
+import io.swagger.parser.ResolverCache;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static io.swagger.parser.util.RefUtils.computeRefFormat;
+import static io.swagger.parser.util.RefUtils.isAnExternalRefFormat;
+
+/**
+ * Loads the external refs of every path and operation into the {@link ResolverCache} on a ForkJoinPool, following
+ * the refs found in the loaded definitions the same way {@link ExternalRefProcessor} does.
+ *
+ * Only the loading, i.e. fetching, parsing and deserializing the referenced documents, is done in parallel. The
+ * processors then run on the calling thread as usual and find everything in the cache, so the definitions are
+ * merged in the same order, with the same names, as in a sequential resolve. Failures are ignored here: the
+ * processors load the ref again and report the error.
+ */
+public class ParallelRefLoader {
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(ParallelRefLoader.class);
+
+    private final ResolverCache cache;
+    private final Swagger swagger;
+    private final int parallelism;
+    private final Set<String> loadedRefs = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    // loads the external definitions a model or property of the swagger refers to
+    private final RefVisitor externalRefs = new RefVisitor() {
+        @Override
+        void visit(RefModel ref) {
+            if (isAnExternalRefFormat(ref.getRefFormat())) {
+                loadDefinition(ref.get$ref(), ref.getRefFormat());
+            }
+        }
+
+        @Override
+        void visit(RefProperty ref) {
+            if (isAnExternalRefFormat(ref.getRefFormat())) {
+                loadDefinition(ref.get$ref(), ref.getRefFormat());
+            }
+        }
+    };
+
+    public ParallelRefLoader(ResolverCache cache, Swagger swagger, int parallelism) {
+        this.cache = cache;
+        this.swagger = swagger;
+        this.parallelism = parallelism;
+    }
+
+    public void load() {
+        if (swagger.getPaths() == null || swagger.getPaths().isEmpty()) {
+            return;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new PathsTask(new ArrayList<>(swagger.getPaths().values()), 0, swagger.getPaths().size()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private class PathsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Path> paths;
+        private final int from;
+        private final int to;
+
+        private PathsTask(List<Path> paths, int from, int to) {
+            this.paths = paths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new PathsTask(paths, from, middle), new PathsTask(paths, middle, to));
+                return;
+            }
+            Path path = paths.get(from);
+            if (path instanceof RefPath && isAnExternalRefFormat(((RefPath) path).getRefFormat())) {
+                path = load(((RefPath) path).get$ref(), ((RefPath) path).getRefFormat(), Path.class);
+                if (path == null) {
+                    return;
+                }
+            }
+            loadParameters(path.getParameters());
+
+            final List<OperationTask> operations = new ArrayList<>();
+            for (Operation operation : path.getOperations()) {
+                operations.add(new OperationTask(operation));
+            }
+            invokeAll(operations);
+        }
+    }
+
+    private class OperationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Operation operation;
+
+        private OperationTask(Operation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        protected void compute() {
+            loadParameters(operation.getParameters());
+            if (operation.getResponses() != null) {
+                for (Response response : operation.getResponses().values()) {
+                    if (response instanceof RefResponse) {
+                        final RefResponse refResponse = (RefResponse) response;
+                        if (isAnExternalRefFormat(refResponse.getRefFormat())) {
+                            response = load(refResponse.get$ref(), refResponse.getRefFormat(), Response.class);
+                        }
+                    }
+                    if (response != null) {
+                        externalRefs.walk(response.getSchema());
+                    }
+                }
+            }
+        }
+    }
+
+    private void loadParameters(List<Parameter> parameters) {
+        if (parameters == null) {
+            return;
+        }
+        for (Parameter parameter : parameters) {
+            if (parameter instanceof RefParameter) {
+                final RefParameter refParameter = (RefParameter) parameter;
+                if (isAnExternalRefFormat(refParameter.getRefFormat())) {
+                    parameter = load(refParameter.get$ref(), refParameter.getRefFormat(), Parameter.class);
+                }
+            }
+            if (parameter instanceof BodyParameter) {
+                externalRefs.walk(((BodyParameter) parameter).getSchema());
+            }
+        }
+    }
+
+    /**
+     * Loads an external definition and, like {@link ExternalRefProcessor#processRefToExternalDefinition}, the
+     * definitions it refers to, computing their refs relative to its file without modifying it.
+     */
+    private void loadDefinition(String ref, RefFormat refFormat) {
+        if (!loadedRefs.add(ref)) {
+            return;
+        }
+        final Model model = load(ref, refFormat, Model.class);
+        if (model == null) {
+            return;
+        }
+        loadDefinitionModel(model, ref.split("#/")[0]);
+    }
+
+    private void loadDefinitionModel(Model model, final String file) {
+        new RefVisitor() {
+            @Override
+            void visit(RefModel ref) {
+                if (isAnExternalRefFormat(ref.getRefFormat())) {
+                    loadDefinition(ref.get$ref(), ref.getRefFormat());
+                } else {
+                    loadDefinition(file + ref.get$ref(), RefFormat.RELATIVE);
+                }
+            }
+
+            @Override
+            void visit(RefProperty ref) {
+                if (isAnExternalRefFormat(ref.getRefFormat())) {
+                    final String joined = ExternalRefProcessor.join(file, ref.get$ref());
+                    loadDefinition(joined, computeRefFormat(joined));
+                } else {
+                    loadDefinition(file + ref.get$ref(), RefFormat.RELATIVE);
+                }
+            }
+        }.walk(model);
+    }
+
+    private <T> T load(String ref, RefFormat refFormat, Class<T> expectedType) {
+        try {
+            return cache.loadRef(ref, refFormat, expectedType);
+        } catch (RuntimeException e) {
+            LOGGER.debug("unable to load " + ref, e);
+            return null;
+        }
+    }
+}
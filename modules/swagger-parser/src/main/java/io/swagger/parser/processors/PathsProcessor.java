@@ -67,17 +67,8 @@ public class PathsProcessor {
             path.setParameters(null);
 
             if (path instanceof RefPath) {
-                RefPath refPath = (RefPath) path;
-                Path resolvedPath = cache.loadRef(refPath.get$ref(), refPath.getRefFormat(), Path.class);
-
-                // TODO: update references to the parent location
-
-                String pathRef = refPath.get$ref().split("#")[0];
-                updateLocalRefs(resolvedPath, pathRef);
-
+                Path resolvedPath = loadRefPath(pathStr, (RefPath) path);
                 if (resolvedPath != null) {
-                    //we need to put the resolved path into swagger object
-                    swagger.path(pathStr, resolvedPath);
                     path = resolvedPath;
                 }
             }
@@ -95,6 +86,29 @@ public class PathsProcessor {
         }
     }
 
+    /**
+     * Loads the path a ref points to and puts it into the swagger in place of the ref.
+     *
+     * @param pathStr the path, e.g. /pets/{id}
+     * @param refPath the ref found at the path
+     * @return the path loaded, or null if the ref points to nothing
+     */
+    public Path loadRefPath(String pathStr, RefPath refPath) {
+        Path resolvedPath = cache.loadRef(refPath.get$ref(), refPath.getRefFormat(), Path.class);
+        if (resolvedPath == null) {
+            return null;
+        }
+
+        // TODO: update references to the parent location
+
+        String pathRef = refPath.get$ref().split("#")[0];
+        updateLocalRefs(resolvedPath, pathRef);
+
+        //we need to put the resolved path into swagger object
+        swagger.path(pathStr, resolvedPath);
+        return resolvedPath;
+    }
+
     protected void updateLocalRefs(Path path, String pathRef) {
         if(path.getParameters() != null) {
             List<Parameter> params = path.getParameters();
@@ -0,0 +1,69 @@
+package io.swagger.parser.processors;
+
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+
+import java.util.Map;
+
+/**
+ * Walks a model or a property down to the refs it holds: through the parts of an allOf, the items of arrays, the
+ * properties of models and objects and the additional properties of maps. {@link ExternalRefProcessor},
+ * {@link ParallelRefLoader} and {@link ExternalRefPrefetcher} all find refs this way, so they agree on the documents
+ * a definition needs.
+ */
+abstract class RefVisitor {
+
+    abstract void visit(RefModel ref);
+
+    abstract void visit(RefProperty ref);
+
+    void walk(Model model) {
+        if (model == null) {
+            return;
+        }
+        if (model instanceof RefModel) {
+            visit((RefModel) model);
+        } else if (model instanceof ComposedModel) {
+            if (((ComposedModel) model).getAllOf() != null) {
+                for (Model part : ((ComposedModel) model).getAllOf()) {
+                    walk(part);
+                }
+            }
+        } else if (model instanceof ArrayModel) {
+            walk(((ArrayModel) model).getItems());
+        }
+        walk(model.getProperties());
+        if (model instanceof ModelImpl) {
+            walk(((ModelImpl) model).getAdditionalProperties());
+        }
+    }
+
+    void walk(Map<String, Property> properties) {
+        if (properties == null) {
+            return;
+        }
+        for (Property property : properties.values()) {
+            walk(property);
+        }
+    }
+
+    void walk(Property property) {
+        if (property instanceof RefProperty) {
+            visit((RefProperty) property);
+        } else if (property instanceof ArrayProperty) {
+            walk(((ArrayProperty) property).getItems());
+        } else if (property instanceof MapProperty) {
+            walk(((MapProperty) property).getAdditionalProperties());
+        } else if (property instanceof ObjectProperty) {
+            walk(((ObjectProperty) property).getProperties());
+        }
+    }
+}
@@ -3,29 +3,62 @@ package io.swagger.parser.util;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.util.Json;
 import io.swagger.util.Yaml;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.reader.UnicodeReader;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 
 /**
  * Created by russellb337 on 7/14/15.
  */
 public class DeserializationUtils {
+    // how far to look for the first non-whitespace character before assuming yaml, which also reads json
+    private static final int SNIFF_LIMIT = 8192;
+
+    // yaml tree builders are reusable but not thread-safe
+    private static final ThreadLocal<YamlTreeBuilder> YAML = new ThreadLocal<YamlTreeBuilder>() {
+        @Override
+        protected YamlTreeBuilder initialValue() {
+            return new YamlTreeBuilder();
+        }
+    };
+
     public static JsonNode deserializeIntoTree(String contents, String fileOrHost) {
-        JsonNode result;
+        //the document may already have been parsed by another resolution sharing the document cache
+        final DocumentCache cache = RefUtils.getDocumentCache();
+        JsonNode result = cache != null ? cache.getTree(contents) : null;
+
+        if (result != null) {
+            return result;
+        }
 
         try {
-            if (fileOrHost.endsWith(".yaml")) {
-                result = readYamlTree(contents);
-            } else {
-                result = Json.mapper().readTree(contents);
-            }
+            result = parseTree(contents, fileOrHost);
         } catch (IOException e) {
             throw new RuntimeException("An exception was thrown while trying to deserialize the contents of " + fileOrHost + " into a JsonNode tree", e);
         }
 
+        if (cache != null) {
+            // the cache keeps the parsed tree, the caller gets a copy of it
+            cache.putTree(contents, result);
+            final JsonNode copy = cache.getTree(contents);
+            if (copy != null) {
+                return copy;
+            }
+        }
+
         return result;
     }
 
+    static JsonNode parseTree(String contents, String fileOrHost) throws IOException {
+        if (fileOrHost.endsWith(".yaml")) {
+            return readYamlTree(new StreamReader(contents), fileOrHost, contents.length());
+        }
+        return readJsonTree(contents, fileOrHost);
+    }
+
     public static <T> T deserialize(Object contents, String fileOrHost, Class<T> expectedType) {
         T result;
 
@@ -52,13 +85,103 @@ public class DeserializationUtils {
         return result;
     }
 
+    /**
+     * Parses a json document, if its first non-whitespace character is `{`, or else a yaml one.
+     *
+     * @param contents the document
+     * @param location the url or file the contents were read from, if any, for the {@link ParserMetrics}
+     * @return the document as a tree, null if it is empty
+     * @throws IOException if the document is malformed
+     */
+    public static JsonNode readTree(String contents, String location) throws IOException {
+        if (contents.trim().startsWith("{")) {
+            return readJsonTree(contents, location);
+        }
+        return readYamlTree(new StreamReader(contents), location, contents.length());
+    }
+
     public static JsonNode readYamlTree(String contents) {
-        org.yaml.snakeyaml.Yaml yaml = new org.yaml.snakeyaml.Yaml();
-        return Json.mapper().convertValue(yaml.load(contents), JsonNode.class);
+        return readYamlTree(new StreamReader(contents), null, contents.length());
     }
 
     public static <T> T readYamlValue(String contents, Class<T> expectedType) {
-        org.yaml.snakeyaml.Yaml yaml = new org.yaml.snakeyaml.Yaml();
-        return Json.mapper().convertValue(yaml.load(contents), expectedType);
+        return Json.mapper().convertValue(readYamlTree(contents), expectedType);
+    }
+
+    public static JsonNode readYamlTree(InputStream in) {
+        return readYamlTree(new StreamReader(new UnicodeReader(in)), null, -1);
+    }
+
+    public static JsonNode readYamlTree(Reader reader) {
+        return readYamlTree(new StreamReader(reader), null, -1);
+    }
+
+    private static JsonNode readJsonTree(String contents, String location) throws IOException {
+        final FlightRecorderEvents.Event event = FlightRecorderEvents.PARSE.begin();
+        final long start = System.nanoTime();
+        final JsonNode tree = Json.mapper().readTree(contents);
+        ParserMetrics.get().phaseCompleted(ParserMetrics.Phase.PARSE, location, System.nanoTime() - start);
+        if (event != null) {
+            event.commit(location, "json", (long) contents.length());
+        }
+        return tree;
+    }
+
+    private static JsonNode readYamlTree(StreamReader reader, String location, long size) {
+        final FlightRecorderEvents.Event event = FlightRecorderEvents.PARSE.begin();
+        final long start = System.nanoTime();
+        final JsonNode tree = YAML.get().build(reader);
+        ParserMetrics.get().phaseCompleted(ParserMetrics.Phase.PARSE, location, System.nanoTime() - start);
+        if (event != null) {
+            event.commit(location, "yaml", size);
+        }
+        return tree;
+    }
+
+    /**
+     * Tells whether the stream holds a json document, i.e. whether its first non-whitespace character is `{`.
+     * The stream must support mark/reset; it is left at its original position.
+     *
+     * @param in the stream
+     * @return whether the document is json
+     * @throws IOException if the stream could not be read
+     */
+    public static boolean isJson(InputStream in) throws IOException {
+        in.mark(SNIFF_LIMIT);
+        try {
+            for (int i = 0; i < SNIFF_LIMIT; i++) {
+                final int b = in.read();
+                // skip whitespace and the bytes of a UTF-8 byte order mark
+                if (b == -1 || (b > ' ' && b != 0xEF && b != 0xBB && b != 0xBF)) {
+                    return b == '{';
+                }
+            }
+            return false;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Tells whether the reader holds a json document, i.e. whether its first non-whitespace character is `{`.
+     * The reader must support mark/reset; it is left at its original position.
+     *
+     * @param reader the reader
+     * @return whether the document is json
+     * @throws IOException if the reader could not be read
+     */
+    public static boolean isJson(Reader reader) throws IOException {
+        reader.mark(SNIFF_LIMIT);
+        try {
+            for (int i = 0; i < SNIFF_LIMIT; i++) {
+                final int c = reader.read();
+                if (c == -1 || (c > ' ' && c != '\uFEFF')) {
+                    return c == '{';
+                }
+            }
+            return false;
+        } finally {
+            reader.reset();
+        }
     }
 }
@@ -0,0 +1,216 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.util.HttpRemoteFetcher.CachedResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link RemoteFetcher} which keeps the documents it downloads in a directory, so that they outlive the JVM. Install
+ * it with {@link RemoteUrl#setFetcher(RemoteFetcher)}.
+ *
+ * Each url, together with the auth headers and query parameters sent to it, has an entry file holding the ETag and
+ * Last-Modified date of the response, the time it was fetched and the SHA-256 of its body. The bodies are stored
+ * under their SHA-256, so identical documents are stored once. Entries younger than the ttl are served without
+ * contacting the server; older ones are revalidated. In offline mode only the cache is used.
+ *
+ * Several JVMs can share the directory: files are written under a temporary name and renamed into place, and
+ * refreshing an entry is done under a file lock, so a document is downloaded by one of them at a time.
+ */
+public class DiskCacheFetcher implements RemoteFetcher {
+    private static final String ENTRIES = "entries";
+    private static final String BODIES = "bodies";
+    private static final String LOCKS = "locks";
+
+    private final Path directory;
+    private final HttpRemoteFetcher delegate;
+    private final ConcurrentMap<String, Object> locks = new ConcurrentHashMap<>();
+    private long ttl;
+    private boolean offline;
+
+    public DiskCacheFetcher(Path directory) {
+        this(directory, new HttpRemoteFetcher());
+    }
+
+    /**
+     * @param directory where the documents are kept, created if needed
+     * @param delegate performs the requests; its own cache, if any, is not used
+     */
+    public DiskCacheFetcher(Path directory, HttpRemoteFetcher delegate) {
+        this.directory = directory;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public byte[] fetch(String url, List<AuthorizationValue> auths) throws Exception {
+        final String key = key(url, auths);
+
+        Entry entry = readEntry(key);
+        if (offline) {
+            if (entry == null) {
+                throw new IOException("no cached copy of " + url + " available offline");
+            }
+            return entry.response.getBody();
+        }
+        if (entry != null && entry.isFresh()) {
+            return entry.response.getBody();
+        }
+
+        Files.createDirectories(directory.resolve(LOCKS));
+        // file locks are held by the whole JVM, so threads of this one are kept out by the monitor
+        synchronized (lockFor(key)) {
+            try (FileChannel channel = FileChannel.open(directory.resolve(LOCKS).resolve(key),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // released when the channel is closed
+                channel.lock();
+                // another process may have refreshed the entry while we were waiting
+                entry = readEntry(key);
+                if (entry != null && entry.isFresh()) {
+                    return entry.response.getBody();
+                }
+                final CachedResponse response = delegate.fetch(url, auths, entry != null ? entry.response : null);
+                writeEntry(key, url, response);
+                return response.getBody();
+            }
+        }
+    }
+
+    private Entry readEntry(String key) throws IOException {
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(directory.resolve(ENTRIES).resolve(key))) {
+            properties.load(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        final String bodyHash = properties.getProperty("body");
+        final Path bodyFile = directory.resolve(BODIES).resolve(bodyHash);
+        final byte[] body;
+        try {
+            body = Files.readAllBytes(bodyFile);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!Hashes.sha256(body).equals(bodyHash)) {
+            // truncated or otherwise corrupted; removed so that the next download stores the body again
+            Files.deleteIfExists(bodyFile);
+            return null;
+        }
+        final CachedResponse response = new CachedResponse(properties.getProperty("etag"),
+                properties.getProperty("lastModified"), body);
+        return new Entry(response, Long.parseLong(properties.getProperty("fetched")));
+    }
+
+    private void writeEntry(String key, String url, CachedResponse response) throws IOException {
+        final String bodyHash = Hashes.sha256(response.getBody());
+        final Path bodies = Files.createDirectories(directory.resolve(BODIES));
+        final Path body = bodies.resolve(bodyHash);
+        if (!Files.exists(body)) {
+            final Path temp = Files.createTempFile(bodies, bodyHash, ".tmp");
+            Files.write(temp, response.getBody());
+            try {
+                Files.move(temp, body, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // bodies are immutable, so another process wrote the same one
+                Files.delete(temp);
+            }
+        }
+
+        final Properties properties = new Properties();
+        properties.setProperty("url", url);
+        properties.setProperty("body", bodyHash);
+        properties.setProperty("fetched", Long.toString(System.currentTimeMillis()));
+        if (response.getEtag() != null) {
+            properties.setProperty("etag", response.getEtag());
+        }
+        if (response.getLastModified() != null) {
+            properties.setProperty("lastModified", response.getLastModified());
+        }
+        final Path entries = Files.createDirectories(directory.resolve(ENTRIES));
+        final Path temp = Files.createTempFile(entries, key, ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, null);
+        }
+        // a refreshed entry replaces the previous one
+        Files.move(temp, entries.resolve(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Object lockFor(String key) {
+        final Object lock = new Object();
+        final Object existing = locks.putIfAbsent(key, lock);
+        return existing != null ? existing : lock;
+    }
+
+    /**
+     * Identifies the url and the auth values actually sent to it. The values are only kept hashed.
+     */
+    private String key(String url, List<AuthorizationValue> auths) {
+        final String fingerprint = Hashes.authFingerprint(url, auths);
+        return Hashes.sha256(fingerprint != null ? url + " " + fingerprint : url);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(long ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * @param ttl how long, in milliseconds, a document is served from the cache before being revalidated. The
+     * default, 0, revalidates on every fetch.
+     * @return this fetcher
+     */
+    public DiskCacheFetcher ttl(long ttl) {
+        this.ttl = ttl;
+        return this;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    /**
+     * @param offline serve only from the cache, failing for documents which are not in it
+     * @return this fetcher
+     */
+    public DiskCacheFetcher offline(boolean offline) {
+        this.offline = offline;
+        return this;
+    }
+
+    private class Entry {
+        private final CachedResponse response;
+        private final long fetched;
+
+        private Entry(CachedResponse response, long fetched) {
+            this.response = response;
+            this.fetched = fetched;
+        }
+
+        private boolean isFresh() {
+            return System.currentTimeMillis() - fetched < ttl;
+        }
+    }
+}
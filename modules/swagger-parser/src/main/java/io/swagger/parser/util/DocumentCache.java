@@ -0,0 +1,49 @@
+package io.swagger.parser.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A cache of external documents which can be shared by every parser in the process, so that documents
+ * referenced by many specs (e.g. a common errors.yaml) are read and parsed only once.
+ *
+ * Entries are keyed by the normalized absolute location of the document, followed for a URL by the fingerprint of
+ * the auth values it was fetched with, and carry a validator (file modification time and size, or the one
+ * {@link RemoteUrl#revalidate(String, java.util.List, String)} returned for a URL) which must match for the entry to
+ * be used.
+ *
+ * Implementations must be thread safe. See {@link RefUtils#setDocumentCache(DocumentCache)}.
+ */
+public interface DocumentCache {
+
+    /**
+     * @param location the url or file the contents were read from
+     * @param validator identifies the version of the contents, e.g. an ETag or the modification time of a file
+     * @return the contents cached for the location, or null if there are none or they were cached with a
+     * different validator
+     */
+    String get(String location, String validator);
+
+    /**
+     * @param location the url or file the contents were read from
+     * @return the validator the contents of the location were cached with, or null if there are none
+     */
+    String getValidator(String location);
+
+    void put(String location, String validator, String contents);
+
+    /**
+     * @param contents the contents the tree was parsed from
+     * @return a copy of the tree parsed from contents previously returned by {@link #get(String, String)},
+     * or null if it has not been parsed yet
+     */
+    JsonNode getTree(String contents);
+
+    /**
+     * Keeps the tree parsed from contents previously returned by {@link #get(String, String)}. The cache owns the
+     * tree from then on: the caller must not modify it, and works on a copy from {@link #getTree(String)} instead.
+     *
+     * @param contents the contents the tree was parsed from
+     * @param tree the parsed contents
+     */
+    void putTree(String contents, JsonNode tree);
+}
@@ -0,0 +1,313 @@
+package io.swagger.parser.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDK Flight Recorder events for the fetching, parsing and resolution of swagger definitions, in the
+ * "Swagger Parser" category of recordings.
+ *
+ * The parser runs on Java 7, so the events are defined at runtime with {@code jdk.jfr.EventFactory}, through
+ * reflection, on the JVMs that have it. Until a recording is running, {@link EventType#begin()} returns null
+ * without doing anything else, so the call sites cost a volatile read:
+ *
+ * <pre>
+ * FlightRecorderEvents.Event event = FlightRecorderEvents.FETCH.begin();
+ * ...
+ * if (event != null) {
+ *     event.commit(url, bytes, status);
+ * }
+ * </pre>
+ */
+public final class FlightRecorderEvents {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecorderEvents.class);
+    private static final String CATEGORY = "Swagger Parser";
+
+    private static final Jfr JFR = Jfr.load();
+    private static volatile boolean recording;
+
+    /**
+     * A document read by {@link RemoteUrl}: url, bytes (-1 if the fetch failed) and status ("OK", or the failure).
+     */
+    public static final EventType FETCH = new EventType("io.swagger.parser.DocumentFetch", "Document Fetch",
+            "A remote document read by RemoteUrl",
+            new Field("url", String.class, "URL", null),
+            new Field("bytes", long.class, "Bytes", "BYTES"),
+            new Field("status", String.class, "Status", null));
+
+    /**
+     * A document parsed into a tree: location (null if unknown), format ("json" or "yaml") and size in characters
+     * (-1 if it was read from a stream).
+     */
+    public static final EventType PARSE = new EventType("io.swagger.parser.DocumentParse", "Document Parse",
+            "A json or yaml document parsed into a tree",
+            new Field("location", String.class, "Location", null),
+            new Field("format", String.class, "Format", null),
+            new Field("size", long.class, "Size", null));
+
+    /**
+     * An external ref loaded by the {@link io.swagger.parser.ResolverCache}: ref, ref format and whether it was
+     * already cached.
+     */
+    public static final EventType REF_LOAD = new EventType("io.swagger.parser.RefLoad", "Ref Load",
+            "An external ref loaded by the ResolverCache",
+            new Field("ref", String.class, "Ref", null),
+            new Field("refFormat", String.class, "Ref Format", null),
+            new Field("cacheHit", boolean.class, "Cache Hit", null));
+
+    /**
+     * A run of {@link io.swagger.parser.SwaggerResolver#resolve()}: location of the root document (null if
+     * unknown), and the paths and definitions of the resolved swagger.
+     */
+    public static final EventType RESOLVE = new EventType("io.swagger.parser.Resolve", "Resolve",
+            "A resolution of the refs of a swagger definition",
+            new Field("location", String.class, "Location", null),
+            new Field("paths", int.class, "Paths", null),
+            new Field("definitions", int.class, "Definitions", null));
+
+    static {
+        if (JFR != null) {
+            JFR.addListener();
+        }
+    }
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * @return whether a flight recording is running, and so whether events are recorded
+     */
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    public static final class EventType {
+        private final String name;
+        private final String label;
+        private final String description;
+        private final Field[] fields;
+        private volatile Object factory;
+
+        private EventType(String name, String label, String description, Field... fields) {
+            this.name = name;
+            this.label = label;
+            this.description = description;
+            this.fields = fields;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Starts timing an event.
+         *
+         * @return the event to commit once done, or null if no recording is running
+         */
+        public Event begin() {
+            if (!recording) {
+                return null;
+            }
+            try {
+                final Object event = JFR.newEvent.invoke(factory());
+                JFR.begin.invoke(event);
+                return new Event(event);
+            } catch (Exception e) {
+                LOGGER.debug("unable to create the event " + name, e);
+                return null;
+            }
+        }
+
+        private Object factory() throws Exception {
+            Object result = factory;
+            if (result == null) {
+                synchronized (this) {
+                    result = factory;
+                    if (result == null) {
+                        // registers the event type with the recorder
+                        factory = result = JFR.createFactory(this);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * An event being timed, to be committed by the thread which began it.
+     */
+    public static final class Event {
+        private final Object event;
+
+        private Event(Object event) {
+            this.event = event;
+        }
+
+        /**
+         * Ends the event and records it with the values of its fields, in the order documented by its type, if the
+         * recording settings accept it.
+         *
+         * @param values the values of the fields
+         */
+        public void commit(Object... values) {
+            try {
+                JFR.end.invoke(event);
+                if (!(Boolean) JFR.shouldCommit.invoke(event)) {
+                    return;
+                }
+                for (int i = 0; i < values.length; i++) {
+                    JFR.set.invoke(event, i, values[i]);
+                }
+                JFR.commit.invoke(event);
+            } catch (Exception e) {
+                LOGGER.debug("unable to commit an event", e);
+            }
+        }
+    }
+
+    private static final class Field {
+        private final String name;
+        private final Class<?> type;
+        private final String label;
+        private final String dataAmount;
+
+        private Field(String name, Class<?> type, String label, String dataAmount) {
+            this.name = name;
+            this.type = type;
+            this.label = label;
+            this.dataAmount = dataAmount;
+        }
+    }
+
+    /**
+     * The parts of the jdk.jfr api the events use.
+     */
+    private static final class Jfr {
+        private Class<?> flightRecorder;
+        private Class<?> flightRecorderListener;
+        private Constructor<?> annotationElement;
+        private Constructor<?> valueDescriptor;
+        private Method createFactory;
+        private Method newEvent;
+        private Method begin;
+        private Method end;
+        private Method shouldCommit;
+        private Method set;
+        private Method commit;
+        private Class<?> nameAnnotation;
+        private Class<?> labelAnnotation;
+        private Class<?> descriptionAnnotation;
+        private Class<?> categoryAnnotation;
+        private Class<?> dataAmountAnnotation;
+
+        /**
+         * @return the api, or null if the JVM has no flight recorder
+         */
+        private static Jfr load() {
+            try {
+                final Jfr jfr = new Jfr();
+                jfr.flightRecorder = Class.forName("jdk.jfr.FlightRecorder");
+                if (!(Boolean) jfr.flightRecorder.getMethod("isAvailable").invoke(null)) {
+                    return null;
+                }
+                jfr.flightRecorderListener = Class.forName("jdk.jfr.FlightRecorderListener");
+                jfr.annotationElement = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class,
+                        Object.class);
+                jfr.valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class,
+                        String.class, List.class);
+                final Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+                jfr.createFactory = eventFactory.getMethod("create", List.class, List.class);
+                jfr.newEvent = eventFactory.getMethod("newEvent");
+                final Class<?> event = Class.forName("jdk.jfr.Event");
+                jfr.begin = event.getMethod("begin");
+                jfr.end = event.getMethod("end");
+                jfr.shouldCommit = event.getMethod("shouldCommit");
+                jfr.set = event.getMethod("set", int.class, Object.class);
+                jfr.commit = event.getMethod("commit");
+                jfr.nameAnnotation = Class.forName("jdk.jfr.Name");
+                jfr.labelAnnotation = Class.forName("jdk.jfr.Label");
+                jfr.descriptionAnnotation = Class.forName("jdk.jfr.Description");
+                jfr.categoryAnnotation = Class.forName("jdk.jfr.Category");
+                jfr.dataAmountAnnotation = Class.forName("jdk.jfr.DataAmount");
+                return jfr;
+            } catch (ClassNotFoundException e) {
+                return null;
+            } catch (Exception e) {
+                LOGGER.debug("unable to use the flight recorder", e);
+                return null;
+            }
+        }
+
+        /**
+         * Follows the state of the recordings, to turn the events on while one is running.
+         */
+        private void addListener() {
+            try {
+                final Object listener = Proxy.newProxyInstance(FlightRecorderEvents.class.getClassLoader(),
+                        new Class<?>[]{flightRecorderListener}, new InvocationHandler() {
+                            @Override
+                            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                                switch (method.getName()) {
+                                    case "recorderInitialized":
+                                    case "recordingStateChanged":
+                                        updateRecording();
+                                        return null;
+                                    case "hashCode":
+                                        return System.identityHashCode(proxy);
+                                    case "equals":
+                                        return proxy == args[0];
+                                    case "toString":
+                                        return FlightRecorderEvents.class.getName() + " listener";
+                                    default:
+                                        return null;
+                                }
+                            }
+                        });
+                flightRecorder.getMethod("addListener", flightRecorderListener).invoke(null, listener);
+            } catch (Exception e) {
+                LOGGER.debug("unable to listen to the flight recorder", e);
+            }
+        }
+
+        private void updateRecording() throws Exception {
+            final Object recorder = flightRecorder.getMethod("getFlightRecorder").invoke(null);
+            boolean running = false;
+            for (Object recording : (List<?>) flightRecorder.getMethod("getRecordings").invoke(recorder)) {
+                final Object state = recording.getClass().getMethod("getState").invoke(recording);
+                if ("RUNNING".equals(String.valueOf(state))) {
+                    running = true;
+                    break;
+                }
+            }
+            recording = running;
+        }
+
+        private Object createFactory(EventType type) throws Exception {
+            final List<Object> annotations = Arrays.asList(
+                    annotationElement.newInstance(nameAnnotation, type.name),
+                    annotationElement.newInstance(labelAnnotation, type.label),
+                    annotationElement.newInstance(descriptionAnnotation, type.description),
+                    annotationElement.newInstance(categoryAnnotation, new String[]{CATEGORY}));
+            final List<Object> fields = new ArrayList<>();
+            for (Field field : type.fields) {
+                final List<Object> fieldAnnotations = new ArrayList<>();
+                fieldAnnotations.add(annotationElement.newInstance(labelAnnotation, field.label));
+                if (field.dataAmount != null) {
+                    fieldAnnotations.add(annotationElement.newInstance(dataAmountAnnotation, field.dataAmount));
+                }
+                fields.add(valueDescriptor.newInstance(field.type, field.name,
+                        Collections.unmodifiableList(fieldAnnotations)));
+            }
+            return createFactory.invoke(null, annotations, fields);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.auth.AuthorizationValue;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * The SHA-256 hashes the caches key and validate their entries with.
+ */
+public final class Hashes {
+
+    private Hashes() {
+    }
+
+    /**
+     * @param bytes the bytes to hash
+     * @return the SHA-256 of the bytes, in lower case hex
+     */
+    public static String sha256(byte[] bytes) {
+        return hex(sha256().digest(bytes));
+    }
+
+    /**
+     * @param contents the string to hash
+     * @return the SHA-256 of the UTF-8 encoding of the string, in lower case hex
+     */
+    public static String sha256(String contents) {
+        return sha256(contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Identifies the auth values sent along with a request for the url, without keeping them: the
+     * {@link ManagedValue}s which do not apply to the url are left out. When the location is not a url, e.g. a file
+     * whose refs may point to urls, all the values are included.
+     *
+     * @param location the url or file the values are sent along with a request for
+     * @param auths the auth values, or null
+     * @return the SHA-256 of the values, or null if none is sent
+     */
+    public static String authFingerprint(String location, List<AuthorizationValue> auths) {
+        if (auths == null || auths.isEmpty()) {
+            return null;
+        }
+        URL target;
+        try {
+            target = new URL(location);
+        } catch (MalformedURLException e) {
+            target = null;
+        }
+        final MessageDigest digest = sha256();
+        boolean sent = false;
+        for (AuthorizationValue auth : auths) {
+            if (target != null && auth instanceof ManagedValue && !((ManagedValue) auth).process(target)) {
+                continue;
+            }
+            digest.update((auth.getType() + ":" + auth.getKeyName() + "=" + auth.getValue() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            sent = true;
+        }
+        return sent ? hex(digest.digest()) : null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        final StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+}
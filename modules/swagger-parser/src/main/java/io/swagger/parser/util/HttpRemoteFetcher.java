@@ -0,0 +1,315 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.auth.AuthorizationValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URLConnection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The default {@link RemoteFetcher}, built on {@link URLConnection}.
+ *
+ * Bodies are always read to the end and closed, error responses included, so that the JDK keeps the connection
+ * alive and reuses it for the next request to the same host, TLS session included. The size of that per-host pool
+ * is set with the standard `http.keepAlive` and `http.maxConnections` system properties.
+ *
+ * When a {@link Cache} is set, the ETag and Last-Modified date of each response are kept with its body, and later
+ * fetches of the same url with the same auth values send If-None-Match / If-Modified-Since, reusing the cached body
+ * on a 304.
+ *
+ * Connections time out after {@link #DEFAULT_CONNECT_TIMEOUT} and reads after {@link #DEFAULT_READ_TIMEOUT}
+ * milliseconds, unless configured otherwise.
+ *
+ * Error responses are thrown as {@link HttpStatusException}s.
+ *
+ * Configure the fetcher before installing it with {@link RemoteUrl#setFetcher(RemoteFetcher)}; it is not meant to
+ * be changed while in use.
+ */
+public class HttpRemoteFetcher implements RevalidatingFetcher {
+    public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+    public static final int DEFAULT_READ_TIMEOUT = 30000;
+
+    private static final String ACCEPT_ENCODING_HEADER_VALUE = "gzip, deflate";
+
+    private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private int readTimeout = DEFAULT_READ_TIMEOUT;
+    private boolean compression = true;
+    private Cache cache;
+
+    @Override
+    public byte[] fetch(String url, List<AuthorizationValue> auths) throws Exception {
+        // what the server returns may depend on the auth values, so responses to other ones are not revalidated
+        final String key = cache != null ? key(url, auths) : null;
+        final CachedResponse cached = cache != null ? cache.get(key) : null;
+        final CachedResponse response = fetch(url, auths, cached);
+        if (cache != null && response != cached && (response.getEtag() != null || response.getLastModified() != null)) {
+            cache.put(key, response);
+        }
+        return response.getBody().clone();
+    }
+
+    /**
+     * Fetches the url, revalidating the previous response if there is one.
+     *
+     * @param previous the last response for this url, or null
+     * @return previous itself if the server reported it as not modified, else the new response. The body of the
+     * returned response must not be modified.
+     */
+    @Override
+    public CachedResponse fetch(String url, List<AuthorizationValue> auths, CachedResponse previous) throws Exception {
+        final URLConnection conn = RemoteUrl.openConnection(url, auths);
+        conn.setConnectTimeout(connectTimeout);
+        conn.setReadTimeout(readTimeout);
+        if (compression) {
+            conn.setRequestProperty("Accept-Encoding", ACCEPT_ENCODING_HEADER_VALUE);
+        }
+        if (!(conn instanceof HttpURLConnection)) {
+            try (InputStream in = conn.getInputStream()) {
+                return new CachedResponse(null, null, RemoteUrl.readFully(in, conn.getContentLength()));
+            }
+        }
+
+        final HttpURLConnection httpConn = (HttpURLConnection) conn;
+        if (previous != null) {
+            if (previous.getEtag() != null) {
+                httpConn.setRequestProperty("If-None-Match", previous.getEtag());
+            }
+            if (previous.getLastModified() != null) {
+                httpConn.setRequestProperty("If-Modified-Since", previous.getLastModified());
+            }
+        }
+
+        final int status;
+        try {
+            status = httpConn.getResponseCode();
+        } catch (IOException e) {
+            discard(httpConn.getErrorStream());
+            throw e;
+        }
+        if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            discard(httpConn.getInputStream());
+            if (previous != null) {
+                return previous;
+            }
+            // nothing was asked to be revalidated, so there is no body to give
+            throw new HttpStatusException(url, status, -1);
+        }
+        if (status >= HttpURLConnection.HTTP_BAD_REQUEST) {
+            discard(httpConn.getErrorStream());
+            throw new HttpStatusException(url, status, retryAfter(httpConn.getHeaderField("Retry-After")));
+        }
+
+        final byte[] body;
+        try (InputStream in = decode(httpConn)) {
+            body = RemoteUrl.readFully(in, httpConn.getContentEncoding() == null ? httpConn.getContentLength() : -1);
+        } catch (IOException e) {
+            discard(httpConn.getErrorStream());
+            throw e;
+        }
+        return new CachedResponse(httpConn.getHeaderField("ETag"), httpConn.getHeaderField("Last-Modified"), body);
+    }
+
+    private static String key(String url, List<AuthorizationValue> auths) {
+        final String fingerprint = Hashes.authFingerprint(url, auths);
+        return fingerprint != null ? url + " " + fingerprint : url;
+    }
+
+    /**
+     * @return the delay in milliseconds, or -1 if there is none or it is given as a date
+     */
+    private static long retryAfter(String header) {
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(header.trim())) * 1000;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private InputStream decode(URLConnection conn) throws IOException {
+        final InputStream in = conn.getInputStream();
+        final String encoding = conn.getContentEncoding();
+        if ("gzip".equalsIgnoreCase(encoding)) {
+            return new GZIPInputStream(in);
+        } else if ("deflate".equalsIgnoreCase(encoding)) {
+            return new InflaterInputStream(in);
+        }
+        return in;
+    }
+
+    private void discard(InputStream in) {
+        if (in == null) {
+            return;
+        }
+        try {
+            final byte[] buffer = new byte[4096];
+            while (in.read(buffer) != -1) {
+                // drain, so the connection can go back to the pool
+            }
+            in.close();
+        } catch (IOException e) {
+            // the connection will just not be reused
+        }
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * @param connectTimeout in milliseconds, 0 to wait indefinitely; {@link #DEFAULT_CONNECT_TIMEOUT} by default
+     * @return this fetcher
+     */
+    public HttpRemoteFetcher connectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * @param readTimeout in milliseconds, 0 to wait indefinitely; {@link #DEFAULT_READ_TIMEOUT} by default
+     * @return this fetcher
+     */
+    public HttpRemoteFetcher readTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+
+    public HttpRemoteFetcher compression(boolean compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public HttpRemoteFetcher cache(Cache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Stores the last response for each url, for revalidation. The keys are the url, followed by the fingerprint of
+     * the auth values sent with it if any. Must be thread-safe.
+     */
+    public interface Cache {
+
+        CachedResponse get(String key);
+
+        void put(String key, CachedResponse response);
+    }
+
+    /**
+     * Keeps the responses in memory, bounded both by number of entries and by total size of the bodies (in bytes),
+     * evicting the least recently used entries first.
+     */
+    public static class MemoryCache implements Cache {
+        public static final int DEFAULT_MAX_ENTRIES = 256;
+        public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+        private final int maxEntries;
+        private final long maxSize;
+        private final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+        private long size;
+
+        public MemoryCache() {
+            this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_SIZE);
+        }
+
+        public MemoryCache(int maxEntries, long maxSize) {
+            if (maxEntries <= 0 || maxSize <= 0) {
+                throw new IllegalArgumentException("maxEntries and maxSize must be positive");
+            }
+            this.maxEntries = maxEntries;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public synchronized CachedResponse get(String key) {
+            return responses.get(key);
+        }
+
+        @Override
+        public synchronized void put(String key, CachedResponse response) {
+            final CachedResponse previous = responses.remove(key);
+            if (previous != null) {
+                size -= previous.getBody().length;
+            }
+            if (response.getBody().length > maxSize) {
+                return;
+            }
+            responses.put(key, response);
+            size += response.getBody().length;
+
+            final Iterator<CachedResponse> it = responses.values().iterator();
+            while ((responses.size() > maxEntries || size > maxSize) && it.hasNext()) {
+                size -= it.next().getBody().length;
+                it.remove();
+            }
+        }
+
+        public synchronized int getEntryCount() {
+            return responses.size();
+        }
+
+        public synchronized long getSize() {
+            return size;
+        }
+    }
+
+    public static class CachedResponse {
+        private final String etag;
+        private final String lastModified;
+        private final byte[] body;
+
+        public CachedResponse(String etag, String lastModified, byte[] body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.swagger.parser.util;
+
+import java.io.IOException;
+
+/**
+ * An error response to a fetch by {@link HttpRemoteFetcher}.
+ */
+public class HttpStatusException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final String url;
+    private final int status;
+    private final long retryAfter;
+
+    /**
+     * @param url the url requested
+     * @param status the http status of the response
+     * @param retryAfter the delay the server asked for before the next request, in milliseconds, or -1
+     */
+    public HttpStatusException(String url, int status, long retryAfter) {
+        super("Server returned HTTP response code: " + status + " for URL: " + url);
+        this.url = url;
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,170 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.refs.RefFormat;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adds up the measurements of every parse since it was created or last reset, e.g.
+ *
+ * <pre>
+ * InMemoryParserMetrics metrics = new InMemoryParserMetrics();
+ * ParserMetrics.set(metrics);
+ * new SwaggerParser().read("http://petstore.swagger.io/v2/swagger.json");
+ * System.out.println(metrics);
+ * </pre>
+ */
+public class InMemoryParserMetrics extends ParserMetrics {
+    private final Map<Phase, AtomicLong> phaseNanos = counters(Phase.class);
+    private final Map<Phase, AtomicLong> phaseCounts = counters(Phase.class);
+    private final Map<Cache, AtomicLong> cacheHits = counters(Cache.class);
+    private final Map<Cache, AtomicLong> cacheMisses = counters(Cache.class);
+    private final Map<RefFormat, AtomicLong> refsResolved = counters(RefFormat.class);
+    private final ConcurrentMap<String, AtomicLong> bytesFetched = new ConcurrentHashMap<>();
+    private final AtomicLong definitionsAdded = new AtomicLong();
+    private final AtomicLong fetchRetries = new AtomicLong();
+
+    @Override
+    public void phaseCompleted(Phase phase, String location, long nanos) {
+        phaseNanos.get(phase).addAndGet(nanos);
+        phaseCounts.get(phase).incrementAndGet();
+    }
+
+    @Override
+    public void bytesFetched(String location, long bytes) {
+        AtomicLong counter = bytesFetched.get(location);
+        if (counter == null) {
+            final AtomicLong existing = bytesFetched.putIfAbsent(location, counter = new AtomicLong());
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+        counter.addAndGet(bytes);
+    }
+
+    @Override
+    public void fetchRetried(String location, int attempt, Exception failure, long delay) {
+        fetchRetries.incrementAndGet();
+    }
+
+    @Override
+    public void cacheHit(Cache cache, String key) {
+        cacheHits.get(cache).incrementAndGet();
+    }
+
+    @Override
+    public void cacheMiss(Cache cache, String key) {
+        cacheMisses.get(cache).incrementAndGet();
+    }
+
+    @Override
+    public void refResolved(RefFormat refFormat, String ref) {
+        if (refFormat != null) {
+            refsResolved.get(refFormat).incrementAndGet();
+        }
+    }
+
+    @Override
+    public void definitionAdded(String name, String ref) {
+        definitionsAdded.incrementAndGet();
+    }
+
+    /**
+     * @param phase the phase
+     * @return the total time spent in the phase, in nanoseconds
+     */
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos.get(phase).get();
+    }
+
+    /**
+     * @param phase the phase
+     * @return how many times the phase ran
+     */
+    public long getPhaseCount(Phase phase) {
+        return phaseCounts.get(phase).get();
+    }
+
+    public long getCacheHits(Cache cache) {
+        return cacheHits.get(cache).get();
+    }
+
+    public long getCacheMisses(Cache cache) {
+        return cacheMisses.get(cache).get();
+    }
+
+    public long getRefsResolved(RefFormat refFormat) {
+        return refsResolved.get(refFormat).get();
+    }
+
+    /**
+     * @return the bytes fetched from each location
+     */
+    public Map<String, Long> getBytesFetched() {
+        final Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : bytesFetched.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return result;
+    }
+
+    public long getDefinitionsAdded() {
+        return definitionsAdded.get();
+    }
+
+    public long getFetchRetries() {
+        return fetchRetries.get();
+    }
+
+    public void reset() {
+        reset(phaseNanos);
+        reset(phaseCounts);
+        reset(cacheHits);
+        reset(cacheMisses);
+        reset(refsResolved);
+        bytesFetched.clear();
+        definitionsAdded.set(0);
+        fetchRetries.set(0);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            builder.append(phase).append(": ").append(getPhaseCount(phase)).append(" in ")
+                    .append(getPhaseNanos(phase) / 1000000).append(" ms\n");
+        }
+        for (Cache cache : Cache.values()) {
+            builder.append(cache).append(" cache: ").append(getCacheHits(cache)).append(" hits, ")
+                    .append(getCacheMisses(cache)).append(" misses\n");
+        }
+        for (RefFormat refFormat : RefFormat.values()) {
+            builder.append(refFormat).append(" refs: ").append(getRefsResolved(refFormat)).append('\n');
+        }
+        builder.append("definitions added: ").append(getDefinitionsAdded()).append('\n');
+        builder.append("fetch retries: ").append(getFetchRetries()).append('\n');
+        for (Map.Entry<String, Long> entry : getBytesFetched().entrySet()) {
+            builder.append(entry.getKey()).append(": ").append(entry.getValue()).append(" bytes\n");
+        }
+        return builder.toString();
+    }
+
+    private static void reset(Map<?, AtomicLong> counters) {
+        for (AtomicLong counter : counters.values()) {
+            counter.set(0);
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, AtomicLong> counters(Class<E> type) {
+        final Map<E, AtomicLong> counters = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counters.put(value, new AtomicLong());
+        }
+        return counters;
+    }
+}
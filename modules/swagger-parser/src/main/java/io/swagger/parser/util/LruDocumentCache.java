@@ -0,0 +1,146 @@
+package io.swagger.parser.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link DocumentCache} bounded both by number of entries and by total size of the cached contents
+ * (in characters), evicting the least recently used entries first.
+ *
+ * A parsed tree is kept as given and handed out as deep copies, because the resolver modifies the trees it works on.
+ */
+public class LruDocumentCache implements DocumentCache {
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+    private final int maxEntries;
+    private final long maxSize;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Entry> entriesByContents = new IdentityHashMap<>();
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public LruDocumentCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_SIZE);
+    }
+
+    public LruDocumentCache(int maxEntries, long maxSize) {
+        if (maxEntries <= 0 || maxSize <= 0) {
+            throw new IllegalArgumentException("maxEntries and maxSize must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized String get(String location, String validator) {
+        final Entry entry = entries.get(location);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        if (!entry.validator.equals(validator)) {
+            // the document changed since it was cached
+            remove(location);
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.contents;
+    }
+
+    @Override
+    public synchronized String getValidator(String location) {
+        final Entry entry = entries.get(location);
+        return entry != null ? entry.validator : null;
+    }
+
+    @Override
+    public synchronized void put(String location, String validator, String contents) {
+        if (location == null || validator == null || contents == null || contents.length() > maxSize) {
+            return;
+        }
+        remove(location);
+        final Entry entry = new Entry(validator, contents);
+        entries.put(location, entry);
+        entriesByContents.put(contents, entry);
+        size += contents.length();
+
+        final Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || size > maxSize) && it.hasNext()) {
+            final Entry eldest = it.next().getValue();
+            it.remove();
+            entriesByContents.remove(eldest.contents);
+            size -= eldest.contents.length();
+            evictionCount++;
+        }
+    }
+
+    @Override
+    public synchronized JsonNode getTree(String contents) {
+        final Entry entry = entriesByContents.get(contents);
+        if (entry == null || entry.tree == null) {
+            return null;
+        }
+        return entry.tree.deepCopy();
+    }
+
+    @Override
+    public synchronized void putTree(String contents, JsonNode tree) {
+        final Entry entry = entriesByContents.get(contents);
+        if (entry != null && tree != null) {
+            entry.tree = tree;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        entriesByContents.clear();
+        size = 0;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private void remove(String location) {
+        final Entry entry = entries.remove(location);
+        if (entry != null) {
+            entriesByContents.remove(entry.contents);
+            size -= entry.contents.length();
+        }
+    }
+
+    private static class Entry {
+        private final String validator;
+        private final String contents;
+        private JsonNode tree;
+
+        private Entry(String validator, String contents) {
+            this.validator = validator;
+            this.contents = contents;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.HttpMethod;
+
+import java.util.List;
+
+/**
+ * Selects the operations to keep while deserializing a definition, e.g. those of one tag out of a large spec. The
+ * others are skipped without being deserialized, and so are the definitions, parameters and responses that only
+ * they refer to.
+ */
+public interface OperationFilter {
+
+    /**
+     * @param path the key of the path in `paths`, e.g. "/pets/{petId}"
+     * @param method the method of the operation
+     * @param tags the tags of the operation, empty if it has none
+     * @param operationId the id of the operation, null if it has none
+     * @return whether to keep the operation
+     */
+    boolean accept(String path, HttpMethod method, List<String> tags, String operationId);
+}
@@ -0,0 +1,161 @@
+package io.swagger.parser.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.HttpMethod;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The operations an {@link OperationFilter} keeps out of a document, and the local refs they lead to: the
+ * definitions, parameters and responses of the document that are reachable from them.
+ */
+final class OperationSlice {
+    private static final String DEFINITIONS = "definitions";
+    private static final String PARAMETERS = "parameters";
+    private static final String RESPONSES = "responses";
+
+    private final OperationFilter filter;
+    // the local refs found in the kept operations, not yet followed
+    private final Set<String> refs = new HashSet<>();
+    private final Map<String, Set<String>> reachable = new HashMap<>();
+
+    OperationSlice(OperationFilter filter) {
+        this.filter = filter;
+        reachable.put(DEFINITIONS, new HashSet<String>());
+        reachable.put(PARAMETERS, new HashSet<String>());
+        reachable.put(RESPONSES, new HashSet<String>());
+    }
+
+    OperationFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Tells whether to keep the operation, looking only at its tags and id, and remembers the refs of the kept
+     * ones.
+     */
+    boolean accept(String path, HttpMethod method, ObjectNode operation) {
+        final List<String> tags = new ArrayList<>();
+        final JsonNode tagsNode = operation.get("tags");
+        if (tagsNode != null && tagsNode.isArray()) {
+            for (JsonNode tag : tagsNode) {
+                if (tag.isTextual()) {
+                    tags.add(tag.textValue());
+                }
+            }
+        }
+        final JsonNode operationId = operation.get("operationId");
+        if (!filter.accept(path, method, Collections.unmodifiableList(tags),
+                operationId != null && operationId.isTextual() ? operationId.textValue() : null)) {
+            return false;
+        }
+        collectRefs(operation, refs);
+        return true;
+    }
+
+    /**
+     * Remembers the refs of the parameters shared by the kept operations of a path.
+     */
+    void keep(JsonNode pathParameters) {
+        collectRefs(pathParameters, refs);
+    }
+
+    /**
+     * Follows the refs of the kept operations through the definitions, parameters and responses of the root.
+     */
+    void reach(ObjectNode root) {
+        final Deque<String> pending = new ArrayDeque<>(refs);
+        while (!pending.isEmpty()) {
+            final String ref = pending.pop();
+            for (String[] target : targets(ref)) {
+                final Set<String> names = reachable.get(target[0]);
+                if (names.add(target[1])) {
+                    final JsonNode section = root.get(target[0]);
+                    final JsonNode node = section != null ? section.get(target[1]) : null;
+                    if (node != null) {
+                        final Set<String> found = new HashSet<>();
+                        collectRefs(node, found);
+                        pending.addAll(found);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the entries of the `definitions`, `parameters` or `responses` section which are reachable from the
+     * kept operations
+     */
+    ObjectNode retain(String section, ObjectNode node) {
+        if (node == null) {
+            return null;
+        }
+        final Set<String> names = reachable.get(section);
+        final ObjectNode output = node.objectNode();
+        final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            if (names.contains(field.getKey())) {
+                output.set(field.getKey(), field.getValue());
+            }
+        }
+        return output;
+    }
+
+    /**
+     * @return the sections and names a local ref may point to; a simple name, as in `"$ref": "Pet"`, may stand
+     * for an entry of any of them
+     */
+    private static List<String[]> targets(String ref) {
+        final List<String[]> output = new ArrayList<>();
+        if (ref.startsWith("#/")) {
+            final int slash = ref.indexOf('/', 2);
+            if (slash > 0) {
+                final String section = ref.substring(2, slash);
+                if (DEFINITIONS.equals(section) || PARAMETERS.equals(section) || RESPONSES.equals(section)) {
+                    output.add(new String[]{section, unescape(ref.substring(slash + 1))});
+                }
+            }
+        } else if (ref.indexOf('/') < 0 && ref.indexOf('#') < 0 && ref.indexOf('.') < 0) {
+            output.add(new String[]{DEFINITIONS, ref});
+            output.add(new String[]{PARAMETERS, ref});
+            output.add(new String[]{RESPONSES, ref});
+        }
+        return output;
+    }
+
+    private static String unescape(String name) {
+        return name.indexOf('~') < 0 ? name : name.replace("~1", "/").replace("~0", "~");
+    }
+
+    private static void collectRefs(JsonNode node, Set<String> to) {
+        if (node == null) {
+            return;
+        }
+        if (node.isObject()) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                if ("$ref".equals(field.getKey()) && field.getValue().isTextual()) {
+                    to.add(field.getValue().textValue());
+                } else {
+                    collectRefs(field.getValue(), to);
+                }
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                collectRefs(element, to);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.refs.RefFormat;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Receives measurements of the parsing and resolution of swagger definitions: how long each phase took, how many
+ * bytes were fetched and how often fetches were retried, how the {@link io.swagger.parser.ResolverCache} performed,
+ * and how many refs and definitions were processed.
+ *
+ * The methods do nothing; implementations override the ones they need. They are called on the parsing threads,
+ * several at once when parsers run concurrently, so they must be thread-safe and cheap.
+ *
+ * The instance in use is the one set with {@link #set(ParserMetrics)}, otherwise the first registered in
+ * {@code META-INF/services/io.swagger.parser.util.ParserMetrics}, otherwise one that ignores everything.
+ */
+public abstract class ParserMetrics {
+    public static final ParserMetrics NONE = new ParserMetrics() {
+    };
+
+    private static volatile ParserMetrics metrics = load();
+
+    public enum Phase {
+        /**
+         * reading a remote document, with {@link RemoteUrl}, including the queueing and retries of a
+         * {@link RemoteFetchScheduler}
+         */
+        FETCH,
+        /**
+         * waiting for a {@link RemoteFetchScheduler} to let a fetch through, once per attempt
+         */
+        QUEUE,
+        /**
+         * parsing json or yaml into a tree
+         */
+        PARSE,
+        /**
+         * building the swagger model, from a tree or, for json streams and files, straight from the json
+         */
+        DESERIALIZE,
+        /**
+         * resolving the refs of a swagger model, including the fetches and parses it triggers
+         */
+        RESOLVE
+    }
+
+    public enum Cache {
+        /**
+         * the refs already loaded
+         */
+        REF,
+        /**
+         * the contents of the external files already read
+         */
+        FILE,
+        /**
+         * the trees of the external files already parsed
+         */
+        TREE
+    }
+
+    public static ParserMetrics get() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics used by all parsers. Passing null restores {@link #NONE}.
+     *
+     * @param metrics the metrics, or null
+     */
+    public static void set(ParserMetrics metrics) {
+        ParserMetrics.metrics = metrics != null ? metrics : NONE;
+    }
+
+    /**
+     * @param phase the phase which completed
+     * @param location the url or file of the document, or null if it was not read from one
+     * @param nanos how long it took, in nanoseconds
+     */
+    public void phaseCompleted(Phase phase, String location, long nanos) {
+    }
+
+    public void bytesFetched(String location, long bytes) {
+    }
+
+    /**
+     * @param location the url being fetched
+     * @param attempt the attempt which failed, starting at 1
+     * @param failure why the attempt failed
+     * @param delay how long the fetch waits before the next attempt, in milliseconds
+     */
+    public void fetchRetried(String location, int attempt, Exception failure, long delay) {
+    }
+
+    public void cacheHit(Cache cache, String key) {
+    }
+
+    public void cacheMiss(Cache cache, String key) {
+    }
+
+    public void refResolved(RefFormat refFormat, String ref) {
+    }
+
+    /**
+     * @param name the name of the definition in the swagger
+     * @param ref the external ref the definition was imported from
+     */
+    public void definitionAdded(String name, String ref) {
+    }
+
+    private static ParserMetrics load() {
+        final Iterator<ParserMetrics> registered = ServiceLoader.load(ParserMetrics.class).iterator();
+        return registered.hasNext() ? registered.next() : NONE;
+    }
+}
@@ -2,16 +2,40 @@ package io.swagger.parser.util;
 
 import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.models.refs.RefFormat;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 public class RefUtils {
 
+    private static volatile DocumentCache documentCache;
+
+    // reads of the same url with the same auth values by parsers running at the same time, which fetch it once;
+    // without a document cache, each of them still parses the contents it gets
+    static final SingleFlight<String, String> URL_READS = new SingleFlight<>();
+
+    public static DocumentCache getDocumentCache() {
+        return documentCache;
+    }
+
+    /**
+     * Installs a cache of external documents shared by all parsers, or disables it when null (the default). Parsers
+     * reading the same url at the same time fetch it once either way, but only share its parsed tree through the
+     * cache.
+     *
+     * @param cache the cache, or null
+     */
+    public static void setDocumentCache(DocumentCache cache) {
+        documentCache = cache;
+    }
+
     public static String computeDefinitionName(String ref) {
 
         final String[] refParts = ref.split("#/");
@@ -44,6 +68,21 @@ public class RefUtils {
         return refFormat == RefFormat.URL || refFormat == RefFormat.RELATIVE;
     }
 
+    /**
+     * Tells how to load a ref found in an external document, once joined with the location of that document. Unlike
+     * the models, which take a ref such as `models/pet.yaml#/Pet` for an internal one, any ref which is neither
+     * local nor an http(s) url is a relative file.
+     *
+     * @param ref the joined ref
+     * @return {@link RefFormat#URL}, {@link RefFormat#INTERNAL} or {@link RefFormat#RELATIVE}
+     */
+    public static RefFormat computeRefFormat(String ref) {
+        if (ref.startsWith("http")) {
+            return RefFormat.URL;
+        }
+        return ref.startsWith("#") ? RefFormat.INTERNAL : RefFormat.RELATIVE;
+    }
+
 
     public static String readExternalUrlRef(String file, RefFormat refFormat, List<AuthorizationValue> auths,
                                          String rootPath) {
@@ -56,7 +95,7 @@ public class RefUtils {
 
         try {
             if (refFormat == RefFormat.URL) {
-                result = RemoteUrl.urlToString(file, auths);
+                result = readUrl(file, auths);
             } else {
                 //its assumed to be a relative ref
                 String url = buildUrl(rootPath, file);
@@ -124,13 +163,13 @@ public class RefUtils {
 
         try {
             if (refFormat == RefFormat.URL) {
-                result = RemoteUrl.urlToString(file, auths);
+                result = readUrl(file, auths);
             } else {
                 //its assumed to be a relative file ref
                 final Path pathToUse = parentDirectory.resolve(file).normalize();
 
                 if(Files.exists(pathToUse)) {
-                    result = IOUtils.toString(new FileInputStream(pathToUse.toFile()), "UTF-8");
+                    result = readFile(pathToUse);
                 } else {
                     result = ClasspathHelper.loadFileFromClasspath(file);
                 }
@@ -143,4 +182,65 @@ public class RefUtils {
         return result;
 
     }
+
+    private static String readUrl(final String url, final List<AuthorizationValue> auths) throws Exception {
+        return URL_READS.load(readKey(url, auths), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return fetchUrl(url, auths);
+            }
+        });
+    }
+
+    /**
+     * Identifies the normalized url and the auth values sent to it. The values are only kept hashed.
+     */
+    private static String readKey(String url, List<AuthorizationValue> auths) {
+        String location;
+        try {
+            location = new URI(url).normalize().toString();
+        } catch (URISyntaxException e) {
+            location = url;
+        }
+        final String fingerprint = Hashes.authFingerprint(location, auths);
+        return fingerprint != null ? location + " " + fingerprint : location;
+    }
+
+    private static String fetchUrl(String url, List<AuthorizationValue> auths) throws Exception {
+        final DocumentCache cache = documentCache;
+        if (cache == null) {
+            return RemoteUrl.urlToString(url, auths);
+        }
+        // what the server returns may depend on the auth values, so copies fetched with other ones are not used
+        final String location = readKey(RemoteUrl.cleanUrl(url), auths);
+        final String validator = cache.getValidator(location);
+        final String cached = validator != null ? cache.get(location, validator) : null;
+        final RemoteUrl.Fetched fetched = RemoteUrl.revalidate(url, auths, cached != null ? validator : null);
+        if (fetched == null) {
+            return cached;
+        }
+        cache.put(location, fetched.getValidator(), fetched.getContents());
+        // parsed here once for all the parsers waiting for the read, which get copies of the cached tree
+        try {
+            cache.putTree(fetched.getContents(), DeserializationUtils.parseTree(fetched.getContents(), url));
+        } catch (IOException e) {
+            // left to the parser asking for the tree to report
+        }
+        return fetched.getContents();
+    }
+
+    private static String readFile(Path path) throws Exception {
+        final DocumentCache cache = documentCache;
+        if (cache == null) {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        }
+        final String location = path.toAbsolutePath().toUri().toString();
+        final String validator = Files.getLastModifiedTime(path).toMillis() + ":" + Files.size(path);
+        String result = cache.get(location, validator);
+        if (result == null) {
+            result = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+            cache.put(location, validator, result);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,307 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.util.HttpRemoteFetcher.CachedResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link RemoteFetcher} which limits the fetches a parallel resolution sends to each host, and retries the
+ * failed ones, e.g.
+ *
+ * <pre>
+ * RemoteUrl.setFetcher(new RemoteFetchScheduler(new HttpRemoteFetcher().connectTimeout(5000).readTimeout(30000))
+ *         .maxPerHost(2)
+ *         .maxRetries(5));
+ * </pre>
+ *
+ * At most maxPerHost fetches run at once for a host, and maxTotal overall; the others wait for their turn, first
+ * come first served. Once maxQueued fetches are waiting, or one has waited for queueTimeout, further ones fail
+ * without reaching the server.
+ *
+ * Fetches answered with a 429 or a 5xx status, or whose connection was reset, are tried again up to maxRetries
+ * times, after a random delay of up to initialBackoff, doubling with each attempt up to maxBackoff. A Retry-After
+ * of the server is followed, up to maxBackoff. A fetch waiting to be retried does not hold its place.
+ *
+ * The time spent waiting is reported to {@link ParserMetrics} as {@link ParserMetrics.Phase#QUEUE}, and the
+ * retries to {@link ParserMetrics#fetchRetried(String, int, Exception, long)}.
+ *
+ * Configure the scheduler before installing it with {@link RemoteUrl#setFetcher(RemoteFetcher)}; it is not meant
+ * to be changed while in use.
+ */
+public class RemoteFetchScheduler implements RevalidatingFetcher {
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final RemoteFetcher delegate;
+    private final ConcurrentMap<String, Semaphore> hosts = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private int maxPerHost = 4;
+    private int maxTotal = 16;
+    private Semaphore total = new Semaphore(maxTotal, true);
+    private int maxQueued = 256;
+    private long queueTimeout;
+    private int maxRetries = 3;
+    private long initialBackoff = 100;
+    private long maxBackoff = 10000;
+
+    public RemoteFetchScheduler() {
+        this(new HttpRemoteFetcher());
+    }
+
+    public RemoteFetchScheduler(RemoteFetcher delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public byte[] fetch(final String url, final List<AuthorizationValue> auths) throws Exception {
+        return schedule(url, new Callable<byte[]>() {
+            @Override
+            public byte[] call() throws Exception {
+                return delegate.fetch(url, auths);
+            }
+        });
+    }
+
+    /**
+     * Revalidates the previous response through the delegate if it is a {@link RevalidatingFetcher}, or else
+     * fetches the document again.
+     */
+    @Override
+    public CachedResponse fetch(final String url, final List<AuthorizationValue> auths, final CachedResponse previous)
+            throws Exception {
+        return schedule(url, new Callable<CachedResponse>() {
+            @Override
+            public CachedResponse call() throws Exception {
+                if (delegate instanceof RevalidatingFetcher) {
+                    return ((RevalidatingFetcher) delegate).fetch(url, auths, previous);
+                }
+                return new CachedResponse(null, null, delegate.fetch(url, auths));
+            }
+        });
+    }
+
+    private <T> T schedule(String url, Callable<T> fetch) throws Exception {
+        final Semaphore host = hostSlots(url);
+        for (int attempt = 1; ; attempt++) {
+            final long delay;
+            acquire(url, host);
+            try {
+                return fetch.call();
+            } catch (Exception e) {
+                if (attempt > maxRetries || !isRetryable(e)) {
+                    throw e;
+                }
+                delay = backoff(attempt, e);
+                ParserMetrics.get().fetchRetried(url, attempt, e, delay);
+            } finally {
+                total.release();
+                host.release();
+            }
+            Thread.sleep(delay);
+        }
+    }
+
+    /**
+     * @param e the failure of an attempt
+     * @return whether the failure may be temporary: a 429 or 5xx status, or a connection reset or closed by the
+     * server before it answered
+     */
+    protected boolean isRetryable(Exception e) {
+        if (e instanceof HttpStatusException) {
+            final int status = ((HttpStatusException) e).getStatus();
+            return status == TOO_MANY_REQUESTS || status >= 500;
+        }
+        return e instanceof SocketException && !(e instanceof ConnectException)
+                && !(e instanceof NoRouteToHostException);
+    }
+
+    private long backoff(int attempt, Exception e) {
+        final long ceiling = Math.min(maxBackoff, initialBackoff << Math.min(attempt - 1, 30));
+        final long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        final long retryAfter = e instanceof HttpStatusException ? ((HttpStatusException) e).getRetryAfter() : -1;
+        return retryAfter > delay ? Math.min(retryAfter, maxBackoff) : delay;
+    }
+
+    private Semaphore hostSlots(String url) throws IOException {
+        final URL target = new URL(url);
+        final String key = target.getHost() + ":" + target.getPort();
+        Semaphore slots = hosts.get(key);
+        if (slots == null) {
+            final Semaphore existing = hosts.putIfAbsent(key, slots = new Semaphore(maxPerHost, true));
+            if (existing != null) {
+                slots = existing;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Waits for a slot of the host of the url, then for one of the total.
+     */
+    private void acquire(String url, Semaphore host) throws Exception {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw new IOException("Too many fetches waiting, not fetching " + url);
+        }
+        final long start = System.nanoTime();
+        try {
+            final long deadline = start + TimeUnit.MILLISECONDS.toNanos(queueTimeout);
+            if (!acquire(host, deadline)) {
+                throw new IOException("Timed out waiting to fetch " + url);
+            }
+            boolean acquired = false;
+            try {
+                acquired = acquire(total, deadline);
+            } finally {
+                // timed out, or interrupted
+                if (!acquired) {
+                    host.release();
+                }
+            }
+            if (!acquired) {
+                throw new IOException("Timed out waiting to fetch " + url);
+            }
+        } finally {
+            queued.decrementAndGet();
+            ParserMetrics.get().phaseCompleted(ParserMetrics.Phase.QUEUE, url, System.nanoTime() - start);
+        }
+    }
+
+    private boolean acquire(Semaphore slots, long deadline) throws InterruptedException {
+        if (queueTimeout <= 0) {
+            slots.acquire();
+            return true;
+        }
+        return slots.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return how many fetches are waiting for their turn
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public int getMaxPerHost() {
+        return maxPerHost;
+    }
+
+    public void setMaxPerHost(int maxPerHost) {
+        if (maxPerHost <= 0) {
+            throw new IllegalArgumentException("maxPerHost must be positive");
+        }
+        this.maxPerHost = maxPerHost;
+        hosts.clear();
+    }
+
+    public RemoteFetchScheduler maxPerHost(int maxPerHost) {
+        setMaxPerHost(maxPerHost);
+        return this;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+        if (maxTotal <= 0) {
+            throw new IllegalArgumentException("maxTotal must be positive");
+        }
+        this.maxTotal = maxTotal;
+        total = new Semaphore(maxTotal, true);
+    }
+
+    public RemoteFetchScheduler maxTotal(int maxTotal) {
+        setMaxTotal(maxTotal);
+        return this;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    public RemoteFetchScheduler maxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+        return this;
+    }
+
+    public long getQueueTimeout() {
+        return queueTimeout;
+    }
+
+    public void setQueueTimeout(long queueTimeout) {
+        this.queueTimeout = queueTimeout;
+    }
+
+    /**
+     * @param queueTimeout in milliseconds, 0 to wait indefinitely
+     * @return this scheduler
+     */
+    public RemoteFetchScheduler queueTimeout(long queueTimeout) {
+        this.queueTimeout = queueTimeout;
+        return this;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public RemoteFetchScheduler maxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(long initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    /**
+     * @param initialBackoff in milliseconds
+     * @return this scheduler
+     */
+    public RemoteFetchScheduler initialBackoff(long initialBackoff) {
+        this.initialBackoff = initialBackoff;
+        return this;
+    }
+
+    public long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(long maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * @param maxBackoff in milliseconds
+     * @return this scheduler
+     */
+    public RemoteFetchScheduler maxBackoff(long maxBackoff) {
+        this.maxBackoff = maxBackoff;
+        return this;
+    }
+}
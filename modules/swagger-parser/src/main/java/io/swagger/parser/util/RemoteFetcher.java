@@ -0,0 +1,21 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.auth.AuthorizationValue;
+
+import java.util.List;
+
+/**
+ * Retrieves remote documents for {@link RemoteUrl}. Implementations are shared by all parsing threads and must be
+ * thread-safe.
+ */
+public interface RemoteFetcher {
+
+    /**
+     * @param url the http(s) url of the document
+     * @param auths the auth values to send along with the request, or null
+     * @return the body of the document with any content encoding removed. The caller owns the array and may
+     * modify it.
+     * @throws Exception if the document could not be fetched
+     */
+    byte[] fetch(String url, List<AuthorizationValue> auths) throws Exception;
+}
@@ -1,13 +1,14 @@
 package io.swagger.parser.util;
 
 import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.util.HttpRemoteFetcher.CachedResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.net.ssl.*;
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
@@ -18,6 +19,7 @@ import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -30,6 +32,14 @@ public class RemoteUrl {
     private static final Charset UTF_8 = StandardCharsets.UTF_8;
     private static final String ACCEPT_HEADER_VALUE = "application/json, application/yaml, */*";
     private static final String USER_AGENT_HEADER_VALUE = "Apache-HttpClient/Swagger";
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // the kinds of validators returned by revalidate
+    private static final String ETAG = "etag ";
+    private static final String LAST_MODIFIED = "modified ";
+    private static final String SHA_256 = "sha256 ";
+
+    private static volatile RemoteFetcher fetcher = new HttpRemoteFetcher();
 
     private static ConnectionConfigurator createConnectionConfigurator() {
         if (Boolean.parseBoolean(System.getProperty(TRUST_ALL))) {
@@ -91,81 +101,208 @@ public class RemoteUrl {
     }
 
     public static String urlToString(String url, List<AuthorizationValue> auths) throws Exception {
-        InputStream is = null;
-        BufferedReader br = null;
-
-        try {
-            final URL inUrl = new URL(cleanUrl(url));
-            final List<AuthorizationValue> query = new ArrayList<>();
-            final List<AuthorizationValue> header = new ArrayList<>();
-            if (auths != null) {
-                for (AuthorizationValue auth : auths) {
-                    if ("query".equals(auth.getType())) {
-                        appendValue(inUrl, auth, query);
-                    } else if ("header".equals(auth.getType())) {
-                        appendValue(inUrl, auth, header);
-                    }
-                }
-            }
-            final URLConnection conn;
-            if (!query.isEmpty()) {
-                final URI inUri = inUrl.toURI();
-                final StringBuilder newQuery = new StringBuilder(inUri.getQuery() == null ? "" : inUri.getQuery());
-                for (AuthorizationValue item : query) {
-                    if (newQuery.length() > 0) {
-                        newQuery.append("&");
-                    }
-                    newQuery.append(URLEncoder.encode(item.getKeyName(), UTF_8.name())).append("=")
-                            .append(URLEncoder.encode(item.getValue(), UTF_8.name()));
-                }
-                conn = new URI(inUri.getScheme(), inUri.getAuthority(), inUri.getPath(), newQuery.toString(),
-                        inUri.getFragment()).toURL().openConnection();
-            } else {
-                conn = inUrl.openConnection();
-            }
-            CONNECTION_CONFIGURATOR.process(conn);
-            for (AuthorizationValue item : header) {
-                conn.setRequestProperty(item.getKeyName(), item.getValue());
-            }
+        return urlToStream(url, auths).asString();
+    }
 
-            conn.setRequestProperty("Accept", ACCEPT_HEADER_VALUE);
-            conn.setRequestProperty("User-Agent", USER_AGENT_HEADER_VALUE);
-            conn.connect();
-            InputStream in = conn.getInputStream();
+    /**
+     * Fetches the url like {@link #urlToString(String, List)}, with the same control characters removed, but
+     * returns the UTF-8 bytes of the document so they can be handed to a parser without building a String.
+     *
+     * @param url the http(s) url of the document
+     * @param auths the auth values to send along with the request, or null
+     * @return the body of the document
+     * @throws Exception if the document could not be fetched
+     */
+    public static Body urlToStream(String url, List<AuthorizationValue> auths) throws Exception {
+        final byte[] bytes = fetch(url, auths, false, null).getBody();
+        return new Body(bytes, removeControlCharacters(bytes, bytes.length));
+    }
 
-            StringBuilder contents = new StringBuilder();
+    /**
+     * Fetches the url like {@link #urlToString(String, List)}, unless the copy the validator identifies is still
+     * current. A {@link RevalidatingFetcher} is sent a conditional request; other fetchers fetch the document
+     * again, which is then compared with the copy by its hash.
+     *
+     * @param url the http(s) url of the document
+     * @param auths the auth values to send along with the request, or null
+     * @param validator returned along with the copy by an earlier call, or null if there is no copy
+     * @return the document and its validator, or null if the copy is still current
+     * @throws Exception if the document could not be fetched
+     */
+    public static Fetched revalidate(String url, List<AuthorizationValue> auths, String validator) throws Exception {
+        final CachedResponse previous = previous(validator);
+        final CachedResponse response = fetch(url, auths, true, previous);
+        if (previous != null && response == previous) {
+            return null;
+        }
+        final byte[] bytes = response.getBody();
+        final String contents = new Body(bytes, removeControlCharacters(bytes, bytes.length)).asString();
+        String current;
+        if (response.getEtag() != null) {
+            current = ETAG + response.getEtag();
+        } else if (response.getLastModified() != null) {
+            current = LAST_MODIFIED + response.getLastModified();
+        } else {
+            current = SHA_256 + Hashes.sha256(contents);
+        }
+        return current.equals(validator) ? null : new Fetched(contents, current);
+    }
 
-            BufferedReader input = new BufferedReader(new InputStreamReader(in, UTF_8));
+    private static CachedResponse previous(String validator) {
+        if (validator == null) {
+            return null;
+        } else if (validator.startsWith(ETAG)) {
+            return new CachedResponse(validator.substring(ETAG.length()), null, null);
+        } else if (validator.startsWith(LAST_MODIFIED)) {
+            return new CachedResponse(null, validator.substring(LAST_MODIFIED.length()), null);
+        }
+        return null;
+    }
 
-            for (int i = 0; i != -1; i = input.read()) {
-                char c = (char) i;
-                if (!Character.isISOControl(c)) {
-                    contents.append((char) i);
-                }
-                if (c == '\n') {
-                    contents.append('\n');
-                }
+    /**
+     * @param conditional whether to revalidate the previous response, if the fetcher can
+     * @return previous itself if it is still current, else a response whose body the caller owns
+     */
+    private static CachedResponse fetch(String url, List<AuthorizationValue> auths, boolean conditional,
+                                        CachedResponse previous) throws Exception {
+        final RemoteFetcher current = fetcher;
+        final FlightRecorderEvents.Event event = FlightRecorderEvents.FETCH.begin();
+        long length = -1;
+        String status = "OK";
+        try {
+            final long start = System.nanoTime();
+            final CachedResponse response;
+            if (conditional && current instanceof RevalidatingFetcher) {
+                final CachedResponse fetched = ((RevalidatingFetcher) current).fetch(url, auths, previous);
+                response = fetched == previous ? previous
+                        : new CachedResponse(fetched.getEtag(), fetched.getLastModified(), fetched.getBody().clone());
+            } else {
+                response = new CachedResponse(null, null, current.fetch(url, auths));
             }
-
-            in.close();
-
-            return contents.toString();
+            final ParserMetrics metrics = ParserMetrics.get();
+            metrics.phaseCompleted(ParserMetrics.Phase.FETCH, url, System.nanoTime() - start);
+            if (response == previous) {
+                status = "Not Modified";
+                length = 0;
+            } else {
+                length = response.getBody().length;
+            }
+            metrics.bytesFetched(url, length);
+            return response;
         } catch (javax.net.ssl.SSLProtocolException e) {
+            status = e.toString();
             LOGGER.warn("there is a problem with the target SSL certificate");
             LOGGER.warn("**** you may want to run with -Djsse.enableSNIExtension=false\n\n");
             LOGGER.error("unable to read", e);
             throw e;
         } catch (Exception e) {
+            status = e.toString();
             LOGGER.error("unable to read", e);
             throw e;
         } finally {
-            if (is != null) {
-                is.close();
+            if (event != null) {
+                event.commit(url, length, status);
             }
-            if (br != null) {
-                br.close();
+        }
+    }
+
+    public static RemoteFetcher getFetcher() {
+        return fetcher;
+    }
+
+    /**
+     * Sets the fetcher used for all remote documents: the root definitions as well as the files they reference.
+     * Passing null restores the default {@link HttpRemoteFetcher}.
+     *
+     * @param fetcher the fetcher, or null
+     */
+    public static void setFetcher(RemoteFetcher fetcher) {
+        RemoteUrl.fetcher = fetcher != null ? fetcher : new HttpRemoteFetcher();
+    }
+
+    /**
+     * Reads the whole stream into an array presized from the expected length, if known.
+     */
+    static byte[] readFully(InputStream in, int expectedLength) throws IOException {
+        byte[] buffer = new byte[expectedLength > 0 ? expectedLength : DEFAULT_BUFFER_SIZE];
+        int count = 0;
+        while (true) {
+            if (count == buffer.length) {
+                // more than expected, or the length was unknown; make sure we are not at the end before growing
+                final int next = in.read();
+                if (next == -1) {
+                    break;
+                }
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                buffer[count++] = (byte) next;
+            }
+            final int read = in.read(buffer, count, buffer.length - count);
+            if (read == -1) {
+                break;
             }
+            count += read;
         }
+        return count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Removes the ISO control characters other than newline from the UTF-8 encoded bytes, compacting the array,
+     * and returns the new length. U+0000-U+001F and U+007F are single bytes, which never occur inside a multi-byte
+     * sequence, and U+0080-U+009F are encoded as 0xC2 0x80-0x9F.
+     */
+    static int removeControlCharacters(byte[] bytes, int length) {
+        int out = 0;
+        for (int i = 0; i < length; i++) {
+            final int b = bytes[i] & 0xFF;
+            if ((b < 0x20 && b != '\n') || b == 0x7F) {
+                continue;
+            }
+            if (b == 0xC2 && i + 1 < length && (bytes[i + 1] & 0xFF) >= 0x80 && (bytes[i + 1] & 0xFF) <= 0x9F) {
+                i++;
+                continue;
+            }
+            bytes[out++] = bytes[i];
+        }
+        return out;
+    }
+
+    static URLConnection openConnection(String url, List<AuthorizationValue> auths) throws Exception {
+        final URL inUrl = new URL(cleanUrl(url));
+        final List<AuthorizationValue> query = new ArrayList<>();
+        final List<AuthorizationValue> header = new ArrayList<>();
+        if (auths != null) {
+            for (AuthorizationValue auth : auths) {
+                if ("query".equals(auth.getType())) {
+                    appendValue(inUrl, auth, query);
+                } else if ("header".equals(auth.getType())) {
+                    appendValue(inUrl, auth, header);
+                }
+            }
+        }
+        final URLConnection conn;
+        if (!query.isEmpty()) {
+            final URI inUri = inUrl.toURI();
+            final StringBuilder newQuery = new StringBuilder(inUri.getQuery() == null ? "" : inUri.getQuery());
+            for (AuthorizationValue item : query) {
+                if (newQuery.length() > 0) {
+                    newQuery.append("&");
+                }
+                newQuery.append(URLEncoder.encode(item.getKeyName(), UTF_8.name())).append("=")
+                        .append(URLEncoder.encode(item.getValue(), UTF_8.name()));
+            }
+            conn = new URI(inUri.getScheme(), inUri.getAuthority(), inUri.getPath(), newQuery.toString(),
+                    inUri.getFragment()).toURL().openConnection();
+        } else {
+            conn = inUrl.openConnection();
+        }
+        CONNECTION_CONFIGURATOR.process(conn);
+        for (AuthorizationValue item : header) {
+            conn.setRequestProperty(item.getKeyName(), item.getValue());
+        }
+
+        conn.setRequestProperty("Accept", ACCEPT_HEADER_VALUE);
+        conn.setRequestProperty("User-Agent", USER_AGENT_HEADER_VALUE);
+        return conn;
     }
 
     private static void appendValue(URL url, AuthorizationValue value, Collection<AuthorizationValue> to) {
@@ -177,6 +314,45 @@ public class RemoteUrl {
         to.add(value);
     }
 
+    /**
+     * The fetched document, readable as a stream of UTF-8 bytes without copying them.
+     */
+    public static class Body extends ByteArrayInputStream {
+
+        private Body(byte[] buffer, int length) {
+            super(buffer, 0, length);
+        }
+
+        public String asString() {
+            return new String(buf, 0, count, UTF_8);
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buf, count);
+        }
+    }
+
+    /**
+     * A document returned by {@link #revalidate(String, List, String)}, along with the validator identifying it.
+     */
+    public static final class Fetched {
+        private final String contents;
+        private final String validator;
+
+        private Fetched(String contents, String validator) {
+            this.contents = contents;
+            this.validator = validator;
+        }
+
+        public String getContents() {
+            return contents;
+        }
+
+        public String getValidator() {
+            return validator;
+        }
+    }
+
     private interface ConnectionConfigurator {
 
         void process(URLConnection connection);
@@ -0,0 +1,23 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.util.HttpRemoteFetcher.CachedResponse;
+
+import java.util.List;
+
+/**
+ * A {@link RemoteFetcher} which can tell whether a document changed since an earlier response, e.g. with a
+ * conditional request, so that a cached copy is revalidated without downloading it again.
+ */
+public interface RevalidatingFetcher extends RemoteFetcher {
+
+    /**
+     * @param url the http(s) url of the document
+     * @param auths the auth values to send along with the request, or null
+     * @param previous an earlier response for the same url and auth values, whose body may be left out, or null
+     * @return previous itself if the document did not change, else the new response. The body of the returned
+     * response must not be modified.
+     * @throws Exception if the document could not be fetched
+     */
+    CachedResponse fetch(String url, List<AuthorizationValue> auths, CachedResponse previous) throws Exception;
+}
@@ -0,0 +1,50 @@
+package io.swagger.parser.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs a load once for all the threads asking for the same key at the same time: the first one runs it on its own
+ * thread, the others wait for its result, or get its failure. Nothing is kept once a load is done, successful or
+ * not, so the next call loads again.
+ *
+ * All the threads get the same value, so it should not be modified by any of them.
+ */
+class SingleFlight<K, V> {
+    private final ConcurrentMap<K, FutureTask<V>> loads = new ConcurrentHashMap<>();
+
+    V load(K key, Callable<V> loader) throws Exception {
+        final FutureTask<V> load = new FutureTask<>(loader);
+        final FutureTask<V> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            return get(running);
+        }
+        try {
+            load.run();
+        } finally {
+            loads.remove(key, load);
+        }
+        return get(load);
+    }
+
+    private static <V> V get(FutureTask<V> load) throws Exception {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -43,6 +43,7 @@ import io.swagger.models.ArrayModel;
 import io.swagger.models.ComposedModel;
 import io.swagger.models.Contact;
 import io.swagger.models.ExternalDocs;
+import io.swagger.models.HttpMethod;
 import io.swagger.models.Info;
 import io.swagger.models.License;
 import io.swagger.models.Model;
@@ -107,9 +108,35 @@ public class SwaggerDeserializer {
 	static Set<String> SECURITY_SCHEME_KEYS = new HashSet<>(
 			Arrays.asList("type", "name", "in", "description", "flow", "authorizationUrl", "tokenUrl", "scopes"));
 
+	// the operations to keep, null to keep them all
+	private OperationSlice slice;
+
+	public OperationFilter getOperationFilter() {
+		return slice != null ? slice.getFilter() : null;
+	}
+
+	/**
+	 * Keeps only the operations accepted by the filter, and the definitions, parameters and responses of the root
+	 * they refer to. Paths left without operations are dropped; paths defined by a `$ref` are kept.
+	 *
+	 * @param operationFilter the filter, or null to keep all the operations
+	 */
+	public void setOperationFilter(final OperationFilter operationFilter) {
+		slice = operationFilter != null ? new OperationSlice(operationFilter) : null;
+	}
+
+	public SwaggerDeserializer operationFilter(final OperationFilter operationFilter) {
+		setOperationFilter(operationFilter);
+		return this;
+	}
+
 	public SwaggerDeserializationResult deserialize(final JsonNode rootNode) {
 		final SwaggerDeserializationResult result = new SwaggerDeserializationResult();
 		final ParseResult rootParse = new ParseResult();
+		if (slice != null) {
+			// the refs kept from the previous document
+			slice = new OperationSlice(slice.getFilter());
+		}
 
 		final Swagger swagger = parseRoot(rootNode, rootParse);
 		result.setSwagger(swagger);
@@ -183,12 +210,21 @@ public class SwaggerDeserializer {
 			obj = getObject("paths", on, true, location, result);
 			final Map<String, Path> paths = paths(obj, "paths", result);
 			swagger.paths(paths);
+			if (slice != null) {
+				slice.reach(on);
+			}
 
 			obj = getObject("definitions", on, false, location, result);
+			if (slice != null) {
+				obj = slice.retain("definitions", obj);
+			}
 			final Map<String, Model> definitions = definitions(obj, "definitions", result);
 			swagger.setDefinitions(definitions);
 
 			obj = getObject("parameters", on, false, location, result);
+			if (slice != null) {
+				obj = slice.retain("parameters", obj);
+			}
 			// TODO: parse
 
 			if (obj != null) {
@@ -205,6 +241,9 @@ public class SwaggerDeserializer {
 			}
 
 			obj = getObject("responses", on, false, location, result);
+			if (slice != null) {
+				obj = slice.retain("responses", obj);
+			}
 			final Map<String, Response> responses = responses(obj, "responses", result);
 			swagger.responses(responses);
 
@@ -258,8 +297,10 @@ public class SwaggerDeserializer {
 					result.invalidType(location, pathName, "object", pathValue);
 				} else {
 					final ObjectNode path = (ObjectNode) pathValue;
-					final Path pathObj = path(path, location + ".'" + pathName + "'", result);
-					output.put(pathName, pathObj);
+					final Path pathObj = path(pathName, path, location + ".'" + pathName + "'", result);
+					if (pathObj != null || slice == null) {
+						output.put(pathName, pathObj);
+					}
 				}
 			}
 		}
@@ -267,6 +308,17 @@ public class SwaggerDeserializer {
 	}
 
 	public Path path(final ObjectNode obj, final String location, final ParseResult result) {
+		return path(null, obj, location, result);
+	}
+
+	/**
+	 * @param pathName the key of the path, for the {@link OperationFilter}
+	 * @param obj the value of the path
+	 * @param location where the path is, for the messages
+	 * @param result collects the messages
+	 * @return the path, or null if none of its operations is kept
+	 */
+	public Path path(final String pathName, final ObjectNode obj, final String location, final ParseResult result) {
 		final boolean hasRef = false;
 		final Path output = null;
 		if (obj.get("$ref") != null) {
@@ -292,54 +344,60 @@ public class SwaggerDeserializer {
 		path.setParameters(parameters(parameters, location, result));
 
 		ObjectNode on = getObject("get", obj, false, location, result);
-		if (on != null) {
+		if (on != null && accept(pathName, HttpMethod.GET, on)) {
 			final Operation op = operation(on, location + "(get)", result);
 			if (op != null) {
 				path.setGet(op);
 			}
 		}
 		on = getObject("put", obj, false, location, result);
-		if (on != null) {
+		if (on != null && accept(pathName, HttpMethod.PUT, on)) {
 			final Operation op = operation(on, location + "(put)", result);
 			if (op != null) {
 				path.setPut(op);
 			}
 		}
 		on = getObject("post", obj, false, location, result);
-		if (on != null) {
+		if (on != null && accept(pathName, HttpMethod.POST, on)) {
 			final Operation op = operation(on, location + "(post)", result);
 			if (op != null) {
 				path.setPost(op);
 			}
 		}
 		on = getObject("head", obj, false, location, result);
-		if (on != null) {
+		if (on != null && accept(pathName, HttpMethod.HEAD, on)) {
 			final Operation op = operation(on, location + "(head)", result);
 			if (op != null) {
 				path.setHead(op);
 			}
 		}
 		on = getObject("delete", obj, false, location, result);
-		if (on != null) {
+		if (on != null && accept(pathName, HttpMethod.DELETE, on)) {
 			final Operation op = operation(on, location + "(delete)", result);
 			if (op != null) {
 				path.setDelete(op);
 			}
 		}
 		on = getObject("patch", obj, false, location, result);
-		if (on != null) {
+		if (on != null && accept(pathName, HttpMethod.PATCH, on)) {
 			final Operation op = operation(on, location + "(patch)", result);
 			if (op != null) {
 				path.setPatch(op);
 			}
 		}
 		on = getObject("options", obj, false, location, result);
-		if (on != null) {
+		if (on != null && accept(pathName, HttpMethod.OPTIONS, on)) {
 			final Operation op = operation(on, location + "(options)", result);
 			if (op != null) {
 				path.setOptions(op);
 			}
 		}
+		if (slice != null) {
+			if (path.getOperations().isEmpty()) {
+				return null;
+			}
+			slice.keep(parameters);
+		}
 
 		// extra keys
 		final Set<String> keys = getKeys(obj);
@@ -353,6 +411,10 @@ public class SwaggerDeserializer {
 		return path;
 	}
 
+	private boolean accept(final String pathName, final HttpMethod method, final ObjectNode operation) {
+		return slice == null || slice.accept(pathName, method, operation);
+	}
+
 	public Operation operation(final ObjectNode obj, final String location, final ParseResult result) {
 		if (obj == null) {
 			return null;
@@ -1620,6 +1682,16 @@ public class SwaggerDeserializer {
 			valid = false;
 		}
 
+		public void addAll(final ParseResult other) {
+			extra.putAll(other.extra);
+			unsupported.putAll(other.unsupported);
+			invalidType.putAll(other.invalidType);
+			missing.addAll(other.missing);
+			if (!other.valid) {
+				valid = false;
+			}
+		}
+
 		public Map<Location, JsonNode> getUnsupported() {
 			return unsupported;
 		}
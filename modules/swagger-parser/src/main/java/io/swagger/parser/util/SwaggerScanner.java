@@ -0,0 +1,119 @@
+package io.swagger.parser.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.parser.util.SwaggerDeserializer.ParseResult;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reads the top-level metadata of a json or yaml definition, `swagger`, `info`, `host`, `basePath` and `tags`, and
+ * counts its paths, operations and definitions, without deserializing anything else.
+ *
+ * The document is read as a stream of tokens: only `info` and `tags` are read as trees, the values of the other
+ * keys, and the operations and definitions which are counted, are skipped at the token level. Yaml aliases are not
+ * expanded.
+ */
+public class SwaggerScanner {
+    private static final Set<String> METHODS = new HashSet<>(
+            Arrays.asList("get", "put", "post", "delete", "head", "patch", "options"));
+
+    /**
+     * Scans the json or yaml document of the stream, which is not closed.
+     *
+     * @param in the document
+     * @return what the document holds
+     * @throws IOException if the stream could not be read or the document is malformed
+     */
+    public SwaggerSummary scan(InputStream in) throws IOException {
+        final InputStream input = in.markSupported() ? in : new BufferedInputStream(in);
+        final ObjectMapper mapper = DeserializationUtils.isJson(input) ? Json.mapper() : Yaml.mapper();
+        try (JsonParser parser = mapper.getFactory().createParser(input)) {
+            // the caller owns the source
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return scan(parser, mapper);
+        }
+    }
+
+    /**
+     * @param parser a parser of the document, before its first token
+     * @param mapper the mapper the parser was created from, used to read `info` and `tags`
+     * @return what the document holds
+     * @throws IOException if the document could not be read or is malformed
+     */
+    public SwaggerSummary scan(JsonParser parser, ObjectMapper mapper) throws IOException {
+        final SwaggerSummary summary = new SwaggerSummary();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return summary;
+        }
+        final SwaggerDeserializer deserializer = new SwaggerDeserializer();
+        final ParseResult result = new ParseResult();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = parser.getCurrentName();
+            final JsonToken value = parser.nextToken();
+            if ("swagger".equals(key) && value.isScalarValue()) {
+                summary.setSwagger(parser.getText());
+            } else if ("host".equals(key) && value.isScalarValue()) {
+                summary.setHost(parser.getText());
+            } else if ("basePath".equals(key) && value.isScalarValue()) {
+                summary.setBasePath(parser.getText());
+            } else if ("info".equals(key) && value == JsonToken.START_OBJECT) {
+                final JsonNode info = mapper.readTree(parser);
+                summary.setInfo(deserializer.info((ObjectNode) info, "info", result));
+            } else if ("tags".equals(key) && value == JsonToken.START_ARRAY) {
+                final JsonNode tags = mapper.readTree(parser);
+                summary.setTags(deserializer.tags((ArrayNode) tags, "", result));
+            } else if ("paths".equals(key) && value == JsonToken.START_OBJECT) {
+                countPaths(parser, summary);
+            } else if ("definitions".equals(key) && value == JsonToken.START_OBJECT) {
+                int count = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                    parser.skipChildren();
+                    count++;
+                }
+                summary.setDefinitionCount(count);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Counts the paths {@link SwaggerDeserializer#paths} would keep, the objects under keys not starting with
+     * `x-`, and the operations among their keys.
+     */
+    private void countPaths(JsonParser parser, SwaggerSummary summary) throws IOException {
+        int paths = 0;
+        int operations = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String pathName = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT || pathName.startsWith("x-")) {
+                parser.skipChildren();
+                continue;
+            }
+            paths++;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT && METHODS.contains(key)) {
+                    operations++;
+                }
+                parser.skipChildren();
+            }
+        }
+        summary.setPathCount(paths);
+        summary.setOperationCount(operations);
+    }
+}
@@ -0,0 +1,188 @@
+package io.swagger.parser.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.Model;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.parser.util.SwaggerDeserializer.ParseResult;
+import io.swagger.util.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Deserializes a swagger 2.0 document from a stream of parser tokens instead of a complete JsonNode tree.
+ *
+ * The entries of `paths` and `definitions`, which make up the bulk of large documents, are read and
+ * deserialized one at a time, so only a single path or definition is held as a tree at any point. Each entry
+ * is handed to the same {@link SwaggerDeserializer} methods as in tree mode, so the resulting model and
+ * messages are the same.
+ */
+public class SwaggerStreamingDeserializer {
+    private OperationFilter operationFilter;
+
+    public OperationFilter getOperationFilter() {
+        return operationFilter;
+    }
+
+    /**
+     * @param operationFilter the filter, or null to keep all the operations
+     * @see SwaggerDeserializer#setOperationFilter(OperationFilter)
+     */
+    public void setOperationFilter(OperationFilter operationFilter) {
+        this.operationFilter = operationFilter;
+    }
+
+    public SwaggerStreamingDeserializer operationFilter(OperationFilter operationFilter) {
+        setOperationFilter(operationFilter);
+        return this;
+    }
+
+    public SwaggerDeserializationResult deserialize(InputStream in) throws IOException {
+        try (JsonParser parser = Json.mapper().getFactory().createParser(in)) {
+            // the caller owns the source
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return deserialize(parser, Json.mapper());
+        }
+    }
+
+    public SwaggerDeserializationResult deserialize(Reader reader) throws IOException {
+        try (JsonParser parser = Json.mapper().getFactory().createParser(reader)) {
+            // the caller owns the source
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return deserialize(parser, Json.mapper());
+        }
+    }
+
+    /**
+     * @param parser a parser of the document, before its first token
+     * @param mapper the mapper the parser was created from, used to read the small subtrees
+     * @return the unresolved definition, along with the messages about what is wrong with it
+     * @throws IOException if the document could not be read or is malformed
+     */
+    public SwaggerDeserializationResult deserialize(JsonParser parser, ObjectMapper mapper) throws IOException {
+        final SwaggerDeserializationResult output = new SwaggerDeserializationResult();
+        final ParseResult result = new ParseResult();
+        final StreamedRootDeserializer deserializer = new StreamedRootDeserializer();
+        deserializer.setOperationFilter(operationFilter);
+
+        final JsonToken first = parser.nextToken();
+        if (first == null) {
+            return output.message("empty or null swagger supplied");
+        }
+        if (first != JsonToken.START_OBJECT) {
+            output.setSwagger(deserializer.parseRoot(readTree(parser, mapper), result));
+            output.setMessages(result.getMessages());
+            return output;
+        }
+
+        // everything but paths and definitions is small, so it is collected into a tree for parseRoot
+        final ObjectNode root = mapper.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = parser.getCurrentName();
+            final JsonToken value = parser.nextToken();
+            if ("paths".equals(key) && value == JsonToken.START_OBJECT) {
+                deserializer.pathsResult = new ParseResult();
+                deserializer.streamedPaths = paths(parser, mapper, deserializer, "paths", deserializer.pathsResult);
+                root.putObject(key);
+            } else if ("definitions".equals(key) && value == JsonToken.START_OBJECT
+                    && deserializer.getOperationFilter() == null) {
+                // streamed unless filtering, which needs the paths first to know which ones to keep
+                deserializer.definitionsResult = new ParseResult();
+                deserializer.streamedDefinitions = definitions(parser, mapper, deserializer, "definitions",
+                        deserializer.definitionsResult);
+                root.putObject(key);
+            } else {
+                root.set(key, readTree(parser, mapper));
+            }
+        }
+
+        output.setSwagger(deserializer.parseRoot(root, result));
+        output.setMessages(result.getMessages());
+        return output;
+    }
+
+    private Map<String, Path> paths(JsonParser parser, ObjectMapper mapper, SwaggerDeserializer deserializer,
+                                    String location, ParseResult result) throws IOException {
+        final Map<String, Path> output = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String pathName = parser.getCurrentName();
+            parser.nextToken();
+            final JsonNode pathValue = readTree(parser, mapper);
+            if (pathName.startsWith("x-")) {
+                result.unsupported(location, pathName, pathValue);
+            } else if (!pathValue.getNodeType().equals(JsonNodeType.OBJECT)) {
+                result.invalidType(location, pathName, "object", pathValue);
+            } else {
+                final Path path = deserializer.path(pathName, (ObjectNode) pathValue, location + ".'" + pathName + "'",
+                        result);
+                if (path != null || deserializer.getOperationFilter() == null) {
+                    output.put(pathName, path);
+                }
+            }
+        }
+        return output;
+    }
+
+    private Map<String, Model> definitions(JsonParser parser, ObjectMapper mapper, SwaggerDeserializer deserializer,
+                                           String location, ParseResult result) throws IOException {
+        final Map<String, Model> output = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String schemaName = parser.getCurrentName();
+            parser.nextToken();
+            final JsonNode schema = readTree(parser, mapper);
+            if (schema.getNodeType().equals(JsonNodeType.OBJECT)) {
+                final Model model = deserializer.definition((ObjectNode) schema, location + "." + schemaName, result);
+                if (model != null) {
+                    output.put(schemaName, model);
+                }
+            } else {
+                result.invalidType(location, schemaName, "object", schema);
+            }
+        }
+        return output;
+    }
+
+    private JsonNode readTree(JsonParser parser, ObjectMapper mapper) throws IOException {
+        final JsonNode node = mapper.readTree(parser);
+        return node == null ? NullNode.getInstance() : node;
+    }
+
+    /**
+     * Runs the regular root deserialization, substituting the paths and definitions streamed beforehand and
+     * merging their messages in at the point tree mode would have produced them.
+     */
+    private static class StreamedRootDeserializer extends SwaggerDeserializer {
+        private Map<String, Path> streamedPaths;
+        private ParseResult pathsResult;
+        private Map<String, Model> streamedDefinitions;
+        private ParseResult definitionsResult;
+
+        @Override
+        public Map<String, Path> paths(ObjectNode obj, String location, ParseResult result) {
+            if (pathsResult == null) {
+                return super.paths(obj, location, result);
+            }
+            result.addAll(pathsResult);
+            return streamedPaths;
+        }
+
+        @Override
+        public Map<String, Model> definitions(ObjectNode node, String location, ParseResult result) {
+            if (definitionsResult == null) {
+                return super.definitions(node, location, result);
+            }
+            result.addAll(definitionsResult);
+            return streamedDefinitions;
+        }
+    }
+}
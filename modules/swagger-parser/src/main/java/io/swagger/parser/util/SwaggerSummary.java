@@ -0,0 +1,88 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.Info;
+import io.swagger.models.Tag;
+
+import java.util.List;
+
+/**
+ * The top-level metadata of a definition and the size of its paths and definitions, as found by a
+ * {@link SwaggerScanner}.
+ */
+public class SwaggerSummary {
+    private String swagger;
+    private Info info;
+    private String host;
+    private String basePath;
+    private List<Tag> tags;
+    private int pathCount;
+    private int operationCount;
+    private int definitionCount;
+
+    /**
+     * @return the value of the `swagger` key, e.g. "2.0", null if there is none
+     */
+    public String getSwagger() {
+        return swagger;
+    }
+
+    public void setSwagger(String swagger) {
+        this.swagger = swagger;
+    }
+
+    public Info getInfo() {
+        return info;
+    }
+
+    public void setInfo(Info info) {
+        this.info = info;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public String getBasePath() {
+        return basePath;
+    }
+
+    public void setBasePath(String basePath) {
+        this.basePath = basePath;
+    }
+
+    public List<Tag> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<Tag> tags) {
+        this.tags = tags;
+    }
+
+    public int getPathCount() {
+        return pathCount;
+    }
+
+    public void setPathCount(int pathCount) {
+        this.pathCount = pathCount;
+    }
+
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    public void setOperationCount(int operationCount) {
+        this.operationCount = operationCount;
+    }
+
+    public int getDefinitionCount() {
+        return definitionCount;
+    }
+
+    public void setDefinitionCount(int definitionCount) {
+        this.definitionCount = definitionCount;
+    }
+}
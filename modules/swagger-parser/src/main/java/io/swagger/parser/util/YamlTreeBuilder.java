@@ -0,0 +1,319 @@
+package io.swagger.parser.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.util.Json;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a JsonNode tree straight from the events of the SnakeYAML parser, instead of loading the document into Maps
+ * and Lists and converting those with Jackson.
+ *
+ * The tree is the same as the one of the conversion: tags are resolved and scalars constructed by SnakeYAML itself,
+ * with the rules of its SafeConstructor; aliases are replaced by a copy of their anchored node; merge keys, sets,
+ * ordered maps and pairs are handled as SafeConstructor does. Only recursive aliases, which cannot be converted to a
+ * tree either, are rejected.
+ *
+ * Instances can be reused but are not thread-safe.
+ */
+class YamlTreeBuilder {
+    private static final Tag SET = new Tag(Tag.PREFIX + "set");
+
+    private final Resolver resolver = new Resolver();
+    private final ScalarConstructor constructor = new ScalarConstructor();
+    private final JsonNodeFactory factory = Json.mapper().getNodeFactory();
+    private final Map<String, JsonNode> anchors = new HashMap<>();
+    private final Set<String> openAnchors = new HashSet<>();
+    // the anchored mappings the aliases were copied from, and those SafeConstructor left reversed by a merge
+    private final Map<JsonNode, JsonNode> aliasedMappings = new IdentityHashMap<>();
+    private final Set<JsonNode> reversedMappings = Collections.newSetFromMap(new IdentityHashMap<JsonNode, Boolean>());
+
+    /**
+     * @return the tree of the only document of the stream, or null if it is empty or null
+     */
+    public JsonNode build(StreamReader reader) {
+        try {
+            final Parser parser = new ParserImpl(reader);
+            parser.getEvent();
+            if (parser.checkEvent(Event.ID.StreamEnd)) {
+                return null;
+            }
+            parser.getEvent();
+            final JsonNode node = node(parser);
+            parser.getEvent();
+            if (!parser.checkEvent(Event.ID.StreamEnd)) {
+                throw new YAMLException("expected a single document in the stream but found another document "
+                        + parser.getEvent().getStartMark());
+            }
+            return node.isNull() ? null : node;
+        } finally {
+            anchors.clear();
+            openAnchors.clear();
+            aliasedMappings.clear();
+            reversedMappings.clear();
+        }
+    }
+
+    private JsonNode node(Parser parser) {
+        final Event event = parser.getEvent();
+        final String anchor = ((NodeEvent) event).getAnchor();
+        if (event.is(Event.ID.Alias)) {
+            final JsonNode node = anchors.get(anchor);
+            if (node == null) {
+                throw new YAMLException((openAnchors.contains(anchor) ? "found recursive alias " : "found undefined alias ")
+                        + anchor + event.getStartMark());
+            }
+            // the conversion did not share nodes either
+            final JsonNode copy = node.deepCopy();
+            if (copy.isObject()) {
+                aliasedMappings.put(copy, node);
+            }
+            return copy;
+        }
+
+        if (anchor != null) {
+            openAnchors.add(anchor);
+        }
+        final JsonNode node;
+        if (event.is(Event.ID.Scalar)) {
+            node = scalar((ScalarEvent) event);
+        } else if (event.is(Event.ID.SequenceStart)) {
+            node = sequence((CollectionStartEvent) event, parser);
+        } else {
+            node = mapping((CollectionStartEvent) event, parser);
+        }
+        if (anchor != null) {
+            openAnchors.remove(anchor);
+            anchors.put(anchor, node);
+        }
+        return node;
+    }
+
+    private JsonNode scalar(ScalarEvent event) {
+        final Tag tag = event.getTag() == null || "!".equals(event.getTag())
+                ? resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar())
+                : new Tag(event.getTag());
+        // most scalars are strings, which need no construction
+        if (Tag.STR.equals(tag)) {
+            return factory.textNode(event.getValue());
+        }
+        final Object value = constructor.construct(
+                new ScalarNode(tag, event.getValue(), event.getStartMark(), event.getEndMark(), event.getStyle()));
+        if (value == null) {
+            return factory.nullNode();
+        } else if (value instanceof String) {
+            return factory.textNode((String) value);
+        } else if (value instanceof Boolean) {
+            return factory.booleanNode((Boolean) value);
+        } else if (value instanceof Integer) {
+            return factory.numberNode((Integer) value);
+        } else if (value instanceof Long) {
+            return factory.numberNode((Long) value);
+        } else if (value instanceof BigInteger) {
+            return factory.numberNode((BigInteger) value);
+        } else if (value instanceof Double) {
+            return factory.numberNode((Double) value);
+        }
+        // dates and binaries
+        return Json.mapper().valueToTree(value);
+    }
+
+    private JsonNode sequence(CollectionStartEvent start, Parser parser) {
+        final Tag tag = collectionTag(start, NodeId.sequence);
+        final ArrayNode items = factory.arrayNode();
+        while (!parser.checkEvent(Event.ID.SequenceEnd)) {
+            items.add(node(parser));
+        }
+        parser.getEvent();
+
+        if (Tag.OMAP.equals(tag) || Tag.PAIRS.equals(tag)) {
+            // sequences of single pair mappings, constructed as a map and as a list of arrays
+            final ObjectNode map = factory.objectNode();
+            final ArrayNode pairs = factory.arrayNode();
+            for (JsonNode item : items) {
+                if (!item.isObject() || item.size() != 1) {
+                    throw new YAMLException("expected a single mapping item in " + tag + start.getStartMark());
+                }
+                final Map.Entry<String, JsonNode> pair = item.fields().next();
+                map.set(pair.getKey(), pair.getValue());
+                pairs.addArray().add(pair.getKey()).add(pair.getValue());
+            }
+            return Tag.OMAP.equals(tag) ? map : pairs;
+        }
+        return items;
+    }
+
+    private JsonNode mapping(CollectionStartEvent start, Parser parser) {
+        final Tag tag = collectionTag(start, NodeId.mapping);
+        final ObjectNode map = factory.objectNode();
+        final ArrayNode set = SET.equals(tag) ? factory.arrayNode() : null;
+        // the keys and values in order, merge keys as null, if the mapping has any merge key
+        List<String> keys = null;
+        List<JsonNode> values = null;
+        while (!parser.checkEvent(Event.ID.MappingEnd)) {
+            final boolean isMergeKey = isMergeKey(parser.peekEvent());
+            // merge keys have no value of their own
+            final JsonNode key = isMergeKey ? null : node(parser);
+            if (isMergeKey) {
+                parser.getEvent();
+            }
+            final JsonNode value = node(parser);
+            if (set != null) {
+                // a set keeps its keys, whatever their type, once
+                if (!contains(set, key)) {
+                    set.add(key);
+                }
+                continue;
+            }
+            if (isMergeKey && keys == null) {
+                keys = new ArrayList<>();
+                values = new ArrayList<>();
+                for (Iterator<Map.Entry<String, JsonNode>> fields = map.fields(); fields.hasNext(); ) {
+                    final Map.Entry<String, JsonNode> field = fields.next();
+                    keys.add(field.getKey());
+                    values.add(field.getValue());
+                }
+            }
+            if (keys != null) {
+                keys.add(isMergeKey ? null : key(key));
+                values.add(value);
+            } else {
+                map.set(key(key), value);
+            }
+        }
+        parser.getEvent();
+
+        if (set != null) {
+            return set;
+        }
+        if (keys == null) {
+            return map;
+        }
+        final ObjectNode merged = factory.objectNode();
+        merge(merged, keys, values, true, start);
+        return merged;
+    }
+
+    /**
+     * Merges the fields the way SafeConstructor does: from the last to the first, the fields of the mapping replacing
+     * the values of the merged ones in place and the first merged mappings winning over the next ones.
+     */
+    private void merge(ObjectNode merged, List<String> keys, List<JsonNode> values, boolean preferred,
+                       CollectionStartEvent start) {
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            final String key = keys.get(i);
+            final JsonNode value = values.get(i);
+            if (key != null) {
+                if (preferred || !merged.has(key)) {
+                    merged.set(key, value);
+                }
+            } else if (value.isObject()) {
+                mergeMapping(merged, value, start);
+            } else if (value.isArray()) {
+                for (JsonNode item : value) {
+                    if (!item.isObject()) {
+                        throw new YAMLException("expected a mapping for merging" + start.getStartMark());
+                    }
+                    mergeMapping(merged, item, start);
+                }
+            } else {
+                throw new YAMLException("expected a mapping or list of mappings for merging" + start.getStartMark());
+            }
+        }
+    }
+
+    private void mergeMapping(ObjectNode merged, JsonNode mapping, CollectionStartEvent start) {
+        final List<String> keys = new ArrayList<>(mapping.size());
+        final List<JsonNode> values = new ArrayList<>(mapping.size());
+        for (Iterator<Map.Entry<String, JsonNode>> fields = mapping.fields(); fields.hasNext(); ) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            keys.add(field.getKey());
+            values.add(field.getValue());
+        }
+        // SafeConstructor reverses the fields of the merged node itself, so each merge of an anchor flips their order
+        final JsonNode anchored = aliasedMappings.containsKey(mapping) ? aliasedMappings.get(mapping) : mapping;
+        if (!reversedMappings.add(anchored)) {
+            reversedMappings.remove(anchored);
+            Collections.reverse(keys);
+            Collections.reverse(values);
+        }
+        merge(merged, keys, values, false, start);
+    }
+
+    private static boolean contains(ArrayNode array, JsonNode node) {
+        for (JsonNode item : array) {
+            if (item.equals(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Tag collectionTag(CollectionStartEvent start, NodeId id) {
+        final String tag = start.getTag();
+        final Tag resolved = tag == null || "!".equals(tag) ? resolver.resolve(id, null, start.getImplicit())
+                : new Tag(tag);
+        if (!resolved.equals(Tag.MAP) && !resolved.equals(Tag.SEQ) && !resolved.equals(SET)
+                && !resolved.equals(Tag.OMAP) && !resolved.equals(Tag.PAIRS)) {
+            throw new YAMLException("could not determine a constructor for the tag " + resolved + start.getStartMark());
+        }
+        return resolved;
+    }
+
+    private boolean isMergeKey(Event event) {
+        if (!event.is(Event.ID.Scalar)) {
+            return false;
+        }
+        final ScalarEvent scalar = (ScalarEvent) event;
+        final String tag = scalar.getTag();
+        final Tag resolved = tag == null || "!".equals(tag)
+                ? resolver.resolve(NodeId.scalar, scalar.getValue(), scalar.getImplicit().canOmitTagInPlainScalar())
+                : new Tag(tag);
+        return Tag.MERGE.equals(resolved);
+    }
+
+    /**
+     * The field name the conversion gave a key, i.e. the string form of the key object.
+     */
+    private String key(JsonNode key) {
+        if (key.isValueNode()) {
+            return key.asText();
+        }
+        return String.valueOf(Json.mapper().convertValue(key, Object.class));
+    }
+
+    /**
+     * Gives access to the scalar constructors of SafeConstructor.
+     */
+    private static class ScalarConstructor extends SafeConstructor {
+
+        private Object construct(ScalarNode node) {
+            return getConstructor(node).construct(node);
+        }
+    }
+}
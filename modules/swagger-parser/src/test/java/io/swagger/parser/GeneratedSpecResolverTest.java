@@ -0,0 +1,69 @@
+package io.swagger.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Swagger;
+import io.swagger.parser.generator.SpecGenerator;
+import io.swagger.parser.generator.SpecGenerator.Format;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Resolves large generated specs, checking that every ref ends up pointing to a definition of the result.
+ */
+public class GeneratedSpecResolverTest {
+    private File directory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("generated-spec").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @DataProvider
+    public Object[][] generators() {
+        return new Object[][]{
+                {new SpecGenerator().seed(1).paths(500).definitions(500)},
+                {new SpecGenerator().seed(2).paths(500).operationsPerPath(7).definitions(1000).inlineRatio(0.3)
+                        .externalFiles(10).refChainDepth(15).composedDepth(3).cycles(true)},
+                {new SpecGenerator().seed(3).paths(200).definitions(300).inlineRatio(0.5).externalFiles(4)
+                        .refChainDepth(5).composedDepth(4).format(Format.YAML)}
+        };
+    }
+
+    @Test(dataProvider = "generators")
+    public void testResolvesGeneratedSpec(SpecGenerator generator) throws Exception {
+        final File root = generator.write(directory);
+
+        final Swagger swagger = new SwaggerParser().read(root.getAbsolutePath());
+
+        assertNotNull(swagger);
+        assertEquals(swagger.getPaths().size(), generator.getPaths());
+        assertRefsResolved(Json.mapper().valueToTree(swagger), swagger);
+    }
+
+    private void assertRefsResolved(JsonNode node, Swagger swagger) {
+        if (node.has("$ref")) {
+            final String ref = node.get("$ref").asText();
+            assertTrue(ref.startsWith("#/definitions/"), ref);
+            assertTrue(swagger.getDefinitions().containsKey(ref.substring("#/definitions/".length())), ref);
+        }
+        for (JsonNode child : node) {
+            assertRefsResolved(child, swagger);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package io.swagger.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.parser.generator.SpecGenerator;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class LazySwaggerResolverTest {
+    private static final String SPEC = "swagger: '2.0'\n" +
+            "info:\n" +
+            "  title: lazy\n" +
+            "  version: '1'\n" +
+            "paths:\n" +
+            "  /pets/{id}:\n" +
+            "    parameters:\n" +
+            "      - $ref: '#/parameters/id'\n" +
+            "      - name: verbose\n" +
+            "        in: query\n" +
+            "        type: boolean\n" +
+            "    get:\n" +
+            "      operationId: getPet\n" +
+            "      parameters:\n" +
+            "        - name: verbose\n" +
+            "          in: query\n" +
+            "          type: string\n" +
+            "      responses:\n" +
+            "        200:\n" +
+            "          $ref: '#/responses/pet'\n" +
+            "    put:\n" +
+            "      operationId: putPet\n" +
+            "      parameters:\n" +
+            "        - name: body\n" +
+            "          in: body\n" +
+            "          schema:\n" +
+            "            $ref: '#/definitions/Pet'\n" +
+            "      responses:\n" +
+            "        204:\n" +
+            "          description: updated\n" +
+            "  /owners:\n" +
+            "    get:\n" +
+            "      operationId: getOwners\n" +
+            "      responses:\n" +
+            "        200:\n" +
+            "          description: the owners\n" +
+            "          schema:\n" +
+            "            type: array\n" +
+            "            items:\n" +
+            "              $ref: '#/definitions/Owner'\n" +
+            "parameters:\n" +
+            "  id:\n" +
+            "    name: id\n" +
+            "    in: path\n" +
+            "    required: true\n" +
+            "    type: string\n" +
+            "responses:\n" +
+            "  pet:\n" +
+            "    description: a pet\n" +
+            "    schema:\n" +
+            "      $ref: '#/definitions/Pet'\n" +
+            "definitions:\n" +
+            "  Pet:\n" +
+            "    properties:\n" +
+            "      tag:\n" +
+            "        $ref: '#/definitions/Tag'\n" +
+            "  Tag:\n" +
+            "    properties:\n" +
+            "      name:\n" +
+            "        type: string\n" +
+            "  Owner:\n" +
+            "    properties:\n" +
+            "      pets:\n" +
+            "        type: array\n" +
+            "        items:\n" +
+            "          $ref: '#/definitions/Pet'\n";
+
+    @Test
+    public void testResolvesOnlyWhatTheOperationReaches() throws Exception {
+        final LazySwaggerResolver resolver = new LazySwaggerResolver(deserialize(SPEC), null);
+
+        final ResolvedOperation getPet = resolver.resolveOperation("/pets/{id}", HttpMethod.GET);
+        assertNotNull(getPet);
+        assertEquals(getPet.getOperation().getOperationId(), "getPet");
+        assertEquals(getPet.getDefinitions().keySet().toString(), "[Pet, Tag]");
+
+        // the path parameters come first, unless the operation overrides them
+        final List<Parameter> parameters = getPet.getOperation().getParameters();
+        assertEquals(parameters.size(), 2);
+        assertEquals(parameters.get(0).getName(), "id");
+        assertEquals(parameters.get(0).getIn(), "path");
+        assertEquals(parameters.get(1).getName(), "verbose");
+        assertEquals(Json.mapper().valueToTree(parameters.get(1)).get("type").asText(), "string");
+        assertEquals(getPet.getOperation().getResponses().get("200").getDescription(), "a pet");
+
+        final ResolvedOperation putPet = resolver.resolveOperation("/pets/{id}", HttpMethod.PUT);
+        assertEquals(putPet.getOperation().getParameters().size(), 3);
+        assertTrue(putPet.getOperation().getParameters().get(2) instanceof BodyParameter);
+        assertEquals(putPet.getDefinitions().keySet().toString(), "[Pet, Tag]");
+
+        final ResolvedOperation getOwners = resolver.resolveOperation("/owners", HttpMethod.GET);
+        assertEquals(getOwners.getDefinitions().keySet().toString(), "[Owner, Pet, Tag]");
+    }
+
+    @Test
+    public void testMemoizesOperations() throws Exception {
+        final LazySwaggerResolver resolver = new LazySwaggerResolver(deserialize(SPEC), null);
+
+        final ResolvedOperation resolved = resolver.resolveOperation("/pets/{id}", HttpMethod.GET);
+        assertSame(resolver.resolveOperation("/pets/{id}", HttpMethod.GET), resolved);
+        assertSame(resolver.resolveOperationId("getPet"), resolved);
+        assertEquals(resolved.getOperation().getParameters().size(), 2);
+    }
+
+    @Test
+    public void testUnknownOperations() throws Exception {
+        final LazySwaggerResolver resolver = new LazySwaggerResolver(deserialize(SPEC), null);
+
+        assertNull(resolver.resolveOperation("/pets/{id}", HttpMethod.DELETE));
+        assertNull(resolver.resolveOperation("/missing", HttpMethod.GET));
+        assertNull(resolver.resolveOperationId("missing"));
+    }
+
+    @Test
+    public void testRefPathsToNothing() throws Exception {
+        final LazySwaggerResolver resolver = new LazySwaggerResolver(deserialize("swagger: '2.0'\n" +
+                "info:\n" +
+                "  title: lazy\n" +
+                "  version: '1'\n" +
+                "paths:\n" +
+                "  /moved:\n" +
+                "    $ref: '#/paths/nowhere'\n"), null);
+
+        assertNull(resolver.resolveOperation("/moved", HttpMethod.GET));
+    }
+
+    @Test
+    public void testResolvesRefPathsAndExternalRefs() throws Exception {
+        final String location = "src/test/resources/nested-file-references/issue-323.yaml";
+        final SwaggerPipeline pipeline = new SwaggerPipeline();
+        final Swagger swagger = pipeline.deserialize(pipeline.load(location, null)).getSwagger();
+        final LazySwaggerResolver resolver = new LazySwaggerResolver(swagger, null, location);
+
+        final ResolvedOperation events = resolver.resolveOperationId("getEvents");
+        assertNotNull(events);
+        assertEquals(events.getPath(), "/events");
+        assertEquals(events.getMethod(), HttpMethod.GET);
+
+        final ObjectProperty schema = (ObjectProperty) events.getOperation().getResponses().get("200").getSchema();
+        assertEquals(((RefProperty) schema.getProperties().get("paging")).get$ref(), "#/definitions/Paging");
+        assertTrue(events.getDefinitions().containsKey("Paging"));
+        assertTrue(events.getDefinitions().containsKey("Foobar"));
+        assertTrue(!events.getDefinitions().containsKey("StatusResponse"));
+    }
+
+    @Test
+    public void testResolvesConcurrently() throws Exception {
+        final File directory = Files.createTempDirectory("lazy-resolver").toFile();
+        try {
+            final SpecGenerator generator = new SpecGenerator().seed(4).paths(100).operationsPerPath(3)
+                    .definitions(200).inlineRatio(0.3).externalFiles(4).refChainDepth(5).cycles(true);
+            final String location = generator.write(directory).getAbsolutePath();
+            final Swagger swagger = new Swagger20Parser().read(location, null);
+            final LazySwaggerResolver resolver = new LazySwaggerResolver(swagger, null, location);
+
+            final List<Callable<ResolvedOperation>> tasks = new ArrayList<>();
+            for (final Map.Entry<String, Path> path : new ArrayList<>(swagger.getPaths().entrySet())) {
+                for (final HttpMethod method : path.getValue().getOperationMap().keySet()) {
+                    tasks.add(new Callable<ResolvedOperation>() {
+                        @Override
+                        public ResolvedOperation call() {
+                            return resolver.resolveOperation(path.getKey(), method);
+                        }
+                    });
+                }
+            }
+            final ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                for (Future<ResolvedOperation> future : executor.invokeAll(tasks)) {
+                    final ResolvedOperation resolved = future.get();
+                    assertNotNull(resolved);
+                    assertRefsResolved(Json.mapper().valueToTree(resolved.getOperation()), resolved.getDefinitions());
+                    for (Model model : resolved.getDefinitions().values()) {
+                        assertRefsResolved(Json.mapper().valueToTree(model), resolved.getDefinitions());
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+    private static Swagger deserialize(String spec) throws Exception {
+        final SwaggerPipeline pipeline = new SwaggerPipeline();
+        return pipeline.deserialize(pipeline.parse(SwaggerSource.of(null, spec))).getSwagger();
+    }
+
+    private static void assertRefsResolved(JsonNode node, Map<String, Model> definitions) {
+        if (node.has("$ref")) {
+            final String ref = node.get("$ref").asText();
+            assertTrue(ref.startsWith("#/definitions/"), ref);
+            assertTrue(definitions.containsKey(ref.substring("#/definitions/".length())), ref);
+        }
+        for (JsonNode child : node) {
+            assertRefsResolved(child, definitions);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.swagger.parser;
+
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.models.refs.RefFormat;
+import io.swagger.parser.util.InMemoryParserMetrics;
+import io.swagger.parser.util.ParserMetrics;
+import io.swagger.parser.util.ParserMetrics.Cache;
+import io.swagger.parser.util.ParserMetrics.Phase;
+import io.swagger.parser.util.RemoteFetcher;
+import io.swagger.parser.util.RemoteUrl;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ParserMetricsTest {
+    private final InMemoryParserMetrics metrics = new InMemoryParserMetrics();
+
+    @BeforeMethod
+    public void setUp() {
+        ParserMetrics.set(metrics);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        ParserMetrics.set(null);
+        RemoteUrl.setFetcher(null);
+    }
+
+    @Test
+    public void testRemoteDocument() {
+        final Map<String, String> documents = new HashMap<>();
+        documents.put("http://example.com/swagger.yaml", "swagger: '2.0'\n" +
+                "info:\n" +
+                "  title: remote\n" +
+                "  version: '1'\n" +
+                "paths:\n" +
+                "  /pets:\n" +
+                "    get:\n" +
+                "      responses:\n" +
+                "        200:\n" +
+                "          description: ok\n" +
+                "          schema:\n" +
+                "            $ref: './definitions.json#/definitions/Pet'\n" +
+                "    post:\n" +
+                "      parameters:\n" +
+                "        - in: body\n" +
+                "          name: pet\n" +
+                "          schema:\n" +
+                "            $ref: './definitions.json#/definitions/Pet'\n" +
+                "      responses:\n" +
+                "        200:\n" +
+                "          description: ok\n");
+        documents.put("http://example.com/definitions.json", "{\"definitions\": {" +
+                "\"Pet\": {\"properties\": {\"tag\": {\"$ref\": \"#/definitions/Tag\"}}}," +
+                "\"Tag\": {\"type\": \"string\"}}}");
+        RemoteUrl.setFetcher(new RemoteFetcher() {
+            @Override
+            public byte[] fetch(String url, List<AuthorizationValue> auths) {
+                return documents.get(url).getBytes(StandardCharsets.UTF_8);
+            }
+        });
+
+        final Swagger swagger = new SwaggerParser().read("http://example.com/swagger.yaml");
+
+        assertNotNull(swagger.getDefinitions().get("Tag"));
+        assertEquals(metrics.getBytesFetched().size(), 2);
+        assertEquals((long) metrics.getBytesFetched().get("http://example.com/swagger.yaml"),
+                documents.get("http://example.com/swagger.yaml").length());
+        assertEquals(metrics.getPhaseCount(Phase.FETCH), 2);
+        assertEquals(metrics.getPhaseCount(Phase.PARSE), 2);
+        assertEquals(metrics.getPhaseCount(Phase.DESERIALIZE), 1);
+        assertEquals(metrics.getPhaseCount(Phase.RESOLVE), 1);
+        assertTrue(metrics.getPhaseNanos(Phase.RESOLVE) > 0);
+        assertEquals(metrics.getDefinitionsAdded(), 2);
+        // the ref of the response, again for the body parameter, and the one to Tag found in Pet
+        assertEquals(metrics.getRefsResolved(RefFormat.RELATIVE), 3);
+        assertEquals(metrics.getCacheMisses(Cache.REF), 2);
+        assertEquals(metrics.getCacheHits(Cache.REF), 1);
+        // definitions.json was fetched and parsed for the first ref to it
+        assertEquals(metrics.getCacheMisses(Cache.FILE), 1);
+        assertEquals(metrics.getCacheHits(Cache.FILE), 1);
+        assertEquals(metrics.getCacheMisses(Cache.TREE), 1);
+        assertEquals(metrics.getCacheHits(Cache.TREE), 1);
+    }
+
+    @Test
+    public void testLocalFiles() {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/nested-file-references/issue-336.json");
+
+        assertNotNull(swagger);
+        assertEquals(metrics.getPhaseCount(Phase.FETCH), 0);
+        assertEquals(metrics.getPhaseCount(Phase.DESERIALIZE), 1);
+        assertTrue(metrics.getCacheMisses(Cache.FILE) > 0);
+        assertTrue(metrics.getRefsResolved(RefFormat.RELATIVE) > 0);
+        assertTrue(metrics.getDefinitionsAdded() > 0);
+
+        metrics.reset();
+        assertEquals(metrics.getPhaseCount(Phase.PARSE), 0);
+        assertEquals(metrics.getDefinitionsAdded(), 0);
+    }
+
+    @Test
+    public void testNoMetricsByDefault() {
+        ParserMetrics.set(null);
+
+        assertSame(ParserMetrics.get(), ParserMetrics.NONE);
+    }
+}
@@ -1,19 +1,26 @@
 package io.swagger.parser;
 
 import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.parameters.Parameter;
+import io.swagger.parser.util.RemoteFetcher;
 import io.swagger.parser.util.RemoteUrl;
-import mockit.Expectations;
-import mockit.Mocked;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.Test;
 
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 public class RelativeReferenceTest {
-    @Mocked
-    RemoteUrl remoteUrl;
 
     static final String spec =
             "swagger: '2.0'\n" +
@@ -41,20 +48,32 @@ public class RelativeReferenceTest {
             "    200:\n" +
             "      description: It works";
 
+    @AfterMethod
+    public void resetFetcher() {
+        RemoteUrl.setFetcher(null);
+    }
+
     @Test
     public void testIssue213() throws Exception {
-        new Expectations() {{
-            RemoteUrl.urlToString("http://foo.bar.com/swagger.json", null);
-            times = 1;
-            result = spec;
-
-            RemoteUrl.urlToString("http://foo.bar.com/path/samplePath.yaml", null);
-            times = 1;
-            result = samplePath;
-        }};
+        final List<String> fetched = Collections.synchronizedList(new ArrayList<String>());
+        RemoteUrl.setFetcher(new RemoteFetcher() {
+            @Override
+            public byte[] fetch(String url, List<AuthorizationValue> auths) throws Exception {
+                fetched.add(url);
+                if ("http://foo.bar.com/swagger.json".equals(url)) {
+                    return spec.getBytes(StandardCharsets.UTF_8);
+                } else if ("http://foo.bar.com/path/samplePath.yaml".equals(url)) {
+                    return samplePath.getBytes(StandardCharsets.UTF_8);
+                }
+                throw new FileNotFoundException(url);
+            }
+        });
 
         Swagger swagger = new SwaggerParser().read("http://foo.bar.com/swagger.json");
 
+        assertEquals(fetched, Arrays.asList("http://foo.bar.com/swagger.json",
+                "http://foo.bar.com/path/samplePath.yaml"));
+
         assertNotNull(swagger.getPath("/samplePath").getGet());
         assertNotNull(swagger.getPath("/samplePath").getGet().getParameters().get(0));
         Parameter param = swagger.getPath("/samplePath").getGet().getParameters().get(0);
@@ -87,6 +87,7 @@ public class ResolverCacheTest {
         Model firstActualResult = cache.loadRef(ref, RefFormat.URL, Model.class);
 
         assertEquals(contentsOfExternalFile, cache.getExternalFileCache().get(ref));
+        assertEquals(format, cache.getExternalFileFormats().get(ref));
         assertEquals(expectedResult, cache.getResolutionCache().get(ref));
         assertEquals(expectedResult, firstActualResult);
 
@@ -125,6 +126,33 @@ public class ResolverCacheTest {
         assertNotNull(path);
     }
 
+    @Test
+    public void testLoadExternalRef_ParsesFileOnce() throws Exception {
+        final RefFormat format = RefFormat.URL;
+        final String file = "http://my.company.com/path/to/file.json";
+        final String contentsOfExternalFile = "really good json";
+        final Pair<JsonNode, JsonNode> tree = constructJsonTree("parameters", "foo");
+        ((ObjectNode) tree.getLeft().get("parameters")).putObject("bar").put("key", "value");
+
+        new Expectations() {{
+            RefUtils.readExternalUrlRef(file, format, auths, "http://my.company.com/path/parent.json");
+            times = 1;
+            result = contentsOfExternalFile;
+
+            DeserializationUtils.deserializeIntoTree(contentsOfExternalFile, file);
+            times = 1;
+            result = tree.getLeft();
+        }};
+
+        ResolverCache cache = new ResolverCache(swagger, auths, "http://my.company.com/path/parent.json");
+
+        cache.loadRef(file + "#/parameters/foo", format, Parameter.class);
+        cache.loadRef(file + "#/parameters/bar", format, Parameter.class);
+
+        assertEquals(cache.getExternalTreeCache().size(), 1);
+        assertEquals(cache.getExternalTreeCache().get(file), tree.getLeft());
+    }
+
     @Test
     public void testLoadInternalParameterRef(@Injectable Parameter mockedParameter) throws Exception {
         Swagger swagger = new Swagger();
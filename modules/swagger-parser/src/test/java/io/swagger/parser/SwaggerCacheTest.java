@@ -0,0 +1,136 @@
+package io.swagger.parser;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.util.InMemoryParserMetrics;
+import io.swagger.parser.util.ParserMetrics;
+import io.swagger.parser.util.ParserMetrics.Phase;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+public class SwaggerCacheTest {
+    private final InMemoryParserMetrics metrics = new InMemoryParserMetrics();
+    private SwaggerCache cache;
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("swagger-cache");
+        write("pets.yaml", spec("./pet.yaml#/Pet"));
+        write("stores.yaml", spec("./store.yaml#/Store"));
+        write("pet.yaml", "Pet:\n  type: object\n  properties:\n    tag:\n      $ref: './common.yaml#/Tag'\n");
+        write("store.yaml", "Store:\n  type: object\n  properties:\n    tag:\n      $ref: './common.yaml#/Tag'\n");
+        write("common.yaml", "Tag:\n  type: object\n  properties:\n    name:\n      type: string\n");
+        cache = new SwaggerCache();
+        SwaggerParser.setSwaggerCache(cache);
+        metrics.reset();
+        ParserMetrics.set(metrics);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        SwaggerParser.setSwaggerCache(null);
+        ParserMetrics.set(null);
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Test
+    public void testUnchangedDefinitionIsCached() throws Exception {
+        final Swagger first = read("pets.yaml");
+        final Swagger second = read("pets.yaml");
+
+        assertNotNull(first.getDefinitions().get("Pet"));
+        assertNotNull(first.getDefinitions().get("Tag"));
+        assertEquals(Json.pretty(second), Json.pretty(first));
+        assertEquals(cache.getMissCount(), 1);
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(metrics.getPhaseCount(Phase.RESOLVE), 1);
+    }
+
+    @Test
+    public void testReadersGetTheirOwnCopies() throws Exception {
+        final Swagger first = read("pets.yaml");
+        final Swagger second = read("pets.yaml");
+        assertNotSame(second, first);
+
+        second.getDefinitions().remove("Tag");
+        second.getInfo().setTitle("modified");
+
+        final Swagger third = read("pets.yaml");
+        assertNotNull(third.getDefinitions().get("Tag"));
+        assertEquals(third.getInfo().getTitle(), "cached");
+        assertEquals(cache.getHitCount(), 2);
+    }
+
+    @Test
+    public void testChangedFileInvalidatesItsDependents() throws Exception {
+        final Swagger pets = read("pets.yaml");
+        final Swagger stores = read("stores.yaml");
+
+        write("pet.yaml", "Pet:\n  type: object\n  properties:\n    tag:\n      $ref: './common.yaml#/Tag'\n" +
+                "    name:\n      type: string\n");
+
+        final Swagger changed = read("pets.yaml");
+        assertNotSame(changed, pets);
+        assertNotNull(changed.getDefinitions().get("Pet").getProperties().get("name"));
+        assertEquals(Json.pretty(read("stores.yaml")), Json.pretty(stores));
+
+        // a change to a document loaded through another one
+        write("common.yaml", "Tag:\n  type: string\n");
+        assertNotSame(read("pets.yaml"), changed);
+        assertNotSame(read("stores.yaml"), stores);
+        assertEquals(cache.getMissCount(), 5);
+        assertEquals(cache.getHitCount(), 1);
+    }
+
+    @Test
+    public void testChangedRootInvalidatesIt() throws Exception {
+        final Swagger pets = read("pets.yaml");
+
+        write("pets.yaml", spec("./pet.yaml#/Pet").replace("title: cached", "title: changed"));
+
+        final Swagger changed = read("pets.yaml");
+        assertNotSame(changed, pets);
+        assertEquals(changed.getInfo().getTitle(), "changed");
+    }
+
+    @Test
+    public void testMissingDefinitionIsNotCached() throws Exception {
+        assertNull(read("missing.yaml"));
+        assertEquals(cache.size(), 0);
+    }
+
+    private Swagger read(String file) {
+        return new SwaggerParser().read(directory.resolve(file).toString(), null, true);
+    }
+
+    private void write(String file, String contents) throws Exception {
+        Files.write(directory.resolve(file), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String spec(String ref) {
+        return "swagger: '2.0'\n" +
+                "info:\n" +
+                "  title: cached\n" +
+                "  version: '1'\n" +
+                "paths:\n" +
+                "  /items:\n" +
+                "    get:\n" +
+                "      responses:\n" +
+                "        200:\n" +
+                "          description: ok\n" +
+                "          schema:\n" +
+                "            $ref: '" + ref + "'\n";
+    }
+}
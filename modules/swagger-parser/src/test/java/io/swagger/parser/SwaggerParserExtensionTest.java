@@ -1,11 +1,28 @@
 package io.swagger.parser;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Info;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+import io.swagger.util.Json;
 import org.testng.annotations.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class SwaggerParserExtensionTest {
     @Test
@@ -16,4 +33,141 @@ public class SwaggerParserExtensionTest {
         assertTrue(extensions.get(0) instanceof Swagger20Parser);
         assertEquals(extensions.get(0).getClass(), Swagger20Parser.class);
     }
+
+    @Test
+    public void verifyExtensionsAreDiscoveredOnce() {
+        final SwaggerParser parser = new SwaggerParser();
+        assertSame(parser.getExtensions(), parser.getExtensions());
+    }
+
+    @Test
+    public void verifyExplicitExtensions() {
+        final SwaggerParser parser = new SwaggerParser(Collections.<SwaggerParserExtension>emptyList());
+        assertTrue(parser.getExtensions().isEmpty());
+        assertEquals(parser.read("src/test/resources/uber.json").getSwagger(), "2.0");
+    }
+
+    @Test
+    public void verifyConcurrentReads() throws Exception {
+        final SwaggerParser parser = new SwaggerParser();
+        final String expected = Json.pretty(parser.read("src/test/resources/petstore-codegen.yaml"));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Swagger>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(new Callable<Swagger>() {
+                    @Override
+                    public Swagger call() {
+                        return parser.read("src/test/resources/petstore-codegen.yaml");
+                    }
+                }));
+            }
+            for (Future<Swagger> result : results) {
+                assertEquals(Json.pretty(result.get()), expected);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void verifyDocumentsAreRoutedByVersion() throws Exception {
+        final Path legacy = Files.createTempFile("api-docs", ".json");
+        try {
+            Files.write(legacy, "{\"swaggerVersion\": \"1.2\", \"apis\": []}".getBytes(StandardCharsets.UTF_8));
+            final String location = legacy.toString().replaceAll("\\\\", "/");
+            final LegacyExtension v11 = new LegacyExtension("1.1");
+            final LegacyExtension v12 = new LegacyExtension("1.2");
+            final LocationExtension other = new LocationExtension();
+            final SwaggerParser parser = new SwaggerParser(Arrays.<SwaggerParserExtension>asList(v11, v12, other));
+
+            assertEquals(parser.read(location).getSwagger(), "2.0");
+            assertTrue(v11.roots.isEmpty());
+            assertEquals(v12.roots.size(), 1);
+            assertEquals(v12.roots.get(0).get("swaggerVersion").asText(), "1.2");
+            assertEquals(v12.locations, Collections.singletonList(location));
+            // the document extension read it
+            assertTrue(other.locations.isEmpty());
+        } finally {
+            Files.delete(legacy);
+        }
+    }
+
+    @Test
+    public void verifyOtherExtensionsAreGivenTheLocation() throws Exception {
+        final Path legacy = Files.createTempFile("api-docs", ".json");
+        try {
+            Files.write(legacy, "{\"swaggerVersion\": \"1.0\", \"apis\": []}".getBytes(StandardCharsets.UTF_8));
+            final String location = legacy.toString().replaceAll("\\\\", "/");
+            final LegacyExtension v12 = new LegacyExtension("1.2");
+            final LocationExtension other = new LocationExtension();
+            final SwaggerParser parser = new SwaggerParser(Arrays.<SwaggerParserExtension>asList(v12, other));
+
+            assertEquals(parser.readWithInfo(location, null, true).getSwagger().getSwagger(), "2.0");
+            assertTrue(v12.roots.isEmpty());
+            assertEquals(other.locations, Collections.singletonList(location));
+        } finally {
+            Files.delete(legacy);
+        }
+    }
+
+    private static Swagger converted() {
+        return new Swagger().info(new Info().title("converted"));
+    }
+
+    private static class LocationExtension implements SwaggerParserExtension {
+        final List<String> locations = new ArrayList<>();
+
+        @Override
+        public SwaggerDeserializationResult readWithInfo(String location, List<AuthorizationValue> auths) {
+            locations.add(location);
+            final SwaggerDeserializationResult result = new SwaggerDeserializationResult();
+            result.setSwagger(converted());
+            return result;
+        }
+
+        @Override
+        public SwaggerDeserializationResult readWithInfo(JsonNode node) {
+            return null;
+        }
+
+        @Override
+        public Swagger read(String location, List<AuthorizationValue> auths) {
+            return readWithInfo(location, auths).getSwagger();
+        }
+
+        @Override
+        public Swagger read(JsonNode node) {
+            return null;
+        }
+    }
+
+    private static class LegacyExtension extends LocationExtension implements SwaggerDocumentExtension {
+        final String version;
+        final List<JsonNode> roots = new ArrayList<>();
+
+        LegacyExtension(String version) {
+            this.version = version;
+        }
+
+        @Override
+        public boolean supports(String specVersion) {
+            return version.equals(specVersion);
+        }
+
+        @Override
+        public SwaggerDeserializationResult readWithInfo(JsonNode root, String location, List<AuthorizationValue> auths) {
+            final SwaggerDeserializationResult result = new SwaggerDeserializationResult();
+            result.setSwagger(read(root, location, auths));
+            return result;
+        }
+
+        @Override
+        public Swagger read(JsonNode root, String location, List<AuthorizationValue> auths) {
+            roots.add(root);
+            locations.add(location);
+            return converted();
+        }
+    }
 }
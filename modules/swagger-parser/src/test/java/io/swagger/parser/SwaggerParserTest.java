@@ -5,7 +5,11 @@ import static org.junit.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -567,4 +571,46 @@ public class SwaggerParserTest {
 
 		assertEquals(formParam.getMinimum().toString(), "32.1");
 	}
+
+	@Test
+	public void testReadWithInfoFromPath() {
+		final String location = "src/test/resources/nested-file-references/issue-323.yaml";
+		final SwaggerParser parser = new SwaggerParser();
+
+		final SwaggerDeserializationResult fromLocation = parser.readWithInfo(location, null, true);
+		final SwaggerDeserializationResult fromPath = parser.readWithInfo(Paths.get(location));
+
+		assertEquals(Json.pretty(fromPath.getSwagger()), Json.pretty(fromLocation.getSwagger()));
+		assertEquals(fromPath.getMessages(), fromLocation.getMessages());
+	}
+
+	@Test
+	public void testReadWithInfoFromStream() {
+		final String json = "\n  {\"swagger\": \"2.0\", \"info\": {\"title\": \"json\", \"version\": \"1\"}, \"paths\": {}}";
+		final SwaggerDeserializationResult result = new SwaggerParser().readWithInfo(
+				new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+		assertNotNull(result.getSwagger());
+		assertEquals(result.getSwagger().getInfo().getTitle(), "json");
+		assertTrue(result.getMessages().isEmpty());
+	}
+
+	@Test
+	public void testReadWithInfoFromReader() {
+		final String yaml = "swagger: '2.0'\n" + "info:\n" + "  version: \"1\"\n" + "  title: yaml\n" + "paths: {}\n";
+		final SwaggerDeserializationResult result = new SwaggerParser().readWithInfo(new StringReader(yaml));
+
+		assertNotNull(result.getSwagger());
+		assertEquals(result.getSwagger().getInfo().getTitle(), "yaml");
+		assertTrue(result.getMessages().isEmpty());
+	}
+
+	@Test
+	public void testReadWithInfoFromEmptyStream() {
+		final SwaggerDeserializationResult result = new SwaggerParser().readWithInfo(
+				new ByteArrayInputStream(new byte[0]));
+
+		assertNull(result.getSwagger());
+		assertEquals(result.getMessages().get(0), "empty or null swagger supplied");
+	}
 }
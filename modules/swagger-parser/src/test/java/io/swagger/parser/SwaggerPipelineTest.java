@@ -0,0 +1,104 @@
+package io.swagger.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.util.InMemoryParserMetrics;
+import io.swagger.parser.util.ParserMetrics;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+import io.swagger.util.Json;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class SwaggerPipelineTest {
+    private static final String LOCATION = "src/test/resources/nested-file-references/issue-336.json";
+
+    @Test
+    public void testStagesReadWhatTheParserReads() throws Exception {
+        final SwaggerPipeline pipeline = new SwaggerPipeline();
+        final SwaggerSource source = pipeline.load(LOCATION, null);
+        final JsonNode tree = pipeline.parse(source);
+        final SwaggerDeserializationResult unresolved = pipeline.deserialize(tree);
+        final Swagger resolved = pipeline.resolve(unresolved, source.getLocation(), null).getSwagger();
+
+        assertEquals(Json.pretty(resolved), Json.pretty(new SwaggerParser().read(LOCATION)));
+        assertEquals(Json.pretty(pipeline.read(LOCATION, null).getSwagger()), Json.pretty(resolved));
+    }
+
+    @Test
+    public void testStagesCanBeReused() throws Exception {
+        final SwaggerPipeline pipeline = new SwaggerPipeline();
+        final SwaggerSource source = pipeline.load(Paths.get(LOCATION));
+        final JsonNode tree = pipeline.parse(source);
+
+        final Swagger first = pipeline.deserialize(tree).getSwagger();
+        final Swagger second = pipeline.deserialize(tree).getSwagger();
+        assertEquals(Json.pretty(first), Json.pretty(second));
+        assertEquals(Json.pretty(pipeline.deserialize(source).getSwagger()), Json.pretty(first));
+    }
+
+    @Test
+    public void testEachStageIsTimed() throws Exception {
+        final InMemoryParserMetrics metrics = new InMemoryParserMetrics();
+        ParserMetrics.set(metrics);
+        try {
+            final SwaggerPipeline pipeline = new SwaggerPipeline();
+            final SwaggerSource source = pipeline.load(LOCATION, null);
+            final SwaggerDeserializationResult unresolved = pipeline.deserialize(pipeline.parse(source));
+            pipeline.resolve(unresolved, source.getLocation(), new ArrayList<AuthorizationValue>());
+
+            assertTrue(metrics.getPhaseCount(ParserMetrics.Phase.PARSE) > 0);
+            assertEquals(metrics.getPhaseCount(ParserMetrics.Phase.DESERIALIZE), 1L);
+            assertEquals(metrics.getPhaseCount(ParserMetrics.Phase.RESOLVE), 1L);
+        } finally {
+            ParserMetrics.set(null);
+        }
+    }
+
+    @Test
+    public void testLoadFailsOnMissingLocations() {
+        try {
+            new SwaggerPipeline().load("src/test/resources/missing.json", null);
+            fail("expected an error");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "unable to read location `src/test/resources/missing.json`");
+        }
+    }
+
+    @Test
+    public void testEmptyContents() throws Exception {
+        final SwaggerPipeline pipeline = new SwaggerPipeline();
+        final JsonNode tree = pipeline.parse(SwaggerSource.of(null, ""));
+
+        assertNull(tree);
+        assertEquals(pipeline.deserialize(tree).getMessages().get(0), "empty or null swagger supplied");
+    }
+
+    @Test
+    public void testReadWithInfoDeserializesOnce() {
+        final InMemoryParserMetrics metrics = new InMemoryParserMetrics();
+        ParserMetrics.set(metrics);
+        try {
+            final SwaggerDeserializationResult result = new SwaggerParser().readWithInfo(
+                    "swagger: '2.0'\n" +
+                    "info:\n" +
+                    "  title: test\n" +
+                    "paths: {}\n");
+
+            assertEquals(result.getSwagger().getInfo().getTitle(), "test");
+            assertEquals(metrics.getPhaseCount(ParserMetrics.Phase.DESERIALIZE), 1L);
+            assertEquals(metrics.getPhaseCount(ParserMetrics.Phase.RESOLVE), 1L);
+        } finally {
+            ParserMetrics.set(null);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.swagger.parser;
+
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.fail;
+
+public class SwaggerSnapshotTest {
+
+    @DataProvider
+    public Object[][] definitions() {
+        return new Object[][]{
+                {"src/test/resources/petstore-codegen.yaml"},
+                {"src/test/resources/uber.json"},
+                {"src/test/resources/file-reference-with-vendor-ext/b.yaml"},
+                {"src/test/resources/nested-file-references/issue-336.json"}
+        };
+    }
+
+    @Test(dataProvider = "definitions")
+    public void testReadsTheDefinitionItWrote(String location) throws Exception {
+        final Swagger swagger = new SwaggerParser().read(location);
+        final Path snapshot = Files.createTempFile("swagger", ".snapshot");
+        try {
+            SwaggerSnapshot.write(swagger, snapshot);
+            final Swagger read = new SwaggerParser().readSnapshot(snapshot);
+
+            assertEquals(Json.pretty(read), Json.pretty(swagger));
+        } finally {
+            Files.delete(snapshot);
+        }
+    }
+
+    @Test
+    public void testKeepsValueTypes() throws Exception {
+        final Swagger swagger = new SwaggerParser().parse("swagger: '2.0'\n" +
+                "info:\n" +
+                "  title: types\n" +
+                "  version: '1'\n" +
+                "paths: {}\n" +
+                "definitions:\n" +
+                "  Value:\n" +
+                "    type: object\n" +
+                "    properties:\n" +
+                "      decimal:\n" +
+                "        type: number\n" +
+                "        minimum: 0.5\n" +
+                "        maximum: 5.0\n" +
+                "      name:\n" +
+                "        type: string\n" +
+                "        default: \u00e9t\u00e9 \u2603\n" +
+                "        x-flags: [true, false, null, 1, -42]\n");
+
+        final Swagger read = SwaggerSnapshot.read(new ByteArrayInputStream(write(swagger)));
+
+        assertEquals(Json.pretty(read), Json.pretty(swagger));
+    }
+
+    @Test
+    public void testCopiesTheRecordedTokens() throws Exception {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore-codegen.yaml");
+        final TokenBuffer tokens = SwaggerSnapshot.tokens(swagger);
+
+        final Swagger first = SwaggerSnapshot.read(tokens);
+        final Swagger second = SwaggerSnapshot.read(tokens);
+
+        assertNotSame(second, first);
+        assertEquals(Json.pretty(first), Json.pretty(swagger));
+        assertEquals(Json.pretty(second), Json.pretty(swagger));
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws Exception {
+        try {
+            SwaggerSnapshot.read(new ByteArrayInputStream("swagger: '2.0'".getBytes("UTF-8")));
+            fail("expected an error");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRejectsTruncatedSnapshots() throws Exception {
+        final byte[] snapshot = write(new SwaggerParser().read("src/test/resources/uber.json"));
+        try {
+            SwaggerSnapshot.read(new ByteArrayInputStream(Arrays.copyOf(snapshot, snapshot.length - 1)));
+            fail("expected an error");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private static byte[] write(Swagger swagger) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SwaggerSnapshot.write(swagger, out);
+        return out.toByteArray();
+    }
+}
@@ -1,12 +1,16 @@
 package io.swagger.parser.processors;
 
 import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
 import io.swagger.models.RefModel;
 import io.swagger.models.Swagger;
 import io.swagger.parser.ResolverCache;
 import mockit.*;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
@@ -100,4 +104,38 @@ public class DefinitionsProcessorTest {
         final Model foo = definitions.get("foo");
         assertEquals(foo, resolvedModel);
     }
+
+    @Test
+    public void testPulledInDefinitionsAreProcessedOnce() throws Exception {
+        final Swagger swagger = new Swagger();
+        swagger.addDefinition("model0", new ModelImpl());
+        final ResolverCache cache = new ResolverCache(swagger, null, null);
+        final List<Model> processed = new ArrayList<>();
+
+        new Expectations() {{
+            new ModelProcessor(cache, swagger);
+            result = modelProcessor;
+            modelProcessor.processModel((Model) any);
+            result = new Delegate<Model>() {
+                void processModel(Model model) {
+                    processed.add(model);
+                    // like an external ref would, each model pulls in another one
+                    final String name = "model" + swagger.getDefinitions().size();
+                    if (swagger.getDefinitions().size() < 100) {
+                        swagger.addDefinition(name, new ModelImpl());
+                        cache.addReferencedKey(name);
+                    }
+                }
+            };
+        }};
+
+        new DefinitionsProcessor(cache, swagger).processDefinitions();
+
+        assertEquals(processed.size(), 100);
+        final Map<Model, Boolean> distinct = new IdentityHashMap<>();
+        for (Model model : processed) {
+            distinct.put(model, true);
+        }
+        assertEquals(distinct.size(), 100);
+    }
 }
@@ -0,0 +1,74 @@
+package io.swagger.parser.processors;
+
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.models.refs.RefFormat;
+import io.swagger.parser.ResolverCache;
+import io.swagger.parser.ResolverOptions;
+import io.swagger.parser.Swagger20Parser;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.util.Json;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ExternalRefPrefetcherTest {
+
+    @Test
+    public void testPrefetchesNestedFiles() throws Exception {
+        final String location = "src/test/resources/nested-references/a.yaml";
+        Swagger swagger = new Swagger20Parser().read(location, null);
+        ((RefModel) swagger.getDefinitions().get("j")).set$ref("./b.yaml#/definitions/x");
+        ResolverCache cache = new ResolverCache(swagger, new ArrayList<AuthorizationValue>(), location);
+
+        new ExternalRefPrefetcher(cache, swagger, 4).prefetch();
+
+        // b.yaml is referenced by a.yaml, which the definition x of b.yaml references in turn
+        assertEquals(cache.getExternalFileCache().keySet().size(), 2);
+        assertTrue(cache.getExternalFileCache().containsKey("./b.yaml"));
+        assertTrue(cache.getExternalFileCache().containsKey("./a.yaml"));
+        assertTrue(cache.getExternalTreeCache().containsKey("./b.yaml"));
+        assertEquals(cache.getExternalFileFormats().get("./a.yaml"), RefFormat.RELATIVE);
+    }
+
+    @Test
+    public void testFollowsOnlyTheReferencedParts() throws Exception {
+        final String location = "src/test/resources/nested-references/a.yaml";
+        Swagger swagger = new Swagger20Parser().read(location, null);
+        ResolverCache cache = new ResolverCache(swagger, new ArrayList<AuthorizationValue>(), location);
+
+        new ExternalRefPrefetcher(cache, swagger, 4).prefetch();
+
+        // the definition k of b.yaml has no refs, the ones to a.yaml elsewhere in b.yaml are not followed
+        assertEquals(cache.getExternalFileCache().keySet().size(), 1);
+        assertTrue(cache.getExternalFileCache().containsKey("./b.yaml"));
+    }
+
+    @Test
+    public void testIgnoresMissingFiles() throws Exception {
+        final String location = "src/test/resources/nested-references/a.yaml";
+        Swagger swagger = new Swagger20Parser().read(location, null);
+        ((RefModel) swagger.getDefinitions().get("j")).set$ref("./missing.yaml#/definitions/k");
+        ResolverCache cache = new ResolverCache(swagger, new ArrayList<AuthorizationValue>(), location);
+
+        new ExternalRefPrefetcher(cache, swagger, 4).prefetch();
+
+        assertTrue(cache.getExternalFileCache().isEmpty());
+    }
+
+    @Test
+    public void testResolvesSameAsWithoutPrefetch() throws Exception {
+        final String location = "src/test/resources/nested-file-references/issue-323.yaml";
+
+        Swagger sequential = new SwaggerResolver(new Swagger20Parser().read(location, null),
+                new ArrayList<AuthorizationValue>(), location, new ResolverOptions().prefetchThreads(0)).resolve();
+        Swagger prefetched = new SwaggerResolver(new Swagger20Parser().read(location, null),
+                new ArrayList<AuthorizationValue>(), location, new ResolverOptions().prefetchThreads(4)).resolve();
+
+        assertEquals(Json.pretty(prefetched), Json.pretty(sequential));
+    }
+}
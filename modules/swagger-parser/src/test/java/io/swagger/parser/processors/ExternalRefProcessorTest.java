@@ -3,6 +3,7 @@ package io.swagger.parser.processors;
 import io.swagger.models.Model;
 import io.swagger.models.ModelImpl;
 import io.swagger.models.Swagger;
+import io.swagger.models.properties.ObjectProperty;
 import io.swagger.models.properties.Property;
 import io.swagger.models.properties.RefProperty;
 import io.swagger.models.properties.StringProperty;
@@ -13,14 +14,18 @@ import mockit.Injectable;
 import mockit.StrictExpectations;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeSet;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.AssertJUnit.assertTrue;
 
 
 public class ExternalRefProcessorTest {
+    private static final String DEFINITIONS = "src/test/resources/external-ref-parts/definitions.yaml";
 
     @Injectable
     ResolverCache cache;
@@ -123,4 +128,46 @@ public class ExternalRefProcessorTest {
     	assertTrue(testedSwagger.getDefinitions().get("Contact")!=null);
     	assertTrue(testedSwagger.getDefinitions().get("Address")!=null);
     }
+
+    @Test
+    public void testImportsRefsOfInlineAllOfParts() throws Exception {
+        final Swagger spec = new Swagger();
+        final ResolverCache resolverCache = new ResolverCache(spec, null, DEFINITIONS);
+
+        final String name = new ExternalRefProcessor(resolverCache, spec)
+                .processRefToExternalDefinition("./definitions.yaml#/definitions/Cat", RefFormat.RELATIVE);
+
+        assertEquals(name, "Cat");
+        // Pet is the ref part of the allOf, Owner is referenced by a property of its inline part
+        assertEquals(new TreeSet<>(spec.getDefinitions().keySet()),
+                new TreeSet<>(Arrays.asList("Cat", "Owner", "Pet")));
+    }
+
+    @Test
+    public void testImportsRefsOfNestedObjectProperties() throws Exception {
+        final Swagger spec = new Swagger();
+        final ResolverCache resolverCache = new ResolverCache(spec, null, DEFINITIONS);
+
+        new ExternalRefProcessor(resolverCache, spec)
+                .processRefToExternalDefinition("./definitions.yaml#/definitions/Order", RefFormat.RELATIVE);
+
+        final ObjectProperty shipping =
+                (ObjectProperty) spec.getDefinitions().get("Order").getProperties().get("shipping");
+        assertEquals(((RefProperty) shipping.getProperties().get("address")).get$ref(), "#/definitions/Address");
+        assertEquals(new TreeSet<>(spec.getDefinitions().keySet()),
+                new TreeSet<>(Arrays.asList("Address", "Order", "Tag")));
+    }
+
+    @Test
+    public void testImportsRefsRelativeToAnAbsoluteFile() throws Exception {
+        final String pets = new File("src/test/resources/external-ref-parts/pets.yaml").getAbsolutePath();
+        final Swagger spec = new Swagger();
+        final ResolverCache resolverCache = new ResolverCache(spec, null, DEFINITIONS);
+
+        new ExternalRefProcessor(resolverCache, spec)
+                .processRefToExternalDefinition(pets + "#/definitions/Pet", RefFormat.RELATIVE);
+
+        // the ref to ./owners.yaml, joined with the absolute path of pets.yaml, is still a relative file
+        assertEquals(new TreeSet<>(spec.getDefinitions().keySet()), new TreeSet<>(Arrays.asList("Owner", "Pet")));
+    }
 }
@@ -0,0 +1,121 @@
+package io.swagger.parser.processors;
+
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.refs.RefFormat;
+import io.swagger.parser.ResolverCache;
+import io.swagger.parser.ResolverOptions;
+import io.swagger.parser.Swagger20Parser;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.parser.generator.SpecGenerator;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ParallelRefLoaderTest {
+
+    @DataProvider
+    public Object[][] locations() {
+        return new Object[][]{
+                {"src/test/resources/relative-file-references/json/parent.json"},
+                {"src/test/resources/nested-file-references/issue-323.yaml"},
+                {"src/test/resources/nested-file-references/eventsCase9.yaml"},
+                {"src/test/resources/nested-references/a.yaml"},
+                {"src/test/resources/file-reference-to-recursive-defs/a.yaml"},
+                {"src/test/resources/nested-items-references/a.yaml"}
+        };
+    }
+
+    @Test(dataProvider = "locations")
+    public void testResolvesSameAsSequential(String location) throws Exception {
+        final ResolverOptions sequential = new ResolverOptions().prefetchThreads(0);
+        final ResolverOptions parallel = new ResolverOptions().prefetchThreads(0).parallelism(4);
+
+        assertEquals(resolve(location, parallel), resolve(location, sequential));
+    }
+
+    @Test
+    public void testResolvesGeneratedSpecSameAsSequential() throws Exception {
+        final File directory = Files.createTempDirectory("generated-spec").toFile();
+        try {
+            final String location = new SpecGenerator().seed(4).paths(300).operationsPerPath(4).definitions(600)
+                    .inlineRatio(0.2).externalFiles(8).refChainDepth(15).composedDepth(2).cycles(true)
+                    .write(directory).getAbsolutePath();
+
+            testResolvesSameAsSequential(location);
+        } finally {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void testLoadsEachFileOnce() throws Exception {
+        final String location = "src/test/resources/relative-file-references/json/parent.json";
+        final Swagger swagger = new Swagger20Parser().read(location, null);
+        final AtomicInteger reads = new AtomicInteger();
+        final ResolverCache cache = new ResolverCache(swagger, new ArrayList<AuthorizationValue>(), location) {
+            @Override
+            public String readExternalFile(String file, RefFormat refFormat) {
+                reads.incrementAndGet();
+                return super.readExternalFile(file, refFormat);
+            }
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Parameter>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(new Callable<Parameter>() {
+                    @Override
+                    public Parameter call() {
+                        return cache.loadRef("./parameters/params.json#/param1", RefFormat.RELATIVE, Parameter.class);
+                    }
+                }));
+            }
+            for (Future<Parameter> result : results) {
+                assertSame(result.get(), results.get(0).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(reads.get(), 1);
+    }
+
+    @Test
+    public void testLoadsRefsRelativeToAnAbsoluteFile() {
+        final String directory = new File("src/test/resources/external-ref-parts").getAbsolutePath();
+        final Swagger swagger = new Swagger().path("/pets", new Path().get(new Operation()
+                .response(200, new Response().schema(new RefProperty(directory + "/pets.yaml#/definitions/Pet")))));
+        final ResolverCache cache = new ResolverCache(swagger, new ArrayList<AuthorizationValue>(),
+                directory + "/pets.yaml");
+
+        new ParallelRefLoader(cache, swagger, 2).load();
+
+        assertTrue(cache.hasExternalFile(directory + "/owners.yaml"));
+    }
+
+    private String resolve(String location, ResolverOptions options) throws Exception {
+        final Swagger swagger = new Swagger20Parser().read(location, null);
+        return Json.pretty(new SwaggerResolver(swagger, new ArrayList<AuthorizationValue>(), location, options).resolve());
+    }
+}
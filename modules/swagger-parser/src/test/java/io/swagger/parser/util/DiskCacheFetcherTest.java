@@ -0,0 +1,121 @@
+package io.swagger.parser.util;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.swagger.models.auth.AuthorizationValue;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+public class DiskCacheFetcherTest {
+
+    private static final int WIRE_MOCK_PORT = 9999;
+    private static final String URL = "http://localhost:" + WIRE_MOCK_PORT + "/spec.yaml";
+    private static final String BODY = "swagger: '2.0'\n";
+    private WireMockServer wireMockServer;
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        wireMockServer = new WireMockServer(WIRE_MOCK_PORT);
+        wireMockServer.start();
+        WireMock.configureFor(WIRE_MOCK_PORT);
+        directory = Files.createTempDirectory("remote-cache");
+
+        stubFor(get(urlEqualTo("/spec.yaml"))
+                .willReturn(aResponse().withBody(BODY).withHeader("ETag", "\"v1\"")));
+        stubFor(get(urlEqualTo("/spec.yaml")).withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        wireMockServer.stop();
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Test
+    public void testServesFreshEntriesFromDisk() throws Exception {
+        fetch(new DiskCacheFetcher(directory, fetcher()).ttl(60000), null);
+        // a new instance stands for a new JVM
+        assertEquals(fetch(new DiskCacheFetcher(directory, fetcher()).ttl(60000), null), BODY);
+
+        verify(1, getRequestedFor(urlEqualTo("/spec.yaml")));
+    }
+
+    @Test
+    public void testRevalidatesStaleEntries() throws Exception {
+        final DiskCacheFetcher cache = new DiskCacheFetcher(directory, fetcher());
+        fetch(cache, null);
+
+        assertEquals(fetch(cache, null), BODY);
+        verify(1, getRequestedFor(urlEqualTo("/spec.yaml")).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    public void testOffline() throws Exception {
+        fetch(new DiskCacheFetcher(directory, fetcher()), null);
+        wireMockServer.stop();
+
+        final DiskCacheFetcher offline = new DiskCacheFetcher(directory, fetcher()).offline(true);
+        assertEquals(fetch(offline, null), BODY);
+        try {
+            offline.fetch("http://localhost:" + WIRE_MOCK_PORT + "/other.yaml", null);
+            fail("expected a cache miss");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEntriesAreKeyedByAuth() throws Exception {
+        final DiskCacheFetcher cache = new DiskCacheFetcher(directory, fetcher()).ttl(60000);
+        final AuthorizationValue auth = new AuthorizationValue("Authorization", "secret", "header");
+        fetch(cache, null);
+        fetch(cache, Arrays.asList(auth));
+        fetch(cache, Arrays.asList(auth));
+
+        verify(2, getRequestedFor(urlEqualTo("/spec.yaml")));
+        // both responses have the same body, which is stored once
+        assertEquals(directory.resolve("bodies").toFile().list().length, 1);
+    }
+
+    @Test
+    public void testDownloadsCorruptedBodiesAgain() throws Exception {
+        final DiskCacheFetcher cache = new DiskCacheFetcher(directory, fetcher()).ttl(60000);
+        fetch(cache, null);
+        final Path body = directory.resolve("bodies").resolve(Hashes.sha256(BODY.getBytes(StandardCharsets.UTF_8)));
+        Files.write(body, "swag".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(fetch(cache, null), BODY);
+        assertEquals(new String(Files.readAllBytes(body), StandardCharsets.UTF_8), BODY);
+        verify(2, getRequestedFor(urlEqualTo("/spec.yaml")));
+    }
+
+    private HttpRemoteFetcher fetcher() {
+        // the test server gzips responses and rewrites their ETag when it does
+        return new HttpRemoteFetcher().compression(false);
+    }
+
+    private String fetch(DiskCacheFetcher cache, List<AuthorizationValue> auths) throws Exception {
+        return new String(cache.fetch(URL, auths), StandardCharsets.UTF_8);
+    }
+}
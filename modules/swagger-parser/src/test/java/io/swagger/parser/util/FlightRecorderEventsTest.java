@@ -0,0 +1,136 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.SwaggerParser;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class FlightRecorderEventsTest {
+
+    @AfterMethod
+    public void tearDown() {
+        RemoteUrl.setFetcher(null);
+    }
+
+    @Test
+    public void testEventsOfARecording() throws Exception {
+        // through reflection, as the jdk.jfr api is missing from java 7 and older java 8 builds
+        final Class<?> flightRecorder;
+        try {
+            flightRecorder = Class.forName("jdk.jfr.FlightRecorder");
+        } catch (ClassNotFoundException e) {
+            throw new SkipException("no flight recorder");
+        }
+        if (!(Boolean) flightRecorder.getMethod("isAvailable").invoke(null)) {
+            throw new SkipException("no flight recorder");
+        }
+        final Map<String, String> documents = new HashMap<>();
+        documents.put("http://example.com/swagger.yaml", "swagger: '2.0'\n" +
+                "info:\n" +
+                "  title: remote\n" +
+                "  version: '1'\n" +
+                "paths:\n" +
+                "  /pets:\n" +
+                "    get:\n" +
+                "      responses:\n" +
+                "        200:\n" +
+                "          description: ok\n" +
+                "          schema:\n" +
+                "            $ref: './definitions.json#/definitions/Pet'\n" +
+                "        default:\n" +
+                "          description: error\n" +
+                "          schema:\n" +
+                "            $ref: './definitions.json#/definitions/Pet'\n");
+        documents.put("http://example.com/definitions.json", "{\"definitions\": {\"Pet\": {\"type\": \"object\"}}}");
+        RemoteUrl.setFetcher(new RemoteFetcher() {
+            @Override
+            public byte[] fetch(String url, List<AuthorizationValue> auths) {
+                return documents.get(url).getBytes(StandardCharsets.UTF_8);
+            }
+        });
+        assertNull(FlightRecorderEvents.FETCH.begin());
+
+        final Class<?> recordingType = Class.forName("jdk.jfr.Recording");
+        final Object recording = recordingType.newInstance();
+        final Path file = Files.createTempFile("parser", ".jfr");
+        try {
+            recordingType.getMethod("start").invoke(recording);
+            assertTrue(FlightRecorderEvents.isRecording());
+            new SwaggerParser().read("http://example.com/swagger.yaml");
+            recordingType.getMethod("stop").invoke(recording);
+            assertFalse(FlightRecorderEvents.isRecording());
+            recordingType.getMethod("dump", Path.class).invoke(recording, file);
+
+            final Map<String, List<Object>> events = readEvents(file);
+            final List<Object> fetches = events.get(FlightRecorderEvents.FETCH.getName());
+            assertEquals(fetches.size(), 2);
+            assertEquals(value(fetches.get(0), "url"), "http://example.com/swagger.yaml");
+            assertEquals(value(fetches.get(0), "status"), "OK");
+            assertEquals(value(fetches.get(0), "bytes"),
+                    (long) documents.get("http://example.com/swagger.yaml").length());
+
+            final List<Object> parses = events.get(FlightRecorderEvents.PARSE.getName());
+            assertEquals(parses.size(), 2);
+            assertEquals(value(parses.get(0), "format"), "yaml");
+            assertEquals(value(parses.get(1), "format"), "json");
+            assertEquals(value(parses.get(1), "location"), "./definitions.json");
+
+            final List<Object> refs = events.get(FlightRecorderEvents.REF_LOAD.getName());
+            assertEquals(refs.size(), 2);
+            assertEquals(value(refs.get(0), "ref"), "./definitions.json#/definitions/Pet");
+            assertEquals(value(refs.get(0), "refFormat"), "RELATIVE");
+            assertEquals(value(refs.get(0), "cacheHit"), false);
+            assertEquals(value(refs.get(1), "cacheHit"), true);
+
+            final List<Object> resolves = events.get(FlightRecorderEvents.RESOLVE.getName());
+            assertEquals(resolves.size(), 1);
+            assertEquals(value(resolves.get(0), "location"), "http://example.com/swagger.yaml");
+            assertEquals(value(resolves.get(0), "paths"), 1);
+            assertEquals(value(resolves.get(0), "definitions"), 1);
+        } finally {
+            recordingType.getMethod("close").invoke(recording);
+            Files.delete(file);
+        }
+        assertNull(FlightRecorderEvents.FETCH.begin());
+    }
+
+    /**
+     * @return the events of the parser in the recording, by name, in the order they ended
+     */
+    private static Map<String, List<Object>> readEvents(Path file) throws Exception {
+        final Class<?> recordingFile = Class.forName("jdk.jfr.consumer.RecordingFile");
+        final List<?> recorded = (List<?>) recordingFile.getMethod("readAllEvents", Path.class).invoke(null, file);
+        final Map<String, List<Object>> events = new HashMap<>();
+        for (Object event : recorded) {
+            final Object type = event.getClass().getMethod("getEventType").invoke(event);
+            final String name = (String) type.getClass().getMethod("getName").invoke(type);
+            if (name.startsWith("io.swagger.parser.")) {
+                if (!events.containsKey(name)) {
+                    events.put(name, new ArrayList<>());
+                }
+                events.get(name).add(event);
+            }
+        }
+        return events;
+    }
+
+    private static Object value(Object event, String field) throws Exception {
+        final Method getValue = event.getClass().getMethod("getValue", String.class);
+        return getValue.invoke(event, field);
+    }
+}
@@ -0,0 +1,54 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.auth.AuthorizationValue;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+public class HashesTest {
+
+    @Test
+    public void testSha256() {
+        assertEquals(Hashes.sha256(""), "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        assertEquals(Hashes.sha256("abc".getBytes()), Hashes.sha256("abc"));
+    }
+
+    @Test
+    public void testNoAuthsNoFingerprint() {
+        assertNull(Hashes.authFingerprint("http://swagger.io/spec.json", null));
+        assertNull(Hashes.authFingerprint("http://swagger.io/spec.json", new ArrayList<AuthorizationValue>()));
+    }
+
+    @Test
+    public void testFingerprintLeavesOutValuesForOtherHosts() {
+        final AuthorizationValue other = new HostAuthorizationValue("petstore.swagger.io", "key", "1", "header");
+        final AuthorizationValue own = new HostAuthorizationValue("swagger.io", "key", "2", "header");
+
+        assertNull(Hashes.authFingerprint("http://swagger.io/spec.json", Arrays.asList(other)));
+        assertEquals(Hashes.authFingerprint("http://swagger.io/spec.json", Arrays.asList(other, own)),
+                Hashes.authFingerprint("http://swagger.io/spec.json", Arrays.asList(own)));
+    }
+
+    @Test
+    public void testFingerprintDependsOnTheValues() {
+        final List<AuthorizationValue> first = Arrays.asList(new AuthorizationValue("key", "1", "header"));
+        final List<AuthorizationValue> second = Arrays.asList(new AuthorizationValue("key", "2", "header"));
+
+        assertNotEquals(Hashes.authFingerprint("http://swagger.io/spec.json", first),
+                Hashes.authFingerprint("http://swagger.io/spec.json", second));
+    }
+
+    @Test
+    public void testFilesKeepAllValues() {
+        final AuthorizationValue other = new HostAuthorizationValue("petstore.swagger.io", "key", "1", "header");
+
+        assertNotNull(Hashes.authFingerprint("src/test/resources/petstore.yaml", Arrays.asList(other)));
+    }
+}
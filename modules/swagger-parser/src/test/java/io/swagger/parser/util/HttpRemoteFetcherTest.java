@@ -0,0 +1,164 @@
+package io.swagger.parser.util;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.util.HttpRemoteFetcher.CachedResponse;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class HttpRemoteFetcherTest {
+
+    private static final int WIRE_MOCK_PORT = 9999;
+    private static final String URL = "http://localhost:" + WIRE_MOCK_PORT + "/spec.yaml";
+    private static final String BODY = "swagger: '2.0'\n";
+    private WireMockServer wireMockServer;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        wireMockServer = new WireMockServer(WIRE_MOCK_PORT);
+        wireMockServer.start();
+        WireMock.configureFor(WIRE_MOCK_PORT);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        wireMockServer.stop();
+        RemoteUrl.setFetcher(null);
+    }
+
+    @Test
+    public void testDecodesGzip() throws Exception {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        stubFor(get(urlEqualTo("/spec.yaml"))
+                .willReturn(aResponse().withBody(compressed.toByteArray()).withHeader("Content-Encoding", "gzip")));
+
+        final byte[] body = new HttpRemoteFetcher().fetch(URL, null);
+
+        assertEquals(new String(body, StandardCharsets.UTF_8), BODY);
+        verify(getRequestedFor(urlEqualTo("/spec.yaml")).withHeader("Accept-Encoding", equalTo("gzip, deflate")));
+    }
+
+    @Test
+    public void testRevalidatesCachedResponse() throws Exception {
+        stubFor(get(urlEqualTo("/spec.yaml"))
+                .willReturn(aResponse().withBody(BODY).withHeader("ETag", "\"v1\"")));
+        stubFor(get(urlEqualTo("/spec.yaml")).withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        // the test server gzips responses and rewrites their ETag when it does
+        final HttpRemoteFetcher fetcher = new HttpRemoteFetcher().compression(false)
+                .cache(new HttpRemoteFetcher.MemoryCache());
+        final byte[] first = fetcher.fetch(URL, null);
+        final byte[] second = fetcher.fetch(URL, null);
+
+        assertEquals(new String(second, StandardCharsets.UTF_8), BODY);
+        assertEquals(second, first);
+        verify(1, getRequestedFor(urlEqualTo("/spec.yaml")).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    public void testUnrequestedNotModifiedIsAnError() throws Exception {
+        stubFor(get(urlEqualTo("/spec.yaml")).willReturn(aResponse().withStatus(304)));
+
+        try {
+            new HttpRemoteFetcher().fetch(URL, null, null);
+            fail("expected an error");
+        } catch (HttpStatusException e) {
+            assertEquals(e.getStatus(), 304);
+        }
+    }
+
+    @Test
+    public void testRevalidatesOnlyResponsesToTheSameAuthValues() throws Exception {
+        stubFor(get(urlEqualTo("/spec.yaml"))
+                .willReturn(aResponse().withBody(BODY).withHeader("ETag", "\"v1\"")));
+
+        final HttpRemoteFetcher fetcher = new HttpRemoteFetcher().compression(false)
+                .cache(new HttpRemoteFetcher.MemoryCache());
+        fetcher.fetch(URL, Arrays.asList(new AuthorizationValue("user", "alice", "header")));
+        fetcher.fetch(URL, Arrays.asList(new AuthorizationValue("user", "bob", "header")));
+        fetcher.fetch(URL, Arrays.asList(new AuthorizationValue("user", "alice", "header")));
+
+        verify(0, getRequestedFor(urlEqualTo("/spec.yaml")).withHeader("user", equalTo("bob"))
+                .withHeader("If-None-Match", equalTo("\"v1\"")));
+        verify(1, getRequestedFor(urlEqualTo("/spec.yaml")).withHeader("user", equalTo("alice"))
+                .withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    public void testMemoryCacheEvictsLeastRecentlyUsedResponses() {
+        final HttpRemoteFetcher.MemoryCache cache = new HttpRemoteFetcher.MemoryCache(2, 10);
+        cache.put("a", new CachedResponse("a", null, new byte[4]));
+        cache.put("b", new CachedResponse("b", null, new byte[4]));
+        cache.get("a");
+        cache.put("c", new CachedResponse("c", null, new byte[1]));
+
+        assertEquals(cache.getEntryCount(), 2);
+        assertNull(cache.get("b"));
+        assertEquals(cache.getSize(), 5);
+
+        // larger than the whole cache
+        cache.put("d", new CachedResponse("d", null, new byte[11]));
+        assertNull(cache.get("d"));
+        cache.put("e", new CachedResponse("e", null, new byte[8]));
+        assertNull(cache.get("a"));
+        assertEquals(cache.getSize(), 9);
+    }
+
+    @Test
+    public void testTimesOutByDefault() {
+        final HttpRemoteFetcher fetcher = new HttpRemoteFetcher();
+
+        assertEquals(fetcher.getConnectTimeout(), HttpRemoteFetcher.DEFAULT_CONNECT_TIMEOUT);
+        assertEquals(fetcher.getReadTimeout(), HttpRemoteFetcher.DEFAULT_READ_TIMEOUT);
+        assertTrue(fetcher.getConnectTimeout() > 0 && fetcher.getReadTimeout() > 0);
+    }
+
+    @Test
+    public void testReadTimeout() throws Exception {
+        stubFor(get(urlEqualTo("/spec.yaml")).willReturn(aResponse().withBody(BODY).withFixedDelay(2000)));
+
+        try {
+            new HttpRemoteFetcher().readTimeout(200).fetch(URL, null);
+            fail("expected a timeout");
+        } catch (SocketTimeoutException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRemoteUrlUsesFetcher() throws Exception {
+        RemoteUrl.setFetcher(new RemoteFetcher() {
+            @Override
+            public byte[] fetch(String url, List<AuthorizationValue> auths) {
+                return ("fetched\r\n" + url).getBytes(StandardCharsets.UTF_8);
+            }
+        });
+
+        assertEquals(RemoteUrl.urlToString("http://example.com/a.yaml", null), "fetched\nhttp://example.com/a.yaml");
+    }
+}
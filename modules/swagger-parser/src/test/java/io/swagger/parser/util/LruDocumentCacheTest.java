@@ -0,0 +1,209 @@
+package io.swagger.parser.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.models.refs.RefFormat;
+import io.swagger.parser.util.HttpRemoteFetcher.CachedResponse;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class LruDocumentCacheTest {
+    private static final String URL = "http://registry.example.com/common.yaml";
+
+    @AfterMethod
+    public void tearDown() {
+        RefUtils.setDocumentCache(null);
+        RemoteUrl.setFetcher(null);
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        LruDocumentCache cache = new LruDocumentCache();
+
+        assertNull(cache.get("file:/a.yaml", "1"));
+        cache.put("file:/a.yaml", "1", "a: 1");
+
+        assertEquals(cache.get("file:/a.yaml", "1"), "a: 1");
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 1);
+    }
+
+    @Test
+    public void testValidatorMismatchDropsEntry() {
+        LruDocumentCache cache = new LruDocumentCache();
+        cache.put("file:/a.yaml", "1", "a: 1");
+
+        assertNull(cache.get("file:/a.yaml", "2"));
+        assertEquals(cache.getEntryCount(), 0);
+        assertEquals(cache.getSize(), 0);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntry() {
+        LruDocumentCache cache = new LruDocumentCache(2, 1000);
+        cache.put("a", "1", "a");
+        cache.put("b", "1", "b");
+        cache.get("a", "1");
+        cache.put("c", "1", "c");
+
+        assertEquals(cache.getEntryCount(), 2);
+        assertEquals(cache.getEvictionCount(), 1);
+        assertNotNull(cache.get("a", "1"));
+        assertNull(cache.get("b", "1"));
+    }
+
+    @Test
+    public void testEvictsBySize() {
+        LruDocumentCache cache = new LruDocumentCache(10, 10);
+        cache.put("a", "1", "123456");
+        cache.put("b", "1", "123456");
+
+        assertEquals(cache.getEntryCount(), 1);
+        assertEquals(cache.getSize(), 6);
+        assertNull(cache.get("a", "1"));
+
+        // larger than the whole cache
+        cache.put("c", "1", "12345678901");
+        assertNull(cache.get("c", "1"));
+    }
+
+    @Test
+    public void testTreesAreHandedOutAsCopies() {
+        LruDocumentCache cache = new LruDocumentCache();
+        String contents = "{\"a\":1}";
+        cache.put("a", "1", contents);
+        cache.putTree(contents, Json.mapper().createObjectNode().put("a", 1));
+
+        JsonNode cached = cache.getTree(cache.get("a", "1"));
+        ((ObjectNode) cached).put("b", 2);
+
+        assertEquals(cache.getTree(contents).size(), 1);
+        assertNotSame(cache.getTree(contents), cache.getTree(contents));
+        assertNull(cache.getTree(new String(contents)));
+    }
+
+    @Test
+    public void testDeserializeIntoTreeParsesOnce() throws Exception {
+        LruDocumentCache cache = new LruDocumentCache();
+        RefUtils.setDocumentCache(cache);
+        String contents = "a: 1\n";
+        cache.put("file:/common.yaml", "1", contents);
+
+        JsonNode first = DeserializationUtils.deserializeIntoTree(contents, "common.yaml");
+        ((ObjectNode) first).put("b", 2);
+        JsonNode second = DeserializationUtils.deserializeIntoTree(contents, "common.yaml");
+
+        assertEquals(second.size(), 1);
+        assertNotSame(second, first);
+    }
+
+    @Test
+    public void testReadExternalRefUsesSharedCache() throws Exception {
+        Path dir = Files.createTempDirectory("document-cache");
+        File file = new File(dir.toFile(), "common.yaml");
+        FileUtils.writeStringToFile(file, "a: 1\n", "UTF-8");
+
+        LruDocumentCache cache = new LruDocumentCache();
+        RefUtils.setDocumentCache(cache);
+
+        String first = RefUtils.readExternalRef("./common.yaml", RefFormat.RELATIVE, null, dir);
+        String second = RefUtils.readExternalRef("./common.yaml", RefFormat.RELATIVE, null, dir);
+        assertSame(second, first);
+        assertEquals(cache.getHitCount(), 1);
+
+        FileUtils.writeStringToFile(file, "a: 12\n", "UTF-8");
+        String changed = RefUtils.readExternalRef("./common.yaml", RefFormat.RELATIVE, null, dir);
+        assertEquals(changed, "a: 12\n");
+        assertEquals(cache.getMissCount(), 2);
+
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    @Test
+    public void testReadUrlRevalidatesThroughTheFetcher() throws Exception {
+        final List<CachedResponse> previous = new ArrayList<>();
+        RemoteUrl.setFetcher(new RevalidatingFetcher() {
+            @Override
+            public CachedResponse fetch(String url, List<AuthorizationValue> auths, CachedResponse response) {
+                previous.add(response);
+                if (response != null && "\"v1\"".equals(response.getEtag())) {
+                    return response;
+                }
+                return new CachedResponse("\"v1\"", null, "a: 1\n".getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public byte[] fetch(String url, List<AuthorizationValue> auths) {
+                throw new AssertionError("only conditional fetches are expected");
+            }
+        });
+        LruDocumentCache cache = new LruDocumentCache();
+        RefUtils.setDocumentCache(cache);
+
+        String first = RefUtils.readExternalRef(URL, RefFormat.URL, null, null);
+        String second = RefUtils.readExternalRef(URL, RefFormat.URL, null, null);
+
+        assertEquals(first, "a: 1\n");
+        assertSame(second, first);
+        assertNull(previous.get(0));
+        assertEquals(previous.get(1).getEtag(), "\"v1\"");
+        assertEquals(previous.size(), 2);
+    }
+
+    @Test
+    public void testReadUrlComparesContentsOfOtherFetchers() throws Exception {
+        final AtomicInteger fetches = new AtomicInteger();
+        RemoteUrl.setFetcher(new RemoteFetcher() {
+            @Override
+            public byte[] fetch(String url, List<AuthorizationValue> auths) {
+                fetches.incrementAndGet();
+                return "a: 1\n".getBytes(StandardCharsets.UTF_8);
+            }
+        });
+        LruDocumentCache cache = new LruDocumentCache();
+        RefUtils.setDocumentCache(cache);
+
+        String first = RefUtils.readExternalRef(URL, RefFormat.URL, null, null);
+        String second = RefUtils.readExternalRef(URL, RefFormat.URL, null, null);
+
+        assertSame(second, first);
+        assertEquals(fetches.get(), 2);
+    }
+
+    @Test
+    public void testReadUrlKeepsCopiesPerAuthValues() throws Exception {
+        RemoteUrl.setFetcher(new RemoteFetcher() {
+            @Override
+            public byte[] fetch(String url, List<AuthorizationValue> auths) {
+                final String user = auths == null || auths.isEmpty() ? "anonymous" : auths.get(0).getValue();
+                return ("user: " + user + "\n").getBytes(StandardCharsets.UTF_8);
+            }
+        });
+        RefUtils.setDocumentCache(new LruDocumentCache());
+
+        List<AuthorizationValue> alice = Arrays.asList(new AuthorizationValue("user", "alice", "header"));
+        List<AuthorizationValue> bob = Arrays.asList(new AuthorizationValue("user", "bob", "header"));
+
+        assertEquals(RefUtils.readExternalRef(URL, RefFormat.URL, alice, null), "user: alice\n");
+        assertEquals(RefUtils.readExternalRef(URL, RefFormat.URL, bob, null), "user: bob\n");
+        assertEquals(RefUtils.readExternalRef(URL, RefFormat.URL, null, null), "user: anonymous\n");
+    }
+}
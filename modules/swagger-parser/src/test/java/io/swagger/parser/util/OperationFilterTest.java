@@ -0,0 +1,92 @@
+package io.swagger.parser.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.parser.ParseOptions;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+public class OperationFilterTest {
+    private static final String LOCATION = "src/test/resources/petstore-codegen.yaml";
+
+    @Test
+    public void testKeepsTheOperationsOfATag() throws Exception {
+        final Swagger swagger = new SwaggerDeserializer().operationFilter(tag("store")).deserialize(tree()).getSwagger();
+
+        assertEquals(swagger.getPaths().keySet(), new HashSet<>(Arrays.asList(
+                "/store/inventory", "/store/order", "/store/order/{orderId}")));
+        assertEquals(swagger.getDefinitions().keySet(), new HashSet<>(Arrays.asList("Order")));
+    }
+
+    @Test
+    public void testKeepsTheDefinitionsReachableFromTheOperations() throws Exception {
+        final Swagger swagger = new SwaggerDeserializer().operationFilter(tag("pet")).deserialize(tree()).getSwagger();
+
+        assertEquals(swagger.getDefinitions().keySet(), new HashSet<>(Arrays.asList(
+                "Pet", "Category", "Tag", "ApiResponse")));
+    }
+
+    @Test
+    public void testKeepsSingleOperations() throws Exception {
+        final Swagger swagger = new SwaggerDeserializer().operationFilter(new OperationFilter() {
+            @Override
+            public boolean accept(String path, HttpMethod method, List<String> tags, String operationId) {
+                return "/pet".equals(path) && method == HttpMethod.POST;
+            }
+        }).deserialize(tree()).getSwagger();
+
+        final Path pet = swagger.getPath("/pet");
+        assertNotNull(pet.getPost());
+        assertNull(pet.getPut());
+        assertNull(swagger.getPath("/pet/findByStatus"));
+        assertEquals(swagger.getDefinitions().keySet(), new HashSet<>(Arrays.asList("Pet", "Category", "Tag")));
+    }
+
+    @Test
+    public void testStreamingKeepsTheSameOperations() throws Exception {
+        final JsonNode tree = tree();
+        final SwaggerDeserializationResult expected = new SwaggerDeserializer().operationFilter(tag("user"))
+                .deserialize(tree);
+        final SwaggerDeserializationResult streamed = new SwaggerStreamingDeserializer().operationFilter(tag("user"))
+                .deserialize(new ByteArrayInputStream(Json.mapper().writeValueAsBytes(tree)));
+
+        assertEquals(Json.pretty(streamed.getSwagger()), Json.pretty(expected.getSwagger()));
+        assertEquals(streamed.getSwagger().getDefinitions().keySet(), new HashSet<>(Arrays.asList("User")));
+    }
+
+    @Test
+    public void testParserResolvesTheKeptOperations() {
+        final Swagger swagger = new SwaggerParser(new ParseOptions().operationFilter(tag("user"))).read(LOCATION);
+
+        assertEquals(swagger.getPaths().size(), 6);
+        assertEquals(swagger.getDefinitions().keySet(), new HashSet<>(Arrays.asList("User")));
+    }
+
+    private static JsonNode tree() throws Exception {
+        return DeserializationUtils.readYamlTree(FileUtils.readFileToString(new File(LOCATION), StandardCharsets.UTF_8));
+    }
+
+    private static OperationFilter tag(final String tag) {
+        return new OperationFilter() {
+            @Override
+            public boolean accept(String path, HttpMethod method, List<String> tags, String operationId) {
+                return tags.contains(tag);
+            }
+        };
+    }
+}
@@ -8,12 +8,10 @@ import io.swagger.parser.processors.ExternalRefProcessor;
 import mockit.Injectable;
 import mockit.Mocked;
 import mockit.StrictExpectations;
-import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
@@ -140,30 +138,27 @@ public class RefUtilsTest {
 
     @Test
     public void testReadExternalRef_RelativeFileFormat(@Injectable final List<AuthorizationValue> auths,
-                                                       @Mocked IOUtils ioUtils,
-                                                       @Mocked final FileInputStream fileInputStream,
                                                        @Mocked Files files,
                                                        @Injectable final Path parentDirectory,
-                                                       @Injectable final Path pathToUse,
-                                                       @Injectable final File file
+                                                       @Injectable final Path pathToUse
     ) throws Exception {
 
         final String filePath = "./path/to/file.json";
         final String expectedResult = "really good json";
 
-        setupRelativeFileExpectations(fileInputStream, parentDirectory, pathToUse, file, filePath);
+        setupRelativeFileExpectations(parentDirectory, pathToUse, filePath);
 
         new StrictExpectations() {{
-            IOUtils.toString(fileInputStream, "UTF-8");
+            Files.readAllBytes(pathToUse);
             times = 1;
-            result = expectedResult;
+            result = expectedResult.getBytes(StandardCharsets.UTF_8);
         }};
 
         String actualResult = RefUtils.readExternalRef(filePath, RefFormat.RELATIVE, auths, parentDirectory);
         assertEquals(expectedResult, actualResult);
     }
 
-    private void setupRelativeFileExpectations(@Mocked final FileInputStream fileInputStream, @Injectable final Path parentDirectory, @Injectable final Path pathToUse, @Injectable final File file, final String filePath) throws Exception {
+    private void setupRelativeFileExpectations(@Injectable final Path parentDirectory, @Injectable final Path pathToUse, final String filePath) throws Exception {
         new StrictExpectations() {{
 
             parentDirectory.resolve(filePath).normalize();
@@ -173,33 +168,22 @@ public class RefUtilsTest {
             Files.exists(pathToUse);
             times = 1;
             result = true;
-
-            pathToUse.toFile();
-            times = 1;
-            result = file;
-
-            new FileInputStream(file);
-            times = 1;
-            result = fileInputStream;
         }};
     }
 
     @Test
     public void testReadExternalRef_RelativeFileFormat_ExceptionThrown(@Injectable final List<AuthorizationValue> auths,
-                                                                       @Mocked IOUtils ioUtils,
-                                                                       @Mocked final FileInputStream fileInputStream,
                                                                        @Mocked Files files,
                                                                        @Injectable final IOException mockedException,
                                                                        @Injectable final Path parentDirectory,
-                                                                       @Injectable final Path pathToUse,
-                                                                       @Injectable final File file
+                                                                       @Injectable final Path pathToUse
     ) throws Exception {
         final String filePath = "./path/to/file.json";
 
-        setupRelativeFileExpectations(fileInputStream, parentDirectory, pathToUse, file, filePath);
+        setupRelativeFileExpectations(parentDirectory, pathToUse, filePath);
 
         new StrictExpectations() {{
-            IOUtils.toString(fileInputStream, "UTF-8");
+            Files.readAllBytes(pathToUse);
             times = 1;
             result = mockedException;
         }};
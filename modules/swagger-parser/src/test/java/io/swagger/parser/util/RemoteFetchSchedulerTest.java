@@ -0,0 +1,272 @@
+package io.swagger.parser.util;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.util.ParserMetrics.Phase;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class RemoteFetchSchedulerTest {
+
+    private static final int WIRE_MOCK_PORT = 9999;
+    private static final String URL = "http://localhost:" + WIRE_MOCK_PORT + "/spec.yaml";
+    private static final String BODY = "swagger: '2.0'\n";
+    private final InMemoryParserMetrics metrics = new InMemoryParserMetrics();
+    private WireMockServer wireMockServer;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        wireMockServer = new WireMockServer(WIRE_MOCK_PORT);
+        wireMockServer.start();
+        WireMock.configureFor(WIRE_MOCK_PORT);
+        metrics.reset();
+        ParserMetrics.set(metrics);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        wireMockServer.stop();
+        ParserMetrics.set(null);
+    }
+
+    @Test
+    public void testRetriesUnavailableAndThrottledResponses() throws Exception {
+        stubFor(get(urlEqualTo("/spec.yaml")).inScenario("retry").whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503)).willSetStateTo("throttled"));
+        stubFor(get(urlEqualTo("/spec.yaml")).inScenario("retry").whenScenarioStateIs("throttled")
+                .willReturn(aResponse().withStatus(429).withHeader("Retry-After", "0")).willSetStateTo("up"));
+        stubFor(get(urlEqualTo("/spec.yaml")).inScenario("retry").whenScenarioStateIs("up")
+                .willReturn(aResponse().withBody(BODY)));
+
+        final byte[] body = new RemoteFetchScheduler().initialBackoff(1).fetch(URL, null);
+
+        assertEquals(new String(body, StandardCharsets.UTF_8), BODY);
+        verify(3, getRequestedFor(urlEqualTo("/spec.yaml")));
+        assertEquals(metrics.getFetchRetries(), 2);
+        assertEquals(metrics.getPhaseCount(Phase.QUEUE), 3);
+    }
+
+    @Test
+    public void testRetriesResetConnections() throws Exception {
+        // the JDK itself sends a GET again once when the connection is closed without a response
+        stubFor(get(urlEqualTo("/spec.yaml")).inScenario("reset").whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withFault(Fault.EMPTY_RESPONSE)).willSetStateTo("reset again"));
+        stubFor(get(urlEqualTo("/spec.yaml")).inScenario("reset").whenScenarioStateIs("reset again")
+                .willReturn(aResponse().withFault(Fault.EMPTY_RESPONSE)).willSetStateTo("up"));
+        stubFor(get(urlEqualTo("/spec.yaml")).inScenario("reset").whenScenarioStateIs("up")
+                .willReturn(aResponse().withBody(BODY)));
+
+        final byte[] body = new RemoteFetchScheduler().initialBackoff(1).fetch(URL, null);
+
+        assertEquals(new String(body, StandardCharsets.UTF_8), BODY);
+        assertTrue(metrics.getFetchRetries() >= 1);
+    }
+
+    @Test
+    public void testGivesUpAfterMaxRetries() throws Exception {
+        stubFor(get(urlEqualTo("/spec.yaml")).willReturn(aResponse().withStatus(500)));
+
+        try {
+            new RemoteFetchScheduler().initialBackoff(1).maxRetries(2).fetch(URL, null);
+            fail("expected the server error");
+        } catch (HttpStatusException e) {
+            assertEquals(e.getStatus(), 500);
+        }
+        verify(3, getRequestedFor(urlEqualTo("/spec.yaml")));
+    }
+
+    @Test
+    public void testDoesNotRetryClientErrors() throws Exception {
+        stubFor(get(urlEqualTo("/spec.yaml")).willReturn(aResponse().withStatus(404)));
+
+        try {
+            new RemoteFetchScheduler().initialBackoff(1).fetch(URL, null);
+            fail("expected the client error");
+        } catch (HttpStatusException e) {
+            assertEquals(e.getStatus(), 404);
+        }
+        verify(1, getRequestedFor(urlEqualTo("/spec.yaml")));
+        assertEquals(metrics.getFetchRetries(), 0);
+    }
+
+    @Test
+    public void testLimitsFetchesPerHostAndInTotal() throws Exception {
+        final ConcurrencyRecorder recorder = new ConcurrencyRecorder();
+        final RemoteFetchScheduler scheduler = new RemoteFetchScheduler(recorder).maxPerHost(2).maxTotal(3);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(12);
+        try {
+            final List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                // 6 for one host, and 1 for each of 6 others
+                final String url = i % 2 == 0 ? "http://registry.example.com/" + i : "http://host" + i + ".example.com/";
+                results.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        return scheduler.fetch(url, null);
+                    }
+                }));
+            }
+            for (Future<byte[]> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(recorder.maxTotal, 3);
+        assertTrue(recorder.maxRegistry <= 2);
+        assertEquals(scheduler.getQueued(), 0);
+        assertEquals(metrics.getPhaseCount(Phase.QUEUE), 12);
+    }
+
+    @Test
+    public void testBoundsTheQueue() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final RemoteFetchScheduler scheduler = new RemoteFetchScheduler(new RemoteFetcher() {
+            @Override
+            public byte[] fetch(String url, List<AuthorizationValue> auths) throws Exception {
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+                return new byte[0];
+            }
+        }).maxPerHost(1).maxQueued(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        return scheduler.fetch(URL, null);
+                    }
+                }));
+                // the first fetch is running, the second waits for it
+                final long deadline = System.currentTimeMillis() + 10000;
+                while (scheduler.getQueued() < i) {
+                    assertTrue(System.currentTimeMillis() < deadline);
+                    Thread.sleep(5);
+                }
+            }
+            try {
+                scheduler.fetch(URL, null);
+                fail("expected the queue to be full");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().startsWith("Too many fetches waiting"));
+            }
+            try {
+                scheduler.queueTimeout(50).maxQueued(2).fetch(URL, null);
+                fail("expected a timeout");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().startsWith("Timed out waiting"));
+            }
+            release.countDown();
+            for (Future<byte[]> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInterruptedWaiterReleasesItsHostSlot() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final RemoteFetchScheduler scheduler = new RemoteFetchScheduler(new RemoteFetcher() {
+            @Override
+            public byte[] fetch(String url, List<AuthorizationValue> auths) throws Exception {
+                if (url.startsWith("http://busy.example.com/")) {
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                }
+                return new byte[0];
+            }
+        }).maxPerHost(1).maxTotal(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<byte[]> busy = executor.submit(new Callable<byte[]>() {
+                @Override
+                public byte[] call() throws Exception {
+                    return scheduler.fetch("http://busy.example.com/", null);
+                }
+            });
+            // waits for the total slot the busy fetch holds, with the slot of its own host
+            final AtomicReference<Thread> waiting = new AtomicReference<>();
+            final Future<byte[]> waiter = executor.submit(new Callable<byte[]>() {
+                @Override
+                public byte[] call() throws Exception {
+                    waiting.set(Thread.currentThread());
+                    return scheduler.fetch(URL, null);
+                }
+            });
+            final long deadline = System.currentTimeMillis() + 10000;
+            while (waiting.get() == null || waiting.get().getState() != Thread.State.WAITING) {
+                assertTrue(System.currentTimeMillis() < deadline);
+                Thread.sleep(5);
+            }
+            waiter.cancel(true);
+            release.countDown();
+            busy.get(10, TimeUnit.SECONDS);
+
+            // would time out if the interrupted waiter had kept the slot of the host
+            scheduler.queueTimeout(1000).fetch(URL, null);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Records how many fetches run at once, in total and for registry.example.com.
+     */
+    private static class ConcurrencyRecorder implements RemoteFetcher {
+        private final AtomicInteger total = new AtomicInteger();
+        private final AtomicInteger registry = new AtomicInteger();
+        private volatile int maxTotal;
+        private volatile int maxRegistry;
+
+        @Override
+        public byte[] fetch(String url, List<AuthorizationValue> auths) throws Exception {
+            final boolean isRegistry = url.startsWith("http://registry.example.com/");
+            final int running = total.incrementAndGet();
+            final int runningOnRegistry = isRegistry ? registry.incrementAndGet() : 0;
+            synchronized (this) {
+                maxTotal = Math.max(maxTotal, running);
+                maxRegistry = Math.max(maxRegistry, runningOnRegistry);
+            }
+            Thread.sleep(50);
+            if (isRegistry) {
+                registry.decrementAndGet();
+            }
+            total.decrementAndGet();
+            return new byte[0];
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
@@ -46,6 +48,26 @@ public class RemoteUrlTest {
         assertEquals(cleaned, "http://foo/bar/com/%7Bv2%7D/fun");
     }
 
+    @Test
+    public void testRemovesControlCharacters() throws Exception {
+        final String document = "a:\r\n\tb: 'c\u0000d\u007fe\u0085f\u009fg'\n  h: r\u00e9sum\u00e9 \u20ac \ud83d\ude00\n";
+        final byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        final int length = RemoteUrl.removeControlCharacters(bytes, bytes.length);
+
+        assertEquals(new String(bytes, 0, length, StandardCharsets.UTF_8),
+                "a:\nb: 'cdefg'\n  h: r\u00e9sum\u00e9 \u20ac \ud83d\ude00\n");
+    }
+
+    @Test
+    public void testReadFullyIgnoresWrongContentLength() throws Exception {
+        final byte[] bytes = new byte[20000];
+        Arrays.fill(bytes, (byte) 'a');
+
+        assertEquals(RemoteUrl.readFully(new ByteArrayInputStream(bytes), -1).length, bytes.length);
+        assertEquals(RemoteUrl.readFully(new ByteArrayInputStream(bytes), 100).length, bytes.length);
+        assertEquals(RemoteUrl.readFully(new ByteArrayInputStream(bytes), 50000).length, bytes.length);
+    }
+
     @Test
     public void testReadARemoteUrl() throws Exception {
         final String expectedBody = setupStub();
@@ -0,0 +1,221 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.models.refs.RefFormat;
+import io.swagger.parser.SwaggerParser;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class SharedUrlReadTest {
+    private static final int THREADS = 8;
+    private static final String COMMON = "http://registry.example.com/common.yaml";
+    private static final String COMMON_YAML = "definitions:\n" +
+            "  Pet:\n" +
+            "    type: object\n" +
+            "    properties:\n" +
+            "      name:\n" +
+            "        type: string\n";
+
+    private CountDownLatch release;
+    private AtomicInteger commonFetches;
+    private volatile IOException failure;
+
+    @BeforeMethod
+    public void setUp() {
+        release = new CountDownLatch(1);
+        commonFetches = new AtomicInteger();
+        failure = null;
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        release.countDown();
+        RemoteUrl.setFetcher(null);
+        RefUtils.setDocumentCache(null);
+        ParserMetrics.set(null);
+    }
+
+    @Test
+    public void testConcurrentParsersFetchAndParseOnce() throws Exception {
+        RemoteUrl.setFetcher(new BlockingFetcher());
+        // the parsers share the tree through the document cache
+        RefUtils.setDocumentCache(new LruDocumentCache());
+        final AtomicInteger commonParses = new AtomicInteger();
+        ParserMetrics.set(new ParserMetrics() {
+            @Override
+            public void phaseCompleted(Phase phase, String location, long nanos) {
+                if (phase == Phase.PARSE && COMMON.equals(location)) {
+                    commonParses.incrementAndGet();
+                }
+            }
+        });
+
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS, recording(threads));
+        try {
+            final List<Future<Swagger>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                final String spec = "http://example.com/spec" + i + ".yaml";
+                results.add(executor.submit(new Callable<Swagger>() {
+                    @Override
+                    public Swagger call() {
+                        return new SwaggerParser().read(spec);
+                    }
+                }));
+            }
+            awaitWaiting(threads, THREADS - 1);
+            release.countDown();
+
+            final List<Model> pets = new ArrayList<>();
+            for (Future<Swagger> result : results) {
+                final Model pet = result.get(10, TimeUnit.SECONDS).getDefinitions().get("Pet");
+                assertNotNull(pet);
+                assertNotNull(pet.getProperties().get("name"));
+                pets.add(pet);
+            }
+            assertNotSame(pets.get(0), pets.get(1));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(commonFetches.get(), 1);
+        assertEquals(commonParses.get(), 1);
+    }
+
+    @Test
+    public void testFailureReachesEveryWaiter() throws Exception {
+        RemoteUrl.setFetcher(new BlockingFetcher());
+        failure = new IOException("registry unavailable");
+
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS, recording(threads));
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return RefUtils.readExternalRef(COMMON, RefFormat.URL, null, null);
+                    }
+                }));
+            }
+            awaitWaiting(threads, THREADS - 1);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                    fail("the read should have failed");
+                } catch (ExecutionException e) {
+                    assertSame(e.getCause().getCause(), failure);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(commonFetches.get(), 1);
+
+        // the failure is not kept
+        failure = null;
+        assertEquals(RefUtils.readExternalRef(COMMON, RefFormat.URL, null, null), COMMON_YAML);
+        assertEquals(commonFetches.get(), 2);
+    }
+
+    @Test
+    public void testSequentialReadsFetchAgain() throws Exception {
+        release.countDown();
+        RemoteUrl.setFetcher(new BlockingFetcher());
+
+        RefUtils.readExternalRef(COMMON, RefFormat.URL, null, null);
+        RefUtils.readExternalRef("http://registry.example.com/./common.yaml", RefFormat.URL, null, null);
+
+        assertEquals(commonFetches.get(), 2);
+    }
+
+    private static ThreadFactory recording(final List<Thread> threads) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                final Thread thread = Executors.defaultThreadFactory().newThread(task);
+                threads.add(thread);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Waits for the threads to wait without a timeout, which those joining the read of the common document do,
+     * while the one fetching it waits for the release with a timeout.
+     */
+    private static void awaitWaiting(List<Thread> threads, int waiting) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (countWaiting(threads) < waiting) {
+            assertTrue(System.currentTimeMillis() < deadline, "the parsers did not all wait for the same read");
+            Thread.sleep(5);
+        }
+    }
+
+    private static int countWaiting(List<Thread> threads) {
+        int count = 0;
+        for (Thread thread : threads) {
+            if (thread.getState() == Thread.State.WAITING) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Serves a spec referring to the common document for each example.com url, and the common document once
+     * released.
+     */
+    private class BlockingFetcher implements RemoteFetcher {
+        @Override
+        public byte[] fetch(String url, List<AuthorizationValue> auths) throws Exception {
+            if (url.startsWith("http://example.com/")) {
+                return ("swagger: '2.0'\n" +
+                        "info:\n" +
+                        "  title: " + url + "\n" +
+                        "  version: '1'\n" +
+                        "paths:\n" +
+                        "  /pets:\n" +
+                        "    get:\n" +
+                        "      responses:\n" +
+                        "        200:\n" +
+                        "          description: ok\n" +
+                        "          schema:\n" +
+                        "            $ref: '" + COMMON + "#/definitions/Pet'\n").getBytes(StandardCharsets.UTF_8);
+            }
+            commonFetches.incrementAndGet();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            if (failure != null) {
+                throw failure;
+            }
+            return COMMON_YAML.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
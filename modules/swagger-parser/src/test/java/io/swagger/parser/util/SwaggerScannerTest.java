@@ -0,0 +1,93 @@
+package io.swagger.parser.util;
+
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.parser.Swagger20Parser;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class SwaggerScannerTest {
+
+    @DataProvider
+    public Object[][] files() {
+        return new Object[][]{
+                {"src/test/resources/petstore-codegen.yaml"},
+                {"src/test/resources/uber.json"},
+                {"src/test/resources/issue_469.json"},
+                {"src/test/resources/nested-file-references/issue-336.json"},
+                {"src/test/resources/file-reference-with-vendor-ext/b.yaml"}
+        };
+    }
+
+    @Test(dataProvider = "files")
+    public void testSameMetadataAsTheDeserializer(String file) throws Exception {
+        final Swagger swagger = new Swagger20Parser().readWithInfo(Paths.get(file)).getSwagger();
+        final SwaggerSummary summary = new SwaggerParser().scan(file, null);
+
+        assertEquals(summary.getSwagger(), swagger.getSwagger());
+        assertEquals(Json.pretty(summary.getInfo()), Json.pretty(swagger.getInfo()));
+        assertEquals(summary.getHost(), swagger.getHost());
+        assertEquals(summary.getBasePath(), swagger.getBasePath());
+        assertEquals(Json.pretty(summary.getTags()), Json.pretty(swagger.getTags()));
+
+        int operations = 0;
+        for (Path path : swagger.getPaths().values()) {
+            operations += path.getOperations().size();
+        }
+        assertEquals(summary.getPathCount(), swagger.getPaths().size());
+        assertEquals(summary.getOperationCount(), operations);
+        assertEquals(summary.getDefinitionCount(), swagger.getDefinitions() != null ? swagger.getDefinitions().size() : 0);
+    }
+
+    @Test
+    public void testSkipsEverythingElse() throws Exception {
+        final String yaml = "swagger: 2.0\n" +
+                "x-defaults: &defaults\n" +
+                "  description: ok\n" +
+                "info:\n" +
+                "  title: scanned\n" +
+                "  version: 1.0.0\n" +
+                "paths:\n" +
+                "  x-vendor: {}\n" +
+                "  /pets:\n" +
+                "    parameters: []\n" +
+                "    get:\n" +
+                "      responses:\n" +
+                "        200: *defaults\n" +
+                "    post: {}\n" +
+                "  /pets/{id}:\n" +
+                "    delete: {}\n" +
+                "    x-operation: {}\n" +
+                "definitions:\n" +
+                "  Pet:\n" +
+                "    properties:\n" +
+                "      name: {type: string}\n";
+        final SwaggerSummary summary = new SwaggerScanner().scan(
+                new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(summary.getSwagger(), "2.0");
+        assertEquals(summary.getInfo().getTitle(), "scanned");
+        assertNull(summary.getHost());
+        assertNull(summary.getTags());
+        assertEquals(summary.getPathCount(), 2);
+        assertEquals(summary.getOperationCount(), 3);
+        assertEquals(summary.getDefinitionCount(), 1);
+    }
+
+    @Test
+    public void testEmptyDocuments() throws Exception {
+        final SwaggerSummary summary = new SwaggerScanner().scan(new ByteArrayInputStream(new byte[0]));
+
+        assertNull(summary.getSwagger());
+        assertEquals(summary.getPathCount(), 0);
+    }
+}
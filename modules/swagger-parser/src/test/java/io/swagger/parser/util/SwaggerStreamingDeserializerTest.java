@@ -0,0 +1,89 @@
+package io.swagger.parser.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class SwaggerStreamingDeserializerTest {
+
+    @DataProvider
+    public Object[][] files() {
+        return new Object[][]{
+                {"src/test/resources/petstore.json"},
+                {"src/test/resources/uber.json"},
+                {"src/test/resources/issue_469.json"},
+                {"src/test/resources/objectExample.json"},
+                {"src/test/resources/nested-file-references/issue-336.json"}
+        };
+    }
+
+    @Test(dataProvider = "files")
+    public void testSameResultAsTreeDeserializer(String file) throws Exception {
+        assertSameResult(FileUtils.readFileToString(new File(file), "UTF-8"));
+    }
+
+    @Test
+    public void testSameMessagesAsTreeDeserializer() throws Exception {
+        String json = "{\n" +
+                "  \"swagger\": \"2.0\",\n" +
+                "  \"bad\": 1,\n" +
+                "  \"paths\": {\n" +
+                "    \"x-vendor\": {},\n" +
+                "    \"/bad\": \"string\",\n" +
+                "    \"/foo\": {\n" +
+                "      \"get\": {\n" +
+                "        \"operationId\": \"foo\",\n" +
+                "        \"extra\": true\n" +
+                "      }\n" +
+                "    }\n" +
+                "  },\n" +
+                "  \"definitions\": {\n" +
+                "    \"Bad\": [],\n" +
+                "    \"Pet\": {\n" +
+                "      \"type\": \"object\",\n" +
+                "      \"unexpected\": 1,\n" +
+                "      \"properties\": {\"name\": {\"type\": \"string\"}}\n" +
+                "    }\n" +
+                "  }\n" +
+                "}";
+        SwaggerDeserializationResult result = assertSameResult(json);
+        assertEquals(result.getMessages().size(), 8);
+    }
+
+    @Test
+    public void testInvalidRoot() throws Exception {
+        SwaggerDeserializationResult result = assertSameResult("[]");
+        assertNull(result.getSwagger());
+    }
+
+    @Test
+    public void testEmptyDocument() throws Exception {
+        SwaggerDeserializationResult result = new SwaggerStreamingDeserializer().deserialize(
+                new ByteArrayInputStream(new byte[0]));
+        assertNull(result.getSwagger());
+        assertEquals(result.getMessages().get(0), "empty or null swagger supplied");
+    }
+
+    private SwaggerDeserializationResult assertSameResult(String json) throws Exception {
+        JsonNode tree = Json.mapper().readTree(json);
+        SwaggerDeserializationResult expected = new SwaggerDeserializer().deserialize(tree);
+
+        SwaggerDeserializationResult actual = new SwaggerStreamingDeserializer().deserialize(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(Json.pretty(actual.getSwagger()), Json.pretty(expected.getSwagger()));
+        assertEquals(new HashSet<>(actual.getMessages()), new HashSet<>(expected.getMessages()));
+        assertEquals(actual.getMessages().size(), expected.getMessages().size());
+        return actual;
+    }
+}
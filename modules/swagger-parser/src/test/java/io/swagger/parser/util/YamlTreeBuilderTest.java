@@ -0,0 +1,137 @@
+package io.swagger.parser.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.reader.StreamReader;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+public class YamlTreeBuilderTest {
+
+    @DataProvider
+    public Object[][] files() {
+        final List<Object[]> files = new ArrayList<>();
+        for (File file : FileUtils.listFiles(new File("src/test/resources"), new String[]{"yaml"}, true)) {
+            files.add(new Object[]{file});
+        }
+        return files.toArray(new Object[files.size()][]);
+    }
+
+    @DataProvider
+    public Object[][] documents() {
+        return new Object[][]{
+                {"a: 1\nb: 0x1F\nc: 017\nd: 1_000\ne: 12345678901\nf: 123456789012345678901234567890\ng: 190:20:30"},
+                {"a: 1.5\nb: .inf\nc: -.Inf\nd: .nan\ne: 1e3\nf: 6.8523015e+5"},
+                {"a: yes\nb: No\nc: on\nd: OFF\ne: true\nf: ~\ng: null\nh:\ni: 'yes'\nj: \"1\""},
+                {"responses:\n  200:\n    description: ok\n  default:\n    description: error\n3.5: x\ntrue: y"},
+                {"a: 2001-12-14t21:59:43.10-05:00\nb: 2002-12-14\nc: !!binary R0lGODlhDAAMAIQAAP//"},
+                {"a: &anchor\n  type: string\n  enum: [a, b]\nb: *anchor\nc: [*anchor, *anchor]"},
+                {"base: &base\n  x: 1\n  y: 2\nother: &other\n  y: 3\n  z: 4\n"
+                        + "merged:\n  <<: *base\n  y: 5\n  w: 6\n"
+                        + "list:\n  w: 0\n  <<: [*other, *base]\n  v: 1"},
+                {"a: &a {x: 1, y: 2, z: 3}\nb: {<<: *a}\nc: {<<: [*a, {w: 0}]}\nd: {<<: *a, x: 0}\ne: *a\n"
+                        + "f: {<<: &f {v: 1, u: 2}}\ng: {<<: *f}"},
+                {"set: !!set\n  ? a\n  ? 1\n  ? a\nomap: !!omap\n  - b: 1\n  - a: 2\npairs: !!pairs\n  - a: 1\n  - a: 2"},
+                {"? [a, b]\n: 1\n? {c: d}\n: 2"},
+                {"- a\n- !!str 1\n- !!int '2'\n- !!float '3'\n- ! 4"},
+                {"literal: |\n  line 1\n  line 2\nfolded: >\n  line 1\n  line 2\n"},
+                {"just a string"},
+                {"42"},
+        };
+    }
+
+    @Test(dataProvider = "files")
+    public void testSameTreeAsConversionForFiles(File file) throws Exception {
+        final String contents = FileUtils.readFileToString(file, "UTF-8");
+        final JsonNode expected;
+        try {
+            expected = convert(contents);
+        } catch (YAMLException e) {
+            // not every resource is valid yaml
+            return;
+        }
+        assertSameTree(build(contents), expected);
+    }
+
+    @Test(dataProvider = "documents")
+    public void testSameTreeAsConversion(String contents) {
+        assertSameTree(build(contents), convert(contents));
+    }
+
+    @Test
+    public void testEmptyAndNullDocuments() {
+        assertNull(build(""));
+        assertNull(build("# nothing\n"));
+        assertNull(build("---\n...\n"));
+        assertNull(build("~"));
+    }
+
+    @Test
+    public void testRejectsMultipleDocuments() {
+        try {
+            build("a: 1\n---\nb: 2");
+            fail("no exception thrown");
+        } catch (YAMLException e) {
+            // expected, as by Yaml.load
+        }
+    }
+
+    @Test
+    public void testRejectsRecursiveAlias() {
+        try {
+            build("a: &a\n  b: *a");
+            fail("no exception thrown");
+        } catch (YAMLException e) {
+            // expected, the conversion failed too
+        }
+    }
+
+    @Test
+    public void testRejectsUnsafeTags() {
+        try {
+            build("a: !!java.io.File /tmp");
+            fail("no exception thrown");
+        } catch (YAMLException e) {
+            // expected, as by SafeConstructor
+        }
+    }
+
+    @Test
+    public void testBuilderCanBeReused() {
+        final YamlTreeBuilder builder = new YamlTreeBuilder();
+
+        assertEquals(builder.build(new StreamReader("a: &x 1\nb: *x")).toString(), "{\"a\":1,\"b\":1}");
+        try {
+            builder.build(new StreamReader("c: *x"));
+            fail("no exception thrown");
+        } catch (YAMLException e) {
+            // the anchors of the previous document are gone
+        }
+        assertEquals(builder.build(new StreamReader("c: 2")).toString(), "{\"c\":2}");
+    }
+
+    private static JsonNode build(String contents) {
+        return new YamlTreeBuilder().build(new StreamReader(contents));
+    }
+
+    private static JsonNode convert(String contents) {
+        return Json.mapper().convertValue(new Yaml().load(contents), JsonNode.class);
+    }
+
+    private static void assertSameTree(JsonNode actual, JsonNode expected) {
+        assertEquals(actual, expected);
+        // the order of the fields, which equals ignores, shows up in the serialized specs
+        assertEquals(String.valueOf(actual), String.valueOf(expected));
+    }
+}
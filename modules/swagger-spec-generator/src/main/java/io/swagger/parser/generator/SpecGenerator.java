@@ -0,0 +1,471 @@
+package io.swagger.parser.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic swagger 2.0 specs of any size, for stress tests and benchmarks. The same options and seed
+ * always produce the same documents.
+ *
+ * Path i is `/resources{i}/{id}` with the first operationsPerPath of get, post, put, delete, patch, head and
+ * options. Request bodies and responses either refer to a random definition or, in inlineRatio of the cases, are
+ * inline schemas.
+ *
+ * The definitions, Model0 to ModelN, are arranged in chains of refChainDepth: each one refers to the next of its
+ * chain, through a `next` property or, for the first composedDepth links, by extending it with allOf. With cycles,
+ * the last one of a chain refers back to the first. Each definition also has a `related` property, inline or
+ * referring to a random definition further down, so that refs fan out across chains without adding cycles.
+ *
+ * With externalFiles, the definitions are spread round-robin over that many files next to the root document and
+ * referred to with relative refs, e.g. `./definitions-2.json#/definitions/Model7`.
+ *
+ * The generator can also be run from the command line, see {@link #main(String[])}.
+ */
+public class SpecGenerator {
+    private static final String[] METHODS = {"get", "post", "put", "delete", "patch", "head", "options"};
+    private static final String ROOT = "swagger";
+    private static final String USAGE = "usage: SpecGenerator [--seed n] [--paths n] [--operations-per-path n] "
+            + "[--definitions n] [--inline-ratio 0..1] [--external-files n] [--ref-chain-depth n] "
+            + "[--composed-depth n] [--cycles] [--format json|yaml] --output directory";
+
+    public enum Format {
+        JSON("json"),
+        YAML("yaml");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public ObjectMapper mapper() {
+            return this == JSON ? Json.mapper() : Yaml.mapper();
+        }
+    }
+
+    private long seed;
+    private int paths = 10;
+    private int operationsPerPath = 2;
+    private int definitions = 10;
+    private double inlineRatio;
+    private int externalFiles;
+    private int refChainDepth = 1;
+    private int composedDepth;
+    private boolean cycles;
+    private Format format = Format.JSON;
+
+    /**
+     * Generates the documents, by file name, the root document first.
+     *
+     * @return the documents, in order
+     */
+    public Map<String, ObjectNode> generate() {
+        final Random random = new Random(seed);
+        final Map<String, ObjectNode> files = new LinkedHashMap<>();
+
+        final ObjectNode root = Json.mapper().createObjectNode();
+        root.put("swagger", "2.0");
+        root.putObject("info").put("title", "Generated").put("version", "1.0.0")
+                .put("description", "seed " + seed);
+        root.put("host", "localhost");
+        root.put("basePath", "/v1");
+        root.putArray("schemes").add("http");
+        root.putArray("consumes").add("application/json");
+        root.putArray("produces").add("application/json");
+        files.put(getRootFileName(), root);
+
+        final ObjectNode pathsNode = root.putObject("paths");
+        for (int i = 0; i < paths; i++) {
+            pathsNode.set("/resources" + i + "/{id}", path(i, random));
+        }
+
+        for (int i = 0; i < definitions; i++) {
+            final String file = fileOf(i);
+            ObjectNode document = files.get(file);
+            if (document == null) {
+                document = Json.mapper().createObjectNode();
+                files.put(file, document);
+            }
+            final ObjectNode definitionsNode = document.has("definitions")
+                    ? (ObjectNode) document.get("definitions") : document.putObject("definitions");
+            definitionsNode.set(name(i), definition(i, random));
+        }
+        return files;
+    }
+
+    /**
+     * Generates the root document, which is the whole spec if there are no external files.
+     *
+     * @return the root document
+     */
+    public ObjectNode generateRoot() {
+        return generate().get(getRootFileName());
+    }
+
+    /**
+     * Writes the documents to the directory, creating it if needed.
+     *
+     * @param directory where to write the documents
+     * @return the root document
+     * @throws IOException if a document could not be written
+     */
+    public File write(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("unable to create " + directory);
+        }
+        for (Map.Entry<String, ObjectNode> file : generate().entrySet()) {
+            format.mapper().writeValue(new File(directory, file.getKey()), file.getValue());
+        }
+        return new File(directory, getRootFileName());
+    }
+
+    public String getRootFileName() {
+        return ROOT + "." + format.getExtension();
+    }
+
+    private ObjectNode path(int index, Random random) {
+        final ObjectNode path = Json.mapper().createObjectNode();
+        final int operations = Math.min(operationsPerPath, METHODS.length);
+        for (int m = 0; m < operations; m++) {
+            final String method = METHODS[m];
+            final ObjectNode operation = path.putObject(method);
+            operation.putArray("tags").add("group" + (index % 10));
+            operation.put("operationId", method + "Resource" + index);
+            operation.put("summary", method + " resource " + index);
+
+            final ArrayNode parameters = operation.putArray("parameters");
+            parameters.addObject().put("name", "id").put("in", "path").put("required", true).put("type", "string");
+            parameters.addObject().put("name", "limit").put("in", "query").put("required", false)
+                    .put("type", "integer").put("format", "int32");
+            final boolean hasBody = "post".equals(method) || "put".equals(method) || "patch".equals(method);
+            if (hasBody) {
+                parameters.addObject().put("name", "body").put("in", "body").put("required", true)
+                        .set("schema", schema(random));
+            }
+
+            final ObjectNode responses = operation.putObject("responses");
+            if ("get".equals(method) || hasBody) {
+                final ObjectNode ok = responses.putObject("200").put("description", "ok");
+                if ("get".equals(method) && random.nextBoolean()) {
+                    final ObjectNode array = ok.putObject("schema").put("type", "array");
+                    array.set("items", schema(random));
+                } else {
+                    ok.set("schema", schema(random));
+                }
+            } else {
+                responses.putObject("204").put("description", "no content");
+            }
+            responses.putObject("default").put("description", "error");
+        }
+        return path;
+    }
+
+    private ObjectNode schema(Random random) {
+        if (definitions == 0 || random.nextDouble() < inlineRatio) {
+            return inlineSchema(random, getRootFileName());
+        }
+        return ref(random.nextInt(definitions), getRootFileName());
+    }
+
+    private ObjectNode inlineSchema(Random random, String file) {
+        final ObjectNode schema = Json.mapper().createObjectNode();
+        schema.put("type", "object");
+        final ObjectNode properties = schema.putObject("properties");
+        properties.putObject("code").put("type", "string");
+        properties.putObject("count").put("type", "integer").put("format", "int32");
+        if (definitions > 0) {
+            properties.set("model", ref(random.nextInt(definitions), file));
+        }
+        return schema;
+    }
+
+    private ObjectNode definition(int index, Random random) {
+        final String file = fileOf(index);
+        final int position = index % refChainDepth;
+        final int first = index - position;
+        final Integer next = position < refChainDepth - 1 && index + 1 < definitions ? index + 1 : null;
+
+        final ObjectNode model = Json.mapper().createObjectNode();
+        model.put("type", "object");
+        model.putArray("required").add("id");
+        final ObjectNode properties = model.putObject("properties");
+        properties.putObject("id").put("type", "integer").put("format", "int64");
+        properties.putObject("name").put("type", "string").put("description", "name of " + name(index));
+        properties.putObject("tags").put("type", "array").putObject("items").put("type", "string");
+        properties.putObject("created").put("type", "string").put("format", "date-time");
+
+        if (next != null && position >= composedDepth) {
+            properties.set("next", ref(next, file));
+        }
+        if (next == null && cycles) {
+            properties.set("first", ref(first, file));
+        }
+        if (random.nextDouble() < inlineRatio) {
+            properties.set("related", inlineSchema(random, file));
+        } else if (index + 1 < definitions) {
+            properties.set("related", ref(index + 1 + random.nextInt(definitions - index - 1), file));
+        }
+
+        if (next != null && position < composedDepth) {
+            final ObjectNode composed = Json.mapper().createObjectNode();
+            final ArrayNode allOf = composed.putArray("allOf");
+            allOf.add(ref(next, file));
+            allOf.add(model);
+            return composed;
+        }
+        return model;
+    }
+
+    private ObjectNode ref(int index, String fromFile) {
+        final String file = fileOf(index);
+        final String pointer = "#/definitions/" + name(index);
+        return Json.mapper().createObjectNode().put("$ref", file.equals(fromFile) ? pointer : "./" + file + pointer);
+    }
+
+    private String fileOf(int definition) {
+        if (externalFiles == 0) {
+            return getRootFileName();
+        }
+        return "definitions-" + (definition % externalFiles) + "." + format.getExtension();
+    }
+
+    private static String name(int definition) {
+        return "Model" + definition;
+    }
+
+    /**
+     * Writes a spec to the --output directory and prints the location of its root document.
+     *
+     * @param args --output and the options setting the size of the spec, e.g. --paths 100
+     * @throws IOException if the spec could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        final SpecGenerator generator = new SpecGenerator();
+        File output = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                final String arg = args[i];
+                if ("--cycles".equals(arg)) {
+                    generator.cycles(true);
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("missing value for " + arg);
+                }
+                final String value = args[++i];
+                switch (arg) {
+                    case "--seed":
+                        generator.seed(Long.parseLong(value));
+                        break;
+                    case "--paths":
+                        generator.paths(Integer.parseInt(value));
+                        break;
+                    case "--operations-per-path":
+                        generator.operationsPerPath(Integer.parseInt(value));
+                        break;
+                    case "--definitions":
+                        generator.definitions(Integer.parseInt(value));
+                        break;
+                    case "--inline-ratio":
+                        generator.inlineRatio(Double.parseDouble(value));
+                        break;
+                    case "--external-files":
+                        generator.externalFiles(Integer.parseInt(value));
+                        break;
+                    case "--ref-chain-depth":
+                        generator.refChainDepth(Integer.parseInt(value));
+                        break;
+                    case "--composed-depth":
+                        generator.composedDepth(Integer.parseInt(value));
+                        break;
+                    case "--format":
+                        generator.format(Format.valueOf(value.toUpperCase()));
+                        break;
+                    case "--output":
+                        output = new File(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown option " + arg);
+                }
+            }
+            if (output == null) {
+                throw new IllegalArgumentException("missing --output");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+        System.out.println(generator.write(output).getAbsolutePath());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public SpecGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getPaths() {
+        return paths;
+    }
+
+    public void setPaths(int paths) {
+        this.paths = paths;
+    }
+
+    public SpecGenerator paths(int paths) {
+        this.paths = paths;
+        return this;
+    }
+
+    public int getOperationsPerPath() {
+        return operationsPerPath;
+    }
+
+    public void setOperationsPerPath(int operationsPerPath) {
+        this.operationsPerPath = operationsPerPath;
+    }
+
+    /**
+     * @param operationsPerPath between 1 and 7
+     * @return this generator
+     */
+    public SpecGenerator operationsPerPath(int operationsPerPath) {
+        this.operationsPerPath = operationsPerPath;
+        return this;
+    }
+
+    public int getDefinitions() {
+        return definitions;
+    }
+
+    public void setDefinitions(int definitions) {
+        this.definitions = definitions;
+    }
+
+    public SpecGenerator definitions(int definitions) {
+        this.definitions = definitions;
+        return this;
+    }
+
+    public double getInlineRatio() {
+        return inlineRatio;
+    }
+
+    public void setInlineRatio(double inlineRatio) {
+        this.inlineRatio = inlineRatio;
+    }
+
+    /**
+     * @param inlineRatio the share of schemas written inline rather than as a $ref, from 0, the default, to 1
+     * @return this generator
+     */
+    public SpecGenerator inlineRatio(double inlineRatio) {
+        this.inlineRatio = inlineRatio;
+        return this;
+    }
+
+    public int getExternalFiles() {
+        return externalFiles;
+    }
+
+    public void setExternalFiles(int externalFiles) {
+        this.externalFiles = externalFiles;
+    }
+
+    /**
+     * @param externalFiles the number of files the definitions are spread over; 0, the default, keeps them in
+     * the root document
+     * @return this generator
+     */
+    public SpecGenerator externalFiles(int externalFiles) {
+        this.externalFiles = externalFiles;
+        return this;
+    }
+
+    public int getRefChainDepth() {
+        return refChainDepth;
+    }
+
+    public void setRefChainDepth(int refChainDepth) {
+        this.refChainDepth = refChainDepth;
+    }
+
+    /**
+     * @param refChainDepth the number of definitions in each chain; 1, the default, means no chains
+     * @return this generator
+     */
+    public SpecGenerator refChainDepth(int refChainDepth) {
+        this.refChainDepth = refChainDepth;
+        return this;
+    }
+
+    public int getComposedDepth() {
+        return composedDepth;
+    }
+
+    public void setComposedDepth(int composedDepth) {
+        this.composedDepth = composedDepth;
+    }
+
+    /**
+     * @param composedDepth the number of links at the start of each chain made with allOf, at most
+     * refChainDepth - 1
+     * @return this generator
+     */
+    public SpecGenerator composedDepth(int composedDepth) {
+        this.composedDepth = composedDepth;
+        return this;
+    }
+
+    public boolean isCycles() {
+        return cycles;
+    }
+
+    public void setCycles(boolean cycles) {
+        this.cycles = cycles;
+    }
+
+    /**
+     * @param cycles make the last definition of each chain refer back to the first
+     * @return this generator
+     */
+    public SpecGenerator cycles(boolean cycles) {
+        this.cycles = cycles;
+        return this;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    public SpecGenerator format(Format format) {
+        this.format = format;
+        return this;
+    }
+}
@@ -0,0 +1,89 @@
+package io.swagger.parser.generator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.parser.generator.SpecGenerator.Format;
+import io.swagger.util.Yaml;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+public class SpecGeneratorTest {
+
+    @Test
+    public void testSameSeedGeneratesSameSpec() {
+        final SpecGenerator generator = new SpecGenerator().paths(30).definitions(30).inlineRatio(0.5);
+
+        assertEquals(generator.seed(7).generate(), generator.seed(7).generate());
+        assertNotEquals(generator.seed(7).generate(), generator.seed(8).generate());
+    }
+
+    @Test
+    public void testCounts() {
+        final ObjectNode root = new SpecGenerator().paths(50).operationsPerPath(3).definitions(40).generateRoot();
+
+        assertEquals(root.get("swagger").asText(), "2.0");
+        assertEquals(root.get("paths").size(), 50);
+        final Iterator<String> methods = root.get("paths").get("/resources0/{id}").fieldNames();
+        assertEquals(methods.next(), "get");
+        assertEquals(methods.next(), "post");
+        assertEquals(methods.next(), "put");
+        assertFalse(methods.hasNext());
+        assertEquals(root.get("definitions").size(), 40);
+    }
+
+    @Test
+    public void testExternalFiles() {
+        final Map<String, ObjectNode> files = new SpecGenerator().definitions(10).externalFiles(3).generate();
+
+        assertEquals(files.keySet(), Arrays.asList("swagger.json", "definitions-0.json", "definitions-1.json",
+                "definitions-2.json"));
+        assertFalse(files.get("swagger.json").has("definitions"));
+        assertEquals(files.get("definitions-0.json").get("definitions").size(), 4);
+        // Model1 is in definitions-1.json and its Model2 next to it is in definitions-2.json
+        final JsonNode model1 = files.get("definitions-1.json").get("definitions").get("Model1");
+        assertEquals(model1.get("properties").get("name").get("type").asText(), "string");
+        assertTrue(files.get("swagger.json").toString().contains("./definitions-"));
+    }
+
+    @Test
+    public void testChainsAndCycles() {
+        final JsonNode definitions = new SpecGenerator().definitions(3).refChainDepth(3).composedDepth(1).cycles(true)
+                .generateRoot().get("definitions");
+
+        assertEquals(definitions.get("Model0").get("allOf").get(0).get("$ref").asText(), "#/definitions/Model1");
+        assertEquals(definitions.get("Model1").get("properties").get("next").get("$ref").asText(),
+                "#/definitions/Model2");
+        assertEquals(definitions.get("Model2").get("properties").get("first").get("$ref").asText(),
+                "#/definitions/Model0");
+        assertFalse(definitions.get("Model1").get("properties").has("first"));
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+        final File directory = Files.createTempDirectory("generated").toFile();
+        final SpecGenerator generator = new SpecGenerator().externalFiles(2).format(Format.YAML);
+
+        try {
+            final File root = generator.write(directory);
+
+            assertEquals(root.getName(), "swagger.yaml");
+            assertEquals(directory.list().length, 3);
+            assertEquals(Yaml.mapper().readTree(root), generator.generateRoot());
+        } finally {
+            for (File file : directory.listFiles()) {
+                file.delete();
+            }
+            directory.delete();
+        }
+    }
+}